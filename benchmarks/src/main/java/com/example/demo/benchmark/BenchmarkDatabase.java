@@ -0,0 +1,54 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.DemoApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+
+// Gömülü PostgreSQL + uygulama context'i + tohumlu veri seti
+// Her JMH fork'u (trial) kendi veritabanını açar, benchmark bitince kapatır.
+public class BenchmarkDatabase implements AutoCloseable {
+
+    private final EmbeddedPostgres postgres;
+    private final ConfigurableApplicationContext context;
+    private final DatasetGenerator.Dataset dataset;
+
+    private BenchmarkDatabase(EmbeddedPostgres postgres, ConfigurableApplicationContext context,
+                              DatasetGenerator.Dataset dataset) {
+        this.postgres = postgres;
+        this.context = context;
+        this.dataset = dataset;
+    }
+
+    public static BenchmarkDatabase start(DatasetGenerator.Size size) throws IOException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+        // Komut satırı argümanı olarak verilir; application.properties'teki değerleri ezer
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class).run(
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=postgres",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--server.port=0",
+                "--file.upload-dir=target/bench-uploads",
+                "--logging.level.root=WARN");
+        DatasetGenerator.Dataset dataset = new DatasetGenerator(context, DatasetGenerator.SEED).generate(size);
+        return new BenchmarkDatabase(postgres, context, dataset);
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public DatasetGenerator.Dataset dataset() {
+        return dataset;
+    }
+
+    @Override
+    public void close() throws IOException {
+        context.close();
+        postgres.close();
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.enums.SubTaskStatus;
+import com.example.demo.enums.TaskPriority;
+import com.example.demo.enums.TeamRole;
+import com.example.demo.model.Employee;
+import com.example.demo.model.Project;
+import com.example.demo.model.Role;
+import com.example.demo.model.SubTask;
+import com.example.demo.model.Task;
+import com.example.demo.model.Team;
+import com.example.demo.model.TeamMember;
+import com.example.demo.service.ProgressService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.ApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+// Tohumlu (seeded) veri seti üretici: aynı boyut + aynı tohum her çalıştırmada aynı veriyi üretir,
+// böylece farklı çalıştırmaların sonuçları karşılaştırılabilir.
+public class DatasetGenerator {
+
+    public static final long SEED = 42L;
+
+    private static final String[] FIRST_NAMES = {"Ahmet", "Ayşe", "Mehmet", "Fatma", "Can", "Zeynep", "Emre", "Elif"};
+    private static final String[] LAST_NAMES = {"Yılmaz", "Kaya", "Demir", "Şahin", "Çelik", "Aydın", "Öztürk", "Arslan"};
+    private static final int FLUSH_EVERY = 500;
+
+    // Veri seti boyutları
+    public enum Size {
+        SMALL(100, 10, 20, 10, 5),
+        LARGE(1000, 50, 200, 20, 8);
+
+        final int employees;
+        final int teams;
+        final int projects;
+        final int tasksPerProject;
+        final int subtasksPerTask;
+
+        Size(int employees, int teams, int projects, int tasksPerProject, int subtasksPerTask) {
+            this.employees = employees;
+            this.teams = teams;
+            this.projects = projects;
+            this.tasksPerProject = tasksPerProject;
+            this.subtasksPerTask = subtasksPerTask;
+        }
+    }
+
+    // Benchmark'ların ihtiyaç duyduğu ID'ler
+    public record Dataset(List<Long> employeeIds, List<Long> projectIds) {
+    }
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ProgressService progressService;
+    private final Random random;
+
+    public DatasetGenerator(ApplicationContext context, long seed) {
+        this.entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        this.progressService = context.getBean(ProgressService.class);
+        this.random = new Random(seed);
+    }
+
+    public Dataset generate(Size size) {
+        EntityManager em = entityManagerFactory.createEntityManager();
+        List<Long> employeeIds = new ArrayList<>();
+        List<Long> projectIds = new ArrayList<>();
+        try {
+            em.getTransaction().begin();
+            LocalDateTime base = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+            List<Role> roles = new ArrayList<>();
+            for (String name : new String[]{"ADMIN", "MANAGER", "USER"}) {
+                Role role = new Role(name);
+                em.persist(role);
+                roles.add(role);
+            }
+
+            List<Employee> employees = new ArrayList<>();
+            for (int i = 0; i < size.employees; i++) {
+                Employee employee = new Employee(pick(FIRST_NAMES), pick(LAST_NAMES), "user" + i + "@ornek.com",
+                        String.format("(555) %03d-%04d", i / 10000, i % 10000), "hash", roles.get(random.nextInt(roles.size())));
+                em.persist(employee);
+                employees.add(employee);
+            }
+
+            List<Team> teams = new ArrayList<>();
+            for (int i = 0; i < size.teams; i++) {
+                Team team = new Team();
+                team.setName("Takım " + i);
+                em.persist(team);
+                teams.add(team);
+                for (Employee employee : sample(employees, 5 + random.nextInt(6))) {
+                    TeamMember member = new TeamMember();
+                    member.setTeam(team);
+                    member.setEmployee(employee);
+                    member.setRole(random.nextInt(5) == 0 ? TeamRole.TEAM_LEAD : TeamRole.MEMBER);
+                    em.persist(member);
+                }
+            }
+
+            int pending = 0;
+            for (int p = 0; p < size.projects; p++) {
+                Project project = new Project();
+                project.setName("Proje " + p);
+                project.setDescription("Benchmark projesi " + p);
+                project.setStatus(SubTaskStatus.values()[random.nextInt(SubTaskStatus.values().length)]);
+                project.setPriority(TaskPriority.values()[random.nextInt(TaskPriority.values().length)]);
+                project.setStartDate(base.plusDays(random.nextInt(365)));
+                project.setEndDate(project.getStartDate().plusDays(30 + random.nextInt(90)));
+                project.setCreatedBy(pick(employees));
+                project.setAssignedManager(pick(employees));
+                if (random.nextBoolean()) {
+                    project.setTeam(pick(teams));
+                } else {
+                    project.setEmployee(pick(employees));
+                }
+                em.persist(project);
+                projectIds.add(project.getId());
+
+                for (int t = 0; t < size.tasksPerProject; t++) {
+                    Task task = new Task();
+                    task.setTitle("Görev " + p + "-" + t);
+                    task.setDescription("Açıklama " + t);
+                    task.setPriority(TaskPriority.values()[random.nextInt(TaskPriority.values().length)]);
+                    task.setProject(project);
+                    task.setCreatedBy(project.getCreatedBy());
+                    task.setStartDate(project.getStartDate());
+                    task.setAssignedEmployees(new HashSet<>(sample(employees, 1 + random.nextInt(3))));
+                    em.persist(task);
+
+                    for (int s = 0; s < size.subtasksPerTask; s++) {
+                        SubTask subTask = new SubTask();
+                        subTask.setName("Alt görev " + s);
+                        subTask.setTask(task);
+                        subTask.setAssignedTo(pick(employees));
+                        subTask.setStatus(SubTaskStatus.values()[random.nextInt(SubTaskStatus.values().length)]);
+                        em.persist(subTask);
+                    }
+                }
+
+                pending += size.tasksPerProject * (size.subtasksPerTask + 1);
+                if (pending >= FLUSH_EVERY) {
+                    em.flush();
+                    pending = 0;
+                }
+            }
+            em.getTransaction().commit();
+            employees.forEach(employee -> employeeIds.add(employee.getId()));
+        } finally {
+            em.close();
+        }
+
+        projectIds.forEach(progressService::rebuild);
+        return new Dataset(employeeIds, projectIds);
+    }
+
+    private <T> T pick(T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private <T> T pick(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private <T> List<T> sample(List<T> values, int count) {
+        Set<T> picked = new HashSet<>();
+        while (picked.size() < Math.min(count, values.size())) {
+            picked.add(pick(values));
+        }
+        return new ArrayList<>(picked);
+    }
+}
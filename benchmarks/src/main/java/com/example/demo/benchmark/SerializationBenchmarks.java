@@ -0,0 +1,85 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.dto.ProjectSummary;
+import com.example.demo.model.Project;
+import com.example.demo.model.Task;
+import com.example.demo.service.ProjectService;
+import com.example.demo.service.TaskService;
+import com.example.demo.service.TeamService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Controller'ların döndürdüğü nesnelerin JSON'a çevrilme maliyeti
+// Veri bir kez yüklenir, ölçülen yalnızca uygulamanın ObjectMapper'ı ile serileştirmedir.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmarks {
+
+    @Param({"SMALL"})
+    public DatasetGenerator.Size size;
+
+    private BenchmarkDatabase database;
+    private ObjectMapper objectMapper;
+    private List<Project> projects;
+    private List<ProjectSummary> summaries;
+    private List<Task> tasks;
+    private List<Map<String, Object>> roster;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        database = BenchmarkDatabase.start(size);
+        objectMapper = database.bean(ObjectMapper.class);
+        projects = database.bean(ProjectService.class).getAllProjects();
+        summaries = database.bean(ProjectService.class).getProjectSummaries();
+        tasks = database.bean(TaskService.class).getAllTasks();
+        roster = database.bean(TeamService.class).getTeamRoster();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        database.close();
+    }
+
+    @Benchmark
+    public byte[] projects() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(projects);
+    }
+
+    @Benchmark
+    public byte[] projectSummaries() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(summaries);
+    }
+
+    // Task entity eşlemesi: proje / oluşturan / atananlar ilişkileriyle birlikte
+    @Benchmark
+    public byte[] tasks() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] teamRoster() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(roster);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.dto.ProjectSummary;
+import com.example.demo.model.Project;
+import com.example.demo.model.Task;
+import com.example.demo.repository.TaskRepository;
+import com.example.demo.service.ProjectService;
+import com.example.demo.service.TeamService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Servis katmanı sorgularının gerçek PostgreSQL üzerindeki süreleri
+// (N+1 ve fetch stratejisi değişikliklerinin etkisini ölçmek için)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmarks {
+
+    @Param({"SMALL"})
+    public DatasetGenerator.Size size;
+
+    private BenchmarkDatabase database;
+    private ProjectService projectService;
+    private TeamService teamService;
+    private TaskRepository taskRepository;
+    private List<Long> employeeIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        database = BenchmarkDatabase.start(size);
+        projectService = database.bean(ProjectService.class);
+        teamService = database.bean(TeamService.class);
+        taskRepository = database.bean(TaskRepository.class);
+        employeeIds = database.dataset().employeeIds();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        database.close();
+    }
+
+    @Benchmark
+    public List<Project> allProjects() {
+        return projectService.getAllProjects();
+    }
+
+    @Benchmark
+    public List<ProjectSummary> projectSummaries() {
+        return projectService.getProjectSummaries();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> teamRoster() {
+        return teamService.getTeamRoster();
+    }
+
+    // Her çağrıda farklı çalışan (önbellek etkisini azaltmak için sırayla dolaşılır)
+    @Benchmark
+    public List<Task> tasksByAssignedEmployee() {
+        Long employeeId = employeeIds.get(next++ % employeeIds.size());
+        return taskRepository.findByAssignedEmployee(employeeId);
+    }
+}
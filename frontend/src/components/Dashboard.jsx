@@ -89,16 +89,12 @@ const Dashboard = () => {
    * Proje Durumu Donut Chart Komponenti
    * Projeleri durumlarına göre görselleştirir
    */
-  const ProjectStatusChart = ({ projects }) => {
-    // Proje durumlarını say
-    const todoProjects = projects.filter((p) => p.status === "TODO").length;
-    const inProgressProjects = projects.filter(
-      (p) => p.status === "IN_PROGRESS"
-    ).length;
-    const doneProjects = projects.filter((p) => p.status === "DONE").length;
-    const cancelledProjects = projects.filter(
-      (p) => p.status === "CANCELLED"
-    ).length;
+  const ProjectStatusChart = ({ counts }) => {
+    // Proje durum sayıları sunucuda hesaplanır (/api/dashboard/stats)
+    const todoProjects = counts.TODO || 0;
+    const inProgressProjects = counts.IN_PROGRESS || 0;
+    const doneProjects = counts.DONE || 0;
+    const cancelledProjects = counts.CANCELLED || 0;
 
     // Chart için veri hazırla
     const data = [
@@ -216,114 +212,25 @@ const Dashboard = () => {
      */
     const fetchAll = async () => {
       try {
-        // Paralel API çağrıları
-        const [projectsRes, tasksRes, teamsRes] = await Promise.all([
-          axios.get("/api/projects"),
-          axios.get("/api/tasks"),
-          axios.get("/api/teams"),
-        ]);
-
-        const projects = projectsRes.data;
-        const tasks = tasksRes.data;
-        const teams = teamsRes.data;
-
-        console.log("Projects data:", projects.slice(0, 2));
-        console.log("Tasks data:", tasks.slice(0, 2));
-
-        const today = new Date();
-        today.setHours(0, 0, 0, 0);
-
-        // Proje istatistikleri hesaplama
-        const activeProjects = projects.filter(
-          (p) => p.status === "TODO" || p.status === "IN_PROGRESS"
-        ).length;
-        const completedProjects = projects.filter(
-          (p) => p.status === "DONE"
-        ).length;
-
-        // Görev istatistikleri hesaplama
-        const overdueCount = tasks.filter(
-          (t) => t.status === "overdue" || t.status === "OVERDUE"
-        ).length;
-
-        const completedTasks = tasks.filter(
-          (t) =>
-            t.status === "completed" ||
-            t.status === "COMPLETED" ||
-            t.status === "done" ||
-            t.status === "DONE"
-        ).length;
-
-        // Yaklaşan görevleri filtrele (3 gün içinde)
-        const upcomingTasks = tasks.filter((t) => {
-          const possibleDateFields = [
-            t.endDate,
-            t.deadline,
-            t.end_date,
-            t.targetDate,
-          ];
-
-          for (const dateField of possibleDateFields) {
-            const taskDate = getValidDate(dateField);
-            if (taskDate) {
-              taskDate.setHours(0, 0, 0, 0);
-              const daysDiff = Math.ceil(
-                (taskDate - today) / (1000 * 60 * 60 * 24)
-              );
-              if (daysDiff <= 3 && daysDiff > 0) {
-                return true;
-              }
-            }
-          }
-          return false;
+        // Sayılar sunucuda SQL ile hesaplanır; liste endpoint'leri indirilmez
+        const { data } = await axios.get("/api/dashboard/stats", {
+          params: { days: 3, upcoming: 6 },
         });
 
-        // Tamamlanma oranını hesapla
-        const completionRate =
-          tasks.length > 0
-            ? Math.round((completedTasks / tasks.length) * 100)
-            : 0;
-
-        // State güncelleme
         setStats({
-          projects: projects.length,
-          activeProjects: activeProjects,
-          completedProjects: completedProjects,
-          tasks: tasks.length,
-          teams: teams.length,
-          overdue: overdueCount,
-          upcoming: upcomingTasks.length,
-          completion: completionRate,
-          projectsData: projects, // Chart için
+          projects: data.projects.total,
+          activeProjects: data.projects.active,
+          completedProjects: data.projects.completed,
+          tasks: data.tasks.total,
+          teams: data.teams,
+          overdue: data.tasks.overdue,
+          upcoming: data.tasks.dueSoon,
+          completion: data.tasks.completionRate,
+          projectStatusCounts: data.projects.byStatus, // Chart için
         });
 
-        // Yaklaşan görevleri tarihe göre sırala ve sınırla
-        const upcoming = upcomingTasks
-          .sort((a, b) => {
-            const getTaskDueDate = (task) => {
-              const possibleFields = [
-                task.endDate,
-                task.deadline,
-                task.end_date,
-              ];
-              for (const field of possibleFields) {
-                const date = getValidDate(field);
-                if (date) return date;
-              }
-              return new Date();
-            };
-
-            return getTaskDueDate(a) - getTaskDueDate(b);
-          })
-          .slice(0, 6);
-
-        setUpcomingTasks(upcoming);
-
-        console.log("Final stats:", {
-          total: projects.length,
-          active: activeProjects,
-          completed: completedProjects,
-        });
+        // Yaklaşan görevler bitiş tarihine göre sıralı gelir
+        setUpcomingTasks(data.upcomingTasks);
       } catch (err) {
         console.error("API Error:", err);
         setError(`Veriler alınamadı: ${err.message}`);
@@ -439,7 +346,7 @@ const Dashboard = () => {
               Proje Durumu Dağılımı
             </h2>
             <div className="h-80 flex items-center justify-center">
-              <ProjectStatusChart projects={stats.projectsData || []} />
+              <ProjectStatusChart counts={stats.projectStatusCounts || {}} />
             </div>
           </div>
         </div>
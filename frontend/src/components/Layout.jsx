@@ -15,13 +15,27 @@ const Layout = ({ children, showSidebar = true, showFooter = true }) => {
       try {
         console.log("Kullanıcı bilgisi getiriliyor...");
 
-        const response = await fetch("http://localhost:8080/api/me", {
-          method: "GET",
-          headers: {
-            "Content-Type": "application/json",
-          },
-          credentials: "include",
-        });
+        const fetchMe = () =>
+          fetch("http://localhost:8080/api/me", {
+            method: "GET",
+            headers: {
+              "Content-Type": "application/json",
+            },
+            credentials: "include",
+          });
+
+        let response = await fetchMe();
+
+        // Access token süresi dolduysa refresh token ile yenileyip bir kez daha dene
+        if (response.status === 401) {
+          const refreshed = await fetch("http://localhost:8080/api/refresh", {
+            method: "POST",
+            credentials: "include",
+          });
+          if (refreshed.ok) {
+            response = await fetchMe();
+          }
+        }
 
         console.log("API yanıtı:", response.status, response.statusText);
 
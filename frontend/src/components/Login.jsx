@@ -28,7 +28,7 @@ function Login() {
           "Content-Type": "application/json",
           Accept: "application/json",
         },
-        credentials: "include", // Session cookie'leri için önemli
+        credentials: "include", // Token cookie'leri (HttpOnly) için önemli
         body: JSON.stringify({ email, password }),
       });
 
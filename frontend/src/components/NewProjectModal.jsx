@@ -10,6 +10,7 @@ import {
   Loader,
   UserCheck,
 } from "lucide-react";
+import TypeaheadPicker from "./TypeaheadPicker";
 
 // Yeni proje oluşturma modalı
 const NewProjectModal = ({
@@ -20,146 +21,20 @@ const NewProjectModal = ({
   setProject,
   currentUserId,
 }) => {
-  const [employees, setEmployees] = useState([]);
-  const [teams, setTeams] = useState([]);
-  const [managers, setManagers] = useState([]);
   const [loading, setLoading] = useState(false);
-  const [dataLoading, setDataLoading] = useState(false);
   const [errors, setErrors] = useState({});
   const [assignmentType, setAssignmentType] = useState("employee");
 
   const today = new Date().toISOString().split("T")[0];
 
-  // Modal açıldığında verileri yükle
+  // Modal açıldığında eski hataları temizle
+  // (çalışan / takım listeleri artık TypeaheadPicker ile yazdıkça aranıyor)
   useEffect(() => {
     if (isOpen) {
-      loadAllData();
+      setErrors({});
     }
   }, [isOpen]);
 
-  // Tüm dropdown verilerini yükle
-  const loadAllData = async () => {
-    setDataLoading(true);
-    setErrors({});
-
-    try {
-      await Promise.all([fetchEmployees(), fetchTeams(), fetchManagers()]);
-    } catch (error) {
-      console.error("Data loading error:", error);
-      setErrors((prev) => ({
-        ...prev,
-        general:
-          "Veriler yüklenirken bir hata oluştu. Lütfen sayfayı yenileyin.",
-      }));
-    } finally {
-      setDataLoading(false);
-    }
-  };
-
-  // Çalışanları backend'den getir
-  const fetchEmployees = async () => {
-    try {
-      const response = await fetch("http://localhost:8080/api/employees");
-      if (!response.ok) {
-        // Backend yoksa dummy data göster
-        setEmployees([
-          { id: 1, firstName: "Ahmet", lastName: "Yılmaz" },
-          { id: 2, firstName: "Mehmet", lastName: "Kaya" },
-          { id: 3, firstName: "Ayşe", lastName: "Demir" },
-        ]);
-        return;
-      }
-      const data = await response.json();
-      setEmployees(Array.isArray(data) ? data : []);
-    } catch (err) {
-      console.error("Çalışan listesi alınamadı:", err);
-      setEmployees([]);
-      setErrors((p) => ({
-        ...p,
-        general: "Çalışan listesi alınamadı, backend çalışıyor mu?",
-      }));
-      throw new Error("Çalışan listesi alınamadı");
-    }
-  };
-
-  // Takımları backend'den getir
-  const fetchTeams = async () => {
-    try {
-      const response = await fetch("http://localhost:8080/api/teams");
-      if (!response.ok) {
-        // Alternatif endpoint'i dene
-        const altResponse = await fetch(
-          "http://localhost:8080/api/team-members"
-        );
-        if (!altResponse.ok) {
-          // Dummy data göster
-          setTeams([
-            { id: 1, name: "Frontend Team", description: "React Takımı" },
-            { id: 2, name: "Backend Team", description: "Java Takımı" },
-          ]);
-          return;
-        }
-        const altData = await altResponse.json();
-        setTeams(Array.isArray(altData) ? altData : []);
-        return;
-      }
-      const data = await response.json();
-      setTeams(Array.isArray(data) ? data : []);
-    } catch (err) {
-      console.error("Takım listesi alınamadı:", err);
-      setTeams([]);
-      setErrors((p) => ({
-        ...p,
-        general: "Takım listesi alınamadı, backend çalışıyor mu?",
-      }));
-      throw new Error("Takım listesi alınamadı");
-    }
-  };
-
-  // Yöneticileri backend'den getir
-  const fetchManagers = async () => {
-    try {
-      // Önce managers endpoint'ini dene
-      let response = await fetch("http://localhost:8080/api/managers");
-
-      if (!response.ok) {
-        // Managers endpoint'i yoksa, employees'dan filtrele
-        response = await fetch("http://localhost:8080/api/employees");
-        if (!response.ok) {
-          throw new Error(`HTTP error! status: ${response.status}`);
-        }
-        const allEmployees = await response.json();
-
-        // Manager rolündeki çalışanları filtrele
-        const managersData = Array.isArray(allEmployees)
-          ? allEmployees.filter(
-              (emp) =>
-                emp.role === "MANAGER" ||
-                emp.position?.includes("Manager") ||
-                emp.position?.includes("Yönetici")
-            )
-          : [];
-
-        // Filtreleme mümkün değilse tüm employees'ları manager olarak göster
-        setManagers(
-          managersData.length > 0
-            ? managersData
-            : Array.isArray(allEmployees)
-            ? allEmployees
-            : []
-        );
-        return;
-      }
-
-      const data = await response.json();
-      setManagers(Array.isArray(data) ? data : []);
-    } catch (err) {
-      console.error("Yönetici listesi alınamadı:", err);
-      setManagers([]);
-      throw new Error("Yönetici listesi alınamadı");
-    }
-  };
-
   // Form validasyonu yap
   const validateForm = () => {
     const newErrors = {};
@@ -170,8 +45,8 @@ const NewProjectModal = ({
     if (!project.startDate) newErrors.startDate = "Başlangıç tarihi zorunludur";
     if (!project.endDate) newErrors.endDate = "Bitiş tarihi zorunludur";
 
-    // Manager kontrolü - sadece managers varsa zorunlu
-    if (managers.length > 0 && !project.managerId) {
+    // Manager kontrolü
+    if (!project.managerId) {
       newErrors.manager = "Proje yöneticisi seçmelisiniz";
     }
 
@@ -323,14 +198,6 @@ const NewProjectModal = ({
 
         {/* Form alanları */}
         <div className="p-6 space-y-6">
-          {/* Yükleniyor durumu */}
-          {dataLoading && (
-            <div className="bg-blue-50 border border-blue-200 rounded-xl p-4 flex items-center gap-2">
-              <Loader size={16} className="text-blue-500 animate-spin" />
-              <p className="text-blue-700 text-sm">Veriler yükleniyor...</p>
-            </div>
-          )}
-
           {/* Hata mesajı */}
           {errors.general && (
             <div className="bg-red-50 border border-red-200 rounded-xl p-4 flex items-center gap-2">
@@ -352,7 +219,7 @@ const NewProjectModal = ({
                 errors.name ? "border-red-500" : "border-gray-300"
               }`}
               placeholder="Proje adını girin"
-              disabled={loading || dataLoading}
+              disabled={loading}
             />
             {errors.name && (
               <p className="text-red-500 text-sm mt-1 flex items-center gap-1">
@@ -374,7 +241,7 @@ const NewProjectModal = ({
                 errors.description ? "border-red-500" : "border-gray-300"
               }`}
               placeholder="Proje açıklamasını girin"
-              disabled={loading || dataLoading}
+              disabled={loading}
             />
             {errors.description && (
               <p className="text-red-500 text-sm mt-1 flex items-center gap-1">
@@ -383,44 +250,25 @@ const NewProjectModal = ({
             )}
           </div>
 
-          {/* Proje Yöneticisi - sadece managers varsa göster */}
-          {managers.length > 0 && (
-            <div>
-              <label className="block text-sm font-semibold mb-2 flex items-center gap-1 text-gray-700">
-                <UserCheck size={16} /> Proje Yöneticisi *
-              </label>
-              <select
-                value={project.managerId || ""}
-                onChange={(e) =>
-                  handleInputChange(
-                    "managerId",
-                    e.target.value ? parseInt(e.target.value) : null
-                  )
-                }
-                className={`w-full px-4 py-3 border rounded-xl focus:ring-2 focus:ring-blue-500 bg-white transition-all ${
-                  errors.manager ? "border-red-500" : "border-gray-300"
-                }`}
-                disabled={loading || dataLoading || managers.length === 0}
-              >
-                <option value="">
-                  {managers.length === 0
-                    ? "Yönetici listesi yükleniyor..."
-                    : "Proje yöneticisi seçiniz"}
-                </option>
-                {managers.map((manager) => (
-                  <option key={manager.id} value={manager.id}>
-                    {manager.firstName} {manager.lastName}
-                    {manager.position && ` - ${manager.position}`}
-                  </option>
-                ))}
-              </select>
-              {errors.manager && (
-                <p className="text-red-500 text-sm mt-1 flex items-center gap-1">
-                  <AlertTriangle size={14} /> {errors.manager}
-                </p>
-              )}
-            </div>
-          )}
+          {/* Proje Yöneticisi */}
+          <div>
+            <label className="block text-sm font-semibold mb-2 flex items-center gap-1 text-gray-700">
+              <UserCheck size={16} /> Proje Yöneticisi *
+            </label>
+            <TypeaheadPicker
+              resource="employees"
+              value={project.managerId}
+              onChange={(id) => handleInputChange("managerId", id)}
+              placeholder="Proje yöneticisi arayın (ad, soyad, e-posta)"
+              hasError={!!errors.manager}
+              disabled={loading}
+            />
+            {errors.manager && (
+              <p className="text-red-500 text-sm mt-1 flex items-center gap-1">
+                <AlertTriangle size={14} /> {errors.manager}
+              </p>
+            )}
+          </div>
 
           {/* Durum ve Öncelik */}
           <div className="grid grid-cols-1 md:grid-cols-2 gap-4">
@@ -432,7 +280,7 @@ const NewProjectModal = ({
                 value={project.status || "TODO"}
                 onChange={(e) => handleInputChange("status", e.target.value)}
                 className="w-full px-4 py-3 border border-gray-300 rounded-xl focus:ring-2 focus:ring-blue-500 bg-white transition-all"
-                disabled={loading || dataLoading}
+                disabled={loading}
               >
                 <option value="TODO">Yapılacak</option>
                 <option value="IN_PROGRESS">Devam Ediyor</option>
@@ -448,7 +296,7 @@ const NewProjectModal = ({
                 value={project.priority || "MEDIUM"}
                 onChange={(e) => handleInputChange("priority", e.target.value)}
                 className="w-full px-4 py-3 border border-gray-300 rounded-xl focus:ring-2 focus:ring-blue-500 bg-white transition-all"
-                disabled={loading || dataLoading}
+                disabled={loading}
               >
                 <option value="HIGH">Yüksek</option>
                 <option value="MEDIUM">Orta</option>
@@ -471,7 +319,7 @@ const NewProjectModal = ({
                 className={`w-full px-4 py-3 border rounded-xl focus:ring-2 focus:ring-blue-500 transition-all ${
                   errors.startDate ? "border-red-500" : "border-gray-300"
                 }`}
-                disabled={loading || dataLoading}
+                disabled={loading}
               />
               {errors.startDate && (
                 <p className="text-red-500 text-sm mt-1 flex items-center gap-1">
@@ -491,7 +339,7 @@ const NewProjectModal = ({
                 className={`w-full px-4 py-3 border rounded-xl focus:ring-2 focus:ring-blue-500 transition-all ${
                   errors.endDate ? "border-red-500" : "border-gray-300"
                 }`}
-                disabled={loading || dataLoading}
+                disabled={loading}
               />
               {errors.endDate && (
                 <p className="text-red-500 text-sm mt-1 flex items-center gap-1">
@@ -515,7 +363,7 @@ const NewProjectModal = ({
                   checked={assignmentType === "employee"}
                   onChange={(e) => handleAssignmentTypeChange(e.target.value)}
                   className="w-4 h-4 text-blue-600"
-                  disabled={loading || dataLoading}
+                  disabled={loading}
                 />
                 <User size={16} />
                 <span className="text-gray-700">Çalışan</span>
@@ -528,7 +376,7 @@ const NewProjectModal = ({
                   checked={assignmentType === "team"}
                   onChange={(e) => handleAssignmentTypeChange(e.target.value)}
                   className="w-4 h-4 text-blue-600"
-                  disabled={loading || dataLoading}
+                  disabled={loading}
                 />
                 <Users size={16} />
                 <span className="text-gray-700">Takım</span>
@@ -542,31 +390,14 @@ const NewProjectModal = ({
               <label className="block text-sm font-semibold mb-2 flex items-center gap-1 text-gray-700">
                 <User size={16} /> Atanacak Çalışan *
               </label>
-              <select
-                value={project.employeeId || ""}
-                onChange={(e) =>
-                  handleInputChange(
-                    "employeeId",
-                    e.target.value ? parseInt(e.target.value) : null
-                  )
-                }
-                className={`w-full px-4 py-3 border rounded-xl bg-white transition-all ${
-                  errors.employee ? "border-red-500" : "border-gray-300"
-                }`}
-                disabled={loading || dataLoading || employees.length === 0}
-              >
-                <option value="">
-                  {employees.length === 0
-                    ? "Çalışan listesi yükleniyor..."
-                    : "Çalışan seçiniz"}
-                </option>
-                {employees.map((emp) => (
-                  <option key={emp.id} value={emp.id}>
-                    {emp.firstName} {emp.lastName}
-                    {emp.position && ` - ${emp.position}`}
-                  </option>
-                ))}
-              </select>
+              <TypeaheadPicker
+                resource="employees"
+                value={project.employeeId}
+                onChange={(id) => handleInputChange("employeeId", id)}
+                placeholder="Çalışan arayın (ad, soyad, e-posta)"
+                hasError={!!errors.employee}
+                disabled={loading}
+              />
               {errors.employee && (
                 <p className="text-red-500 text-sm mt-1 flex items-center gap-1">
                   <AlertTriangle size={14} /> {errors.employee}
@@ -581,31 +412,14 @@ const NewProjectModal = ({
               <label className="block text-sm font-semibold mb-2 flex items-center gap-1 text-gray-700">
                 <Users size={16} /> Atanacak Takım *
               </label>
-              <select
-                value={project.teamId || ""}
-                onChange={(e) =>
-                  handleInputChange(
-                    "teamId",
-                    e.target.value ? parseInt(e.target.value) : null
-                  )
-                }
-                className={`w-full px-4 py-3 border rounded-xl bg-white transition-all ${
-                  errors.team ? "border-red-500" : "border-gray-300"
-                }`}
-                disabled={loading || dataLoading || teams.length === 0}
-              >
-                <option value="">
-                  {teams.length === 0
-                    ? "Takım listesi yükleniyor..."
-                    : "Takım seçiniz"}
-                </option>
-                {teams.map((team) => (
-                  <option key={team.id} value={team.id}>
-                    {team.name}
-                    {team.description && ` - ${team.description}`}
-                  </option>
-                ))}
-              </select>
+              <TypeaheadPicker
+                resource="teams"
+                value={project.teamId}
+                onChange={(id) => handleInputChange("teamId", id)}
+                placeholder="Takım arayın"
+                hasError={!!errors.team}
+                disabled={loading}
+              />
               {errors.team && (
                 <p className="text-red-500 text-sm mt-1 flex items-center gap-1">
                   <AlertTriangle size={14} /> {errors.team}
@@ -626,7 +440,7 @@ const NewProjectModal = ({
           </button>
           <button
             onClick={handleSave}
-            disabled={loading || dataLoading}
+            disabled={loading}
             className="flex items-center gap-2 px-6 py-3 bg-blue-600 text-white font-semibold rounded-xl hover:bg-blue-700 disabled:opacity-50 disabled:cursor-not-allowed transition-all"
           >
             {loading ? (
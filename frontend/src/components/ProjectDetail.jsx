@@ -14,6 +14,7 @@ import {
 import UpdateProjectModal from "./UpdateProjectModal";
 import SubTaskList from "./SubTaskList";
 import NewTaskForm from "./NewTaskForm";
+import { subscribeToChanges } from "../utils/changeFeed";
 
 // Proje detay sayfası - görevlerle birlikte tek proje yönetimi
 export default function ProjectDetail() {
@@ -53,57 +54,19 @@ export default function ProjectDetail() {
   const today = new Date().toISOString().split("T")[0];
   const priorities = ["Düşük", "Orta", "Yüksek"];
 
-  // İlerleme hesaplama - alt görevleri de dahil eder
+  // İlerleme hesaplama - alt görevleri de dahil eder (backend'de tek sorgu)
   const calculateProjectProgress = async () => {
     if (!tasks || tasks.length === 0) return 0;
 
     try {
-      let totalItems = 0;
-      let completedItems = 0;
-
-      const subtaskPromises = tasks.map(async (task) => {
-        try {
-          const response = await fetch(
-            `http://localhost:8080/api/subtasks/task/${task.id}`,
-            { credentials: "include" }
-          );
-
-          if (response.ok) {
-            const subtasks = await response.json();
-
-            if (subtasks.length === 0) {
-              // Alt görev yoksa ana görevi say
-              totalItems += 1;
-              if (task.status === "COMPLETED" || task.status === "DONE") {
-                completedItems += 1;
-              }
-            } else {
-              // Alt görevler varsa sadece onları say
-              totalItems += subtasks.length;
-              completedItems += subtasks.filter(
-                (st) => st.status === "DONE"
-              ).length;
-            }
-          } else {
-            // API hatası durumunda ana görevi say
-            totalItems += 1;
-            if (task.status === "COMPLETED" || task.status === "DONE") {
-              completedItems += 1;
-            }
-          }
-        } catch (error) {
-          console.warn(`Task ${task.id} subtask'ları alınamadı:`, error);
-          totalItems += 1;
-          if (task.status === "COMPLETED" || task.status === "DONE") {
-            completedItems += 1;
-          }
-        }
-      });
+      const response = await fetch(
+        `http://localhost:8080/api/projects/progress?ids=${id}`,
+        { credentials: "include" }
+      );
 
-      await Promise.all(subtaskPromises);
-      return totalItems > 0
-        ? Math.round((completedItems / totalItems) * 100)
-        : 0;
+      if (!response.ok) return currentProgress;
+      const progressList = await response.json();
+      return progressList.length > 0 ? Number(progressList[0].progress) || 0 : 0;
     } catch (error) {
       console.error("Progress hesaplama hatası:", error);
       return currentProgress;
@@ -193,6 +156,86 @@ export default function ProjectDetail() {
     fetchInitialData();
   }, [id]);
 
+  // Başka kullanıcıların değişiklikleri: listeyi yeniden indirmek yerine ilgili kaydı güncelle
+  useEffect(() => {
+    if (!id || isNaN(parseInt(id))) return;
+
+    const withCompleted = (task) => ({
+      ...task,
+      completed: task.status === "COMPLETED" || task.status === "DONE",
+    });
+
+    // Oluşturulan / güncellenen görevi tek kayıt olarak getir (atananlar, alt görevler dahil)
+    const upsertTask = async (event) => {
+      try {
+        const res = await fetch(`http://localhost:8080/api/tasks/${event.id}`, {
+          credentials: "include",
+        });
+        if (!res.ok) return;
+        const task = withCompleted(await res.json());
+        setTasks((prev) =>
+          prev.some((t) => t.id === task.id)
+            ? prev.map((t) => (t.id === task.id ? { ...t, ...task } : t))
+            : [...prev, task]
+        );
+      } catch (err) {
+        console.error("Görev güncellenemedi:", err);
+      }
+    };
+
+    // Akış tamponu yetmedi (uzun kopukluk / sunucu yeniden başladı): görevleri yeniden yükle
+    const reloadTasks = async () => {
+      const res = await fetch(`http://localhost:8080/api/tasks/project/${id}`, {
+        credentials: "include",
+      });
+      if (res.ok) {
+        const data = await res.json();
+        setTasks(Array.isArray(data) ? data.map(withCompleted) : []);
+      }
+    };
+
+    return subscribeToChanges(
+      { projectIds: [parseInt(id)] },
+      {
+        SUBTASK_STATUS_CHANGED: (event) =>
+          setTasks((prev) =>
+            prev.map((task) =>
+              task.id === event.taskId && Array.isArray(task.subtasks)
+                ? {
+                    ...task,
+                    subtasks: task.subtasks.map((subTask) =>
+                      subTask.id === event.id
+                        ? { ...subTask, ...event.data }
+                        : subTask
+                    ),
+                  }
+                : task
+            )
+          ),
+        TASK_CREATED: upsertTask,
+        TASK_UPDATED: upsertTask,
+        TASK_DELETED: (event) =>
+          setTasks((prev) => prev.filter((task) => task.id !== event.id)),
+        PROJECT_UPDATED: (event) =>
+          setProject((prev) =>
+            prev
+              ? {
+                  ...prev,
+                  name: event.data.name,
+                  status: event.data.status,
+                  priority: event.data.priority,
+                  startDate: event.data.startDate,
+                  endDate: event.data.endDate,
+                }
+              : prev
+          ),
+        // CSV içe aktarma: tek tek olay yerine tek özet olay gelir
+        PROJECT_IMPORTED: reloadTasks,
+        RESYNC: reloadTasks,
+      }
+    );
+  }, [id]);
+
   // Görevler değiştiğinde progress'i güncelle
   useEffect(() => {
     if (tasks.length > 0) {
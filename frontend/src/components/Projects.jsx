@@ -63,69 +63,27 @@ const Project = () => {
     teamId: null,
   });
 
-  // Projenin kaç yüzde tamamlandığını hesapla
-  // Task'lardaki subtask'lara bakarak hesaplama yapıyor
-  const calculateProjectProgress = async (projectId) => {
+  // Projelerin kaç yüzde tamamlandığını backend'den tek istekte al
+  // Alt görevi olan task'larda subtask'lar, olmayanlarda task'ın kendisi sayılır
+  const fetchProjectsProgress = async (projectIds) => {
+    if (!projectIds || projectIds.length === 0) return {};
     try {
       const response = await fetch(
-        `http://localhost:8080/api/tasks/project/${projectId}`,
+        `http://localhost:8080/api/projects/progress?ids=${projectIds.join(",")}`,
         { credentials: "include" }
       );
 
-      if (!response.ok) return 0;
-      const tasks = await response.json();
-      if (!tasks || tasks.length === 0) return 0;
+      if (!response.ok) return {};
+      const progressList = await response.json();
 
-      let totalItems = 0;
-      let completedItems = 0;
-
-      // Her task için subtask'larını kontrol et
-      const subtaskPromises = tasks.map(async (task) => {
-        try {
-          const subtaskResponse = await fetch(
-            `http://localhost:8080/api/subtasks/task/${task.id}`,
-            { credentials: "include" }
-          );
-
-          if (subtaskResponse.ok) {
-            const subtasks = await subtaskResponse.json();
-
-            if (subtasks.length === 0) {
-              // Subtask yoksa ana task'ı say
-              totalItems += 1;
-              if (task.status === "COMPLETED" || task.status === "DONE") {
-                completedItems += 1;
-              }
-            } else {
-              // Subtask varsa sadece subtask'ları say
-              totalItems += subtasks.length;
-              completedItems += subtasks.filter(
-                (st) => st.status === "DONE"
-              ).length;
-            }
-          } else {
-            // API hatası varsa ana task'ı say
-            totalItems += 1;
-            if (task.status === "COMPLETED" || task.status === "DONE") {
-              completedItems += 1;
-            }
-          }
-        } catch (error) {
-          // Hata durumunda ana task'ı say
-          totalItems += 1;
-          if (task.status === "COMPLETED" || task.status === "DONE") {
-            completedItems += 1;
-          }
-        }
+      const progressMap = {};
+      progressList.forEach((item) => {
+        progressMap[item.projectId] = Number(item.progress) || 0;
       });
-
-      await Promise.all(subtaskPromises);
-      return totalItems > 0
-        ? Math.round((completedItems / totalItems) * 100)
-        : 0;
+      return progressMap;
     } catch (error) {
       console.error("Progress hesaplama hatası:", error);
-      return 0;
+      return {};
     }
   };
 
@@ -154,13 +112,14 @@ const Project = () => {
       // Kullanıcının rolüne göre filtrele
       const filteredData = filterProjectsForUser(data);
 
-      // Her proje için progress hesapla
-      const projectsWithProgress = await Promise.all(
-        filteredData.map(async (project) => {
-          const calculatedProgress = await calculateProjectProgress(project.id);
-          return { ...project, calculatedProgress };
-        })
+      // Tüm projelerin progress'ini tek istekte al
+      const progressMap = await fetchProjectsProgress(
+        filteredData.map((project) => project.id)
       );
+      const projectsWithProgress = filteredData.map((project) => ({
+        ...project,
+        calculatedProgress: progressMap[project.id] ?? 0,
+      }));
 
       // Tamamlanmış projeleri sona koy, diğerlerini ID'ye göre sırala
       const sortedProjects = projectsWithProgress.sort((a, b) => {
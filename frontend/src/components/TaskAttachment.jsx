@@ -482,19 +482,14 @@ const FileUpload = () => {
    * İki aşamalı process: 1) Dosya upload, 2) Attachment kaydı
    */
   const uploadSingleFile = async (file, index) => {
-    // 1. Aşama: Dosyayı backend'e yükle
-    const formData = new FormData();
-    formData.append("file", file);
-    formData.append("taskId", selectedTask);
-    formData.append("revisionNumber", revisionNumber + index);
-    formData.append("uploadedBy", currentUserId);
-
+    // 1. Aşama: Dosyayı backend'e yükle (gövde doğrudan akış olarak gönderilir)
     const uploadResponse = await fetch(
-      "http://localhost:8080/api/attachments/upload",
+      `http://localhost:8080/api/attachments/upload/stream?fileName=${encodeURIComponent(file.name)}`,
       {
         method: "POST",
+        headers: { "Content-Type": "application/octet-stream" },
         credentials: "include",
-        body: formData,
+        body: file,
       }
     );
 
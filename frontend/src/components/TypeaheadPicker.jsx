@@ -0,0 +1,114 @@
+import { useEffect, useRef, useState } from "react";
+
+// Yazdıkça arayan seçici: /api/{resource}/typeahead?q=...&limit=10 -> [{ id, name }]
+// Tüm listeyi indirmek yerine sadece en iyi eşleşen ilk kayıtlar getirilir.
+export default function TypeaheadPicker({
+  resource, // "employees" veya "teams"
+  value, // Seçili kaydın id'si
+  onChange, // (id | null) => void
+  placeholder,
+  hasError,
+  disabled,
+  limit = 10,
+}) {
+  const [query, setQuery] = useState("");
+  const [selectedName, setSelectedName] = useState("");
+  const [options, setOptions] = useState([]);
+  const [open, setOpen] = useState(false);
+  const [searching, setSearching] = useState(false);
+  const abortRef = useRef(null);
+
+  // Seçim dışarıdan temizlendiyse (ör. atama tipi değişti) metni de temizle
+  useEffect(() => {
+    if (!value) {
+      setSelectedName("");
+    }
+  }, [value]);
+
+  // Her tuş vuruşunda değil, yazma durunca ara (200 ms)
+  useEffect(() => {
+    const q = query.trim();
+    if (!open || q === "") {
+      setOptions([]);
+      return;
+    }
+
+    const timer = setTimeout(async () => {
+      abortRef.current?.abort();
+      const controller = new AbortController();
+      abortRef.current = controller;
+      setSearching(true);
+      try {
+        const res = await fetch(
+          `http://localhost:8080/api/${resource}/typeahead?q=${encodeURIComponent(
+            q
+          )}&limit=${limit}`,
+          { credentials: "include", signal: controller.signal }
+        );
+        if (res.ok) {
+          const data = await res.json();
+          setOptions(Array.isArray(data) ? data : []);
+        }
+      } catch (err) {
+        if (err.name !== "AbortError") {
+          console.error("Arama yapılamadı:", err);
+        }
+      } finally {
+        if (abortRef.current === controller) {
+          setSearching(false);
+        }
+      }
+    }, 200);
+
+    return () => clearTimeout(timer);
+  }, [query, open, resource, limit]);
+
+  const select = (option) => {
+    setSelectedName(option.name);
+    setQuery("");
+    setOpen(false);
+    onChange(option.id);
+  };
+
+  return (
+    <div className="relative w-full">
+      <input
+        type="text"
+        value={open ? query : selectedName}
+        placeholder={selectedName || placeholder}
+        onFocus={() => setOpen(true)}
+        onBlur={() => setTimeout(() => setOpen(false), 150)}
+        onChange={(e) => {
+          setQuery(e.target.value);
+          setOpen(true);
+        }}
+        className={`w-full px-4 py-3 border rounded-xl bg-white transition-all ${
+          hasError ? "border-red-500" : "border-gray-300"
+        }`}
+        disabled={disabled}
+      />
+
+      {open && query.trim() !== "" && (
+        <div className="absolute z-20 mt-1 w-full bg-white border border-gray-200 rounded-lg shadow-lg max-h-60 overflow-y-auto">
+          {options.map((option) => (
+            <div
+              key={option.id}
+              onMouseDown={(e) => e.preventDefault()}
+              onClick={() => select(option)}
+              className={`px-4 py-2 text-sm cursor-pointer hover:bg-gray-50 ${
+                option.id === value ? "font-semibold text-blue-600" : "text-gray-900"
+              }`}
+            >
+              {option.name}
+            </div>
+          ))}
+          {options.length === 0 && (
+            <p className="px-4 py-2 text-sm text-gray-500">
+              {searching ? "Aranıyor..." : "Sonuç bulunamadı"}
+            </p>
+          )}
+        </div>
+      )}
+    </div>
+  );
+}
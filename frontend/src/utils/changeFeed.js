@@ -0,0 +1,27 @@
+// utils/changeFeed.js
+// Sunucudaki değişiklik akışına (GET /api/changes, Server-Sent Events) abone olur.
+// handlers: { SUBTASK_STATUS_CHANGED: (event) => ..., TASK_DELETED: ..., RESYNC: () => ... }
+// Bağlantı koparsa EventSource kendisi yeniden bağlanır, kaçırılan olaylar Last-Event-ID ile tekrar gelir.
+// Dönen fonksiyon aboneliği kapatır (useEffect cleanup).
+export const subscribeToChanges = ({ projectIds = [], teamIds = [] }, handlers) => {
+  const params = new URLSearchParams();
+  projectIds.forEach((id) => params.append("projectId", id));
+  teamIds.forEach((id) => params.append("teamId", id));
+
+  const source = new EventSource(
+    `http://localhost:8080/api/changes?${params.toString()}`,
+    { withCredentials: true }
+  );
+
+  Object.entries(handlers).forEach(([eventName, handler]) => {
+    source.addEventListener(eventName, (e) => {
+      try {
+        handler(JSON.parse(e.data));
+      } catch (err) {
+        console.error("Değişiklik olayı işlenemedi:", eventName, err);
+      }
+    });
+  });
+
+  return () => source.close();
+};
@@ -0,0 +1,153 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Kabul kontrolü: aynı anda işlenen istek sayısı DB bağlantı havuzu boyutuyla sınırlanır.
+// Fazla istekler ucuz bir semaphore kuyruğunda en fazla app.admission.max-wait-ms bekler,
+// süre dolarsa Hikari getConnection zaman aşımını beklemek yerine hemen 503 + Retry-After döner.
+// Uzun süre ağda bekleyen istekler (SSE, dosya indirme/yükleme) ve actuator izin tutmaz.
+// Async yanıtlarda (StreamingResponseBody: stream=true listeler, dışa aktarma) gövde istek thread'i
+// döndükten sonra DB bağlantısıyla yazılır; izin async istek tamamlanana kadar tutulur.
+// Metrikler: http.server.admission.wait, http.server.admission.rejected,
+// http.server.admission.permits.available, http.server.admission.queued
+@Slf4j
+@Component
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.admission.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.admission.max-concurrent:${spring.datasource.hikari.maximum-pool-size:10}}")
+    private int maxConcurrent;
+
+    @Value("${app.admission.max-wait-ms:500}")
+    private long maxWaitMs;
+
+    @Value("${app.admission.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    @Value("${app.admission.excluded-paths:/actuator/**,/api/changes,/api/attachments/files/**,/api/attachments/download/**,/api/attachments/upload/**}")
+    private List<String> excludedPaths;
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private Semaphore permits;
+    private Timer waitTimer;
+    private Counter rejected;
+
+    @PostConstruct
+    void init() {
+        // fair: bekleyenler geliş sırasıyla alır
+        permits = new Semaphore(maxConcurrent, true);
+        waitTimer = Timer.builder("http.server.admission.wait").register(meterRegistry);
+        rejected = Counter.builder("http.server.admission.rejected").register(meterRegistry);
+        Gauge.builder("http.server.admission.permits.available", permits, Semaphore::availablePermits)
+                .register(meterRegistry);
+        Gauge.builder("http.server.admission.queued", queued, AtomicInteger::get).register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || "OPTIONS".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return excludedPaths.stream().anyMatch(pattern -> PATH_MATCHER.match(pattern.trim(), path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!acquire()) {
+            rejected.increment();
+            log.warn("{} {} reddedildi: {} ms içinde kapasite açılmadı (eşzamanlı sınır {})",
+                    request.getMethod(), request.getRequestURI(), maxWaitMs, maxConcurrent);
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.setCharacterEncoding("UTF-8");
+            response.getWriter().write("Sunucu şu anda yoğun, lütfen tekrar deneyin");
+            return;
+        }
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            async = request.isAsyncStarted();
+        } finally {
+            if (async) {
+                request.getAsyncContext().addListener(new PermitReleasingListener());
+            } else {
+                permits.release();
+            }
+        }
+    }
+
+    private boolean acquire() throws ServletException {
+        if (permits.tryAcquire()) {
+            waitTimer.record(0, TimeUnit.NANOSECONDS);
+            return true;
+        }
+        long start = System.nanoTime();
+        queued.incrementAndGet();
+        try {
+            return permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException("Kapasite beklenirken kesildi", e);
+        } finally {
+            queued.decrementAndGet();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // onComplete zaman aşımı ve hata sonrasında da çağrılır; izin bir kez bırakılır
+    private class PermitReleasingListener implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permits.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Aynı istekte yeniden startAsync: dinleyici yeni context'e taşınır
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
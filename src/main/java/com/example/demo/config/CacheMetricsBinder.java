@@ -0,0 +1,43 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.cache.CacheManager;
+
+// 2. seviye cache (Hibernate + Caffeine JCache) bölgelerinin metrikleri /actuator/prometheus'a bağlanır:
+// cache.gets{result=hit|miss}, cache.puts, cache.removals, cache.evictions (name = bölge adı).
+// Değerler JCache istatistiklerinden okunur; bölgelerde monitoring.statistics açık olmalı (application.conf)
+@Slf4j
+@Component
+public class CacheMetricsBinder {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Bölgeler SessionFactory açılırken oluşturulur
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    void bindCacheMetrics() {
+        RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getCache().getRegionFactory();
+        if (!(regionFactory instanceof JCacheRegionFactory jCacheRegionFactory)) {
+            return;
+        }
+        CacheManager cacheManager = jCacheRegionFactory.getCacheManager();
+        for (String name : cacheManager.getCacheNames()) {
+            JCacheMetrics.monitor(meterRegistry, cacheManager.getCache(name));
+        }
+        log.debug("2. seviye cache metrikleri bağlandı: {}", cacheManager.getCacheNames());
+    }
+}
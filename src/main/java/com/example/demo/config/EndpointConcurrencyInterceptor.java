@@ -0,0 +1,90 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Endpoint başına o an işlenen istek sayısı: http.server.requests.inflight (tag: method, uri)
+// Async istekler (SSE) bağlantı kapanana kadar sayılır
+@Component
+public class EndpointConcurrencyInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String COUNTER_ATTRIBUTE = EndpointConcurrencyInterceptor.class.getName() + ".counter";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Async dispatch aynı isteğin devamı; tekrar sayılmaz
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        AtomicInteger counter = counter(request);
+        counter.incrementAndGet();
+        request.setAttribute(COUNTER_ATTRIBUTE, counter);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        AtomicInteger counter = (AtomicInteger) request.getAttribute(COUNTER_ATTRIBUTE);
+        if (counter == null) {
+            return;
+        }
+        request.removeAttribute(COUNTER_ATTRIBUTE);
+        request.getAsyncContext().addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                counter.decrementAndGet();
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        AtomicInteger counter = (AtomicInteger) request.getAttribute(COUNTER_ATTRIBUTE);
+        if (counter != null) {
+            request.removeAttribute(COUNTER_ATTRIBUTE);
+            counter.decrementAndGet();
+        }
+    }
+
+    private AtomicInteger counter(HttpServletRequest request) {
+        String uri = RouteTag.of(request);
+        String method = request.getMethod();
+        return inFlight.computeIfAbsent(method + " " + uri, key -> {
+            AtomicInteger counter = new AtomicInteger();
+            Gauge.builder("http.server.requests.inflight", counter, AtomicInteger::get)
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .register(meterRegistry);
+            return counter;
+        });
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.demo.config;
+
+import com.example.demo.model.IdGeneration;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// IDENTITY'den sequence'a geçişte yeni sequence'lar 1'den başlar; mevcut kayıtlarla
+// çakışmaması için uygulama açılırken (istek kabul edilmeden önce) her sequence
+// tablodaki en büyük ID'nin ilerisine alınır. Zaten ilerideyse dokunulmaz.
+@Slf4j
+@Component
+public class IdSequenceInitializer {
+
+    // sequence -> tablo, ID kolonu
+    private static final Map<String, String[]> SEQUENCES = Map.of(
+            "projects_seq", new String[]{"projects", "id"},
+            "tasks_seq", new String[]{"tasks", "id"},
+            "subtasks_seq", new String[]{"subtasks", "id"},
+            "attachments_seq", new String[]{"attachments", "id"},
+            "team_members_seq", new String[]{"team_members", "id"},
+            "teams_seq", new String[]{"teams", "id"},
+            "employees_seq", new String[]{"employees", "employee_id"},
+            "roles_seq", new String[]{"roles", "role_id"}
+    );
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Şema (ddl-auto) hazır olduktan sonra çalışsın
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void syncSequences() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            return;
+        }
+        SEQUENCES.forEach((sequence, column) -> {
+            Long maxId = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(MAX(" + column[1] + "), 0) FROM " + column[0], Long.class);
+            Long lastValue = jdbcTemplate.queryForObject("SELECT last_value FROM " + sequence, Long.class);
+            if (maxId != null && lastValue != null && lastValue <= maxId) {
+                // pooled optimizer: nextval = N ise (N - ALLOCATION_SIZE, N] aralığı kullanılır
+                jdbcTemplate.queryForObject("SELECT setval(?, ?, false)", Long.class,
+                        sequence, maxId + IdGeneration.ALLOCATION_SIZE);
+                log.info("ID sequence güncellendi: {} -> {}", sequence, maxId + IdGeneration.ALLOCATION_SIZE);
+            }
+        });
+    }
+
+    // Hiç çağrılmamış sequence'ın ilk nextval'i START değeridir (1): (hi - ALLOCATION_SIZE, hi] blok hesabı
+    // bu değerde sıfır/negatif ID'ler verir (Hibernate'in pooled optimizer'ı bu değeri ayrıca ele alır).
+    // ID bloklarını SQL'de ayıran kodlar (içe aktarma, klonlama) önce bunu çağırır: ilk değer harcanır,
+    // sonraki her nextval tam bir blok sonudur. Eşzamanlı çağrılarda en fazla birkaç değer boşa gider.
+    public void skipInitialValue(String sequence) {
+        if (!SEQUENCES.containsKey(sequence)) {
+            throw new IllegalArgumentException("Bilinmeyen sequence: " + sequence);
+        }
+        Boolean called = jdbcTemplate.queryForObject("SELECT is_called FROM " + sequence, Boolean.class);
+        if (!Boolean.TRUE.equals(called)) {
+            jdbcTemplate.queryForObject("SELECT nextval(?)", Long.class, sequence);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.demo.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    // Yüklenmemiş lazy ilişkiler JSON'a yazılırken veritabanına gidilmez:
+    // proxy'ler sadece id ile ({"id": 5}), yüklenmemiş koleksiyonlar hiç yazılmaz.
+    // Endpoint'in ihtiyaç duyduğu ilişkiler repository'deki entity graph'larla yüklenir.
+    @Bean
+    public Module hibernateModule() {
+        Hibernate6Module module = new Hibernate6Module();
+        module.enable(Hibernate6Module.Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS);
+        return module;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.demo.config;
+
+import com.example.demo.util.QueryStats;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Her HTTP isteği için SQL sayısı ve toplam DB süresi:
+// - metrik: http.server.requests.queries, http.server.requests.db (tag: method, uri)
+// - sayı sql.monitor.query-count-threshold değerini aşarsa endpoint ve en çok tekrarlanan ifadelerle uyarı logu
+// Yanıt başlıkları (X-Query-Count, X-Query-Time-Ms) QueryStatsResponseAdvice'ta eklenir.
+// Async (stream=true) isteklerde metrik ve uyarı, akışta çalışan sorguları da kapsar.
+@Slf4j
+@Component
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    private static final int TOP_STATEMENTS = 3;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${sql.monitor.query-count-threshold:30}")
+    private int queryCountThreshold;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryStats stats = QueryStats.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            QueryStats.stop();
+            request.setAttribute(QueryStats.REQUEST_ATTRIBUTE, stats);
+            if (request.isAsyncStarted()) {
+                // StreamingResponseBody: gövde async thread'de yazılır ve sorgular orada çalışır
+                // (QueryStats o thread'e taşınır); metrik akış bitince kaydedilir
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(request, stats);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                record(request, stats);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryStats stats) {
+        String uri = RouteTag.of(request);
+
+        DistributionSummary.builder("http.server.requests.queries")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getCount());
+        Timer.builder("http.server.requests.db")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getTotalNanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.getCount() > queryCountThreshold) {
+            String top = stats.topStatements(TOP_STATEMENTS).stream()
+                    .map(entry -> entry.getValue() + "x " + entry.getKey())
+                    .collect(Collectors.joining(" | "));
+            log.warn("{} {} isteği {} SQL çalıştırdı ({} ms). En çok tekrarlananlar: {}",
+                    request.getMethod(), uri, stats.getCount(), stats.getTotalMillis(), top);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.demo.config;
+
+import com.example.demo.util.QueryStats;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// Gövde yazılmadan hemen önce (başlıklar henüz gönderilmemişken) o ana kadarki SQL sayısı/süresi
+// yanıt başlığına eklenir. open-in-view kapalı olduğu için serileştirme sırasında yeni SQL çalışmaz.
+// StreamingResponseBody (stream=true, export) yanıtlarında bu advice çağrılmaz ve başlıklar akış
+// başlamadan gönderildiği için X-Query-Count/X-Query-Time-Ms eklenmez; bu isteklerin SQL sayısı
+// yalnızca http.server.requests.queries / .db metriklerinde görünür.
+@ControllerAdvice
+public class QueryStatsResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    public static final String QUERY_TIME_HEADER = "X-Query-Time-Ms";
+
+    @Override
+    public boolean supports(MethodParameter returnType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType,
+                                  MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            response.getHeaders().set(QUERY_COUNT_HEADER, String.valueOf(stats.getCount()));
+            response.getHeaders().set(QUERY_TIME_HEADER, String.valueOf(stats.getTotalMillis()));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.demo.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+// Metriklerin "uri" tag'i: eşleşen route şablonu (/api/projects/{id}).
+// Eşleşme yoksa (404, statik kaynak) tag sayısı patlamasın diye gerçek yol yerine UNKNOWN
+final class RouteTag {
+
+    static final String UNKNOWN = "UNKNOWN";
+
+    private RouteTag() {
+    }
+
+    static String of(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : UNKNOWN;
+    }
+}
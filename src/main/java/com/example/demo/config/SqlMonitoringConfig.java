@@ -0,0 +1,58 @@
+package com.example.demo.config;
+
+import com.example.demo.util.QueryStats;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskDecorator;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+
+// DataSource'u datasource-proxy ile sarar: Hibernate, JdbcTemplate ve native sorgular dahil
+// her SQL ifadesi istek istatistiğine (QueryStats) eklenir, eşiği aşan ifadeler loglanır.
+@Slf4j
+@Configuration
+public class SqlMonitoringConfig {
+
+    // BeanPostProcessor erken oluşturulduğu için @Value yerine Environment'tan okunur
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor(Environment environment) {
+        long slowQueryMs = environment.getProperty("sql.monitor.slow-query-ms", Long.class, 500L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(beanName, dataSource)
+                        .afterQuery((execInfo, queries) -> {
+                            long elapsedNanos = TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime());
+                            QueryStats stats = QueryStats.current();
+                            for (QueryInfo query : queries) {
+                                if (stats != null) {
+                                    // Süre ifadeler arasında bölünür (batch'te tek ölçüm var)
+                                    stats.record(query.getQuery(), elapsedNanos / queries.size());
+                                }
+                            }
+                            if (execInfo.getElapsedTime() >= slowQueryMs) {
+                                log.warn("Yavaş SQL ({} ms): {}", execInfo.getElapsedTime(),
+                                        queries.isEmpty() ? "?" : queries.get(0).getQuery());
+                            }
+                        })
+                        .build();
+            }
+        };
+    }
+
+    // MVC async işleri (StreamingResponseBody) Boot'un applicationTaskExecutor'ünde çalışır;
+    // Boot tekil TaskDecorator bean'ini bu executor'e uygular
+    @Bean
+    public TaskDecorator queryStatsTaskDecorator() {
+        return QueryStats::propagate;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.demo.config;
+
+import com.example.demo.dto.TokenClaims;
+import com.example.demo.service.AuthTokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.util.List;
+
+// Access token'ı (Authorization: Bearer ... ya da access_token cookie'si) doğrular ve
+// SecurityContext'e TokenClaims principal'ı koyar. Veritabanına gidilmez.
+// Geçersiz/eksik token isteği reddetmez; kimlik gerektiren endpoint'ler principal yoksa 401 döner.
+// Bean olarak değil SecurityConfig içinde oluşturulur (servlet filtresi olarak iki kez kaydedilmesin)
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String ACCESS_COOKIE = "access_token";
+    public static final String REFRESH_COOKIE = "refresh_token";
+
+    private static final String BEARER = "Bearer ";
+
+    private final AuthTokenService tokenService;
+
+    public TokenAuthenticationFilter(AuthTokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        TokenClaims claims = tokenService.verify(resolveToken(request, ACCESS_COOKIE), AuthTokenService.ACCESS);
+        if (claims != null) {
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(claims, null, List.of()));
+        }
+        chain.doFilter(request, response);
+    }
+
+    // Önce Authorization başlığı (API istemcileri), yoksa HttpOnly cookie (tarayıcı)
+    public static String resolveToken(HttpServletRequest request, String cookieName) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER)) {
+            return header.substring(BEARER.length()).trim();
+        }
+        Cookie cookie = WebUtils.getCookie(request, cookieName);
+        return cookie != null ? cookie.getValue() : null;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.demo.config;
+
+import com.example.demo.service.InMemoryTypeaheadIndex;
+import com.example.demo.service.TrigramTypeaheadIndex;
+import com.example.demo.service.TypeaheadIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+// Typeahead indeksi veritabanına göre seçilir:
+// PostgreSQL -> pg_trgm GIN indeksleri (V4 migration), diğerleri (H2 testleri) -> bellek içi indeks
+@Slf4j
+@Configuration
+public class TypeaheadConfig {
+
+    @Bean
+    public TypeaheadIndex typeaheadIndex(DataSource dataSource) throws MetaDataAccessException {
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        if ("PostgreSQL".equals(product)) {
+            return new TrigramTypeaheadIndex();
+        }
+        log.info("Typeahead için bellek içi indeks kullanılıyor (veritabanı: {})", product);
+        return new InMemoryTypeaheadIndex();
+    }
+}
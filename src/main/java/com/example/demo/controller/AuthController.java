@@ -1,14 +1,22 @@
 package com.example.demo.controller;
 
+import com.example.demo.config.TokenAuthenticationFilter;
+import com.example.demo.dto.TokenClaims;
 import com.example.demo.model.Employee;
 import com.example.demo.model.Role;
+import com.example.demo.service.AuthTokenService;
 import com.example.demo.service.EmployeeService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.web.bind.annotation.*;
-import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
+import java.time.Duration;
 import java.util.Map;
 import java.util.regex.Pattern;
 
@@ -20,6 +28,18 @@ public class AuthController {
     @Autowired 
     private EmployeeService employeeService;
 
+    @Autowired
+    private AuthTokenService authTokenService;
+
+    // HTTPS arkasında true yapılmalı
+    @Value("${app.auth.cookie-secure:false}")
+    private boolean cookieSecure;
+
+    private static final int MAX_TYPEAHEAD_LIMIT = 50;
+
+    // Refresh cookie'sinin gönderildiği tek yol
+    private static final String REFRESH_PATH = "/api/refresh";
+
     private BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
 
     @PostMapping("/register")
@@ -83,7 +103,7 @@ public class AuthController {
 
     //Kayıtlı kullanıcılar için
     @PostMapping("/login")
-    public ResponseEntity<?> processLogin(@RequestBody Map<String, String> body, HttpSession session) {
+    public ResponseEntity<?> processLogin(@RequestBody Map<String, String> body) {
         // Kullanıcının girdiği email ve şifreyi al
         String email = body.get("email");
         String password = body.get("password");
@@ -97,15 +117,73 @@ public class AuthController {
         if (employee == null || !passwordEncoder.matches(password, employee.getPassword())) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Geçersiz e-posta veya şifre.");
         }
-        // Giriş başarılı!(session)
-        session.setAttribute("loggedInUser", employee);
-        return ResponseEntity.ok(employee); // frontend'e kullanıcı bilgisi gönderir
+        // Giriş başarılı! Sunucuda oturum tutulmaz; kimlik imzalı token'larla (HttpOnly cookie) taşınır
+        Long roleId = roleId(employee);
+        return ResponseEntity.ok()
+                .headers(tokenCookies(authTokenService.issueAccessToken(employee.getId(), roleId),
+                        authTokenService.issueRefreshToken(employee.getId(), roleId)))
+                .body(employee); // frontend'e kullanıcı bilgisi gönderir
+    }
+
+    // Süresi dolan access token'ı yeniler (refresh token: cookie ya da Authorization: Bearer).
+    // Refresh token tek kullanımlıktır: kullanılan iptal edilir, yerine yenisi verilir
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(HttpServletRequest request) {
+        TokenClaims claims = authTokenService.verify(
+                TokenAuthenticationFilter.resolveToken(request, TokenAuthenticationFilter.REFRESH_COOKIE),
+                AuthTokenService.REFRESH);
+        if (claims == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Oturum süresi doldu, tekrar giriş yapınız.");
+        }
+        // Yenilemede (nadiren) çalışan tekrar okunur: silinen çalışan yenileyemez, rol değişikliği yansır
+        Employee employee;
+        try {
+            employee = employeeService.getEmployeeById(claims.getEmployeeId());
+        } catch (RuntimeException e) {
+            authTokenService.revoke(claims);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Oturum süresi doldu, tekrar giriş yapınız.");
+        }
+        // Çıkış zamanı her yenilemede veritabanından okunur: başka instance'ta yapılan çıkış da geçerli
+        if (!employeeService.isIssuedAfterLogout(employee.getId(), claims.getIssuedAt())) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Oturum süresi doldu, tekrar giriş yapınız.");
+        }
+        // Aynı refresh token ikinci kez (ya da eşzamanlı) kullanılamaz
+        if (!authTokenService.revoke(claims)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Oturum süresi doldu, tekrar giriş yapınız.");
+        }
+        Long roleId = roleId(employee);
+        String accessToken = authTokenService.issueAccessToken(employee.getId(), roleId);
+        String refreshToken = authTokenService.issueRefreshToken(employee.getId(), roleId);
+        return ResponseEntity.ok().headers(tokenCookies(accessToken, refreshToken)).body(Map.of(
+                "accessToken", accessToken,
+                "refreshToken", refreshToken,
+                "expiresIn", authTokenService.getAccessTokenTtl().toSeconds()));
     }
 
+    // Çıkış çalışanın tüm oturumlarını kapatır: verilmiş refresh token'lar her instance'ta geçersiz olur
+    // (tokens_valid_after). Token bu instance'ta ayrıca iptal listesine alınır, cookie'ler silinir;
+    // diğer instance'larda access token en fazla access-token-ttl kadar geçerli kalır.
+    // Refresh cookie'si bu yola gönderilmez (Path=/api/refresh): çalışan access token'dan, access token
+    // yoksa Authorization: Bearer ile gönderilen refresh token'dan bulunur
     @PostMapping("/logout")
-    public ResponseEntity<?> logout(HttpSession session) {
-        session.invalidate();
-        return ResponseEntity.ok("Çıkış yapıldı");
+    public ResponseEntity<?> logout(@AuthenticationPrincipal TokenClaims principal, HttpServletRequest request) {
+        TokenClaims claims = principal;
+        if (claims == null) {
+            claims = authTokenService.verify(
+                    TokenAuthenticationFilter.resolveToken(request, TokenAuthenticationFilter.REFRESH_COOKIE),
+                    AuthTokenService.REFRESH);
+        }
+        if (claims != null) {
+            authTokenService.revoke(claims);
+            employeeService.revokeIssuedTokens(claims.getEmployeeId());
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.SET_COOKIE, cookie(TokenAuthenticationFilter.ACCESS_COOKIE, "", "/", Duration.ZERO).toString());
+        headers.add(HttpHeaders.SET_COOKIE, cookie(TokenAuthenticationFilter.REFRESH_COOKIE, "", REFRESH_PATH, Duration.ZERO).toString());
+        // Önceki sürümün Path=/api ile yazdığı refresh cookie'si
+        headers.add(HttpHeaders.SET_COOKIE, cookie(TokenAuthenticationFilter.REFRESH_COOKIE, "", "/api", Duration.ZERO).toString());
+        return ResponseEntity.ok().headers(headers).body("Çıkış yapıldı");
     }
 
     @GetMapping("/roles")
@@ -114,12 +192,16 @@ public class AuthController {
     }
 
      @GetMapping("/me")
-    public ResponseEntity<?> getCurrentUser(HttpSession session) {
-        Employee employee = (Employee) session.getAttribute("loggedInUser");
-        if (employee == null) {
+    public ResponseEntity<?> getCurrentUser(@AuthenticationPrincipal TokenClaims principal) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Giriş yapılmamış.");
+        }
+        // Employee 2. seviye cache'ten gelir
+        try {
+            return ResponseEntity.ok(employeeService.getEmployeeById(principal.getEmployeeId()));
+        } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Giriş yapılmamış.");
         }
-        return ResponseEntity.ok(employee);
     }
 
     @GetMapping("/employees")
@@ -127,8 +209,39 @@ public class AuthController {
         return ResponseEntity.ok(employeeService.getAllEmployees());
     }
 
+    // Çalışan seçici: /api/employees/typeahead?q=ahm&limit=10 -> [{id, name}]
+    @GetMapping("/employees/typeahead")
+    public ResponseEntity<?> typeaheadEmployees(@RequestParam(defaultValue = "") String q,
+                                                @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(employeeService.typeahead(q, Math.max(1, Math.min(limit, MAX_TYPEAHEAD_LIMIT))));
+    }
+
     @GetMapping("/employees/{id}")
     public ResponseEntity<?> getEmployeeById(@PathVariable Long id) {
         return ResponseEntity.ok(employeeService.getEmployeeById(id));
     }
-}
\ No newline at end of file
+
+    // Access token tüm API'ye, refresh token sadece /api/refresh'e gönderilir
+    private HttpHeaders tokenCookies(String accessToken, String refreshToken) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.SET_COOKIE, cookie(TokenAuthenticationFilter.ACCESS_COOKIE,
+                accessToken, "/", authTokenService.getAccessTokenTtl()).toString());
+        headers.add(HttpHeaders.SET_COOKIE, cookie(TokenAuthenticationFilter.REFRESH_COOKIE,
+                refreshToken, REFRESH_PATH, authTokenService.getRefreshTokenTtl()).toString());
+        return headers;
+    }
+
+    private ResponseCookie cookie(String name, String value, String path, Duration maxAge) {
+        return ResponseCookie.from(name, value)
+                .httpOnly(true)
+                .secure(cookieSecure)
+                .sameSite("Lax")
+                .path(path)
+                .maxAge(maxAge)
+                .build();
+    }
+
+    private static Long roleId(Employee employee) {
+        return employee.getRole() != null ? employee.getRole().getRoleId() : null;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.demo.controller;
+
+import com.example.demo.service.ChangeFeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
+@RequestMapping("/api/changes")
+public class ChangeFeedController {
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    // Değişiklik akışı (Server-Sent Events): /api/changes?projectId=1&projectId=2&teamId=3
+    // Filtre verilmezse tüm olaylar gelir. Olay adları: SUBTASK_STATUS_CHANGED, TASK_CREATED, TASK_UPDATED,
+    // TASK_DELETED, PROJECT_UPDATED, PROJECT_IMPORTED, ATTACHMENT_CREATED; RESYNC gelirse istemci listeleri yeniden yüklemeli.
+    // EventSource yeniden bağlanırken Last-Event-ID gönderir, arada kaçan olaylar tekrar gönderilir.
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(required = false) List<Long> projectId,
+                             @RequestParam(required = false) List<Long> teamId,
+                             @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return changeFeedService.subscribe(
+                projectId != null ? Set.copyOf(projectId) : Set.of(),
+                teamId != null ? Set.copyOf(teamId) : Set.of(),
+                lastEventId);
+    }
+}
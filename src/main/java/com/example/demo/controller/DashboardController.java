@@ -0,0 +1,31 @@
+package com.example.demo.controller;
+
+import com.example.demo.service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@CrossOrigin(origins = "http://localhost:3000")
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    private static final int MAX_DAYS = 365;
+    private static final int MAX_UPCOMING = 50;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    // Dashboard özet sayıları (proje/görev/alt görev durum ve öncelik dağılımı, gecikenler, yaklaşanlar)
+    // employeeId: sadece o çalışanın projeleri/görevleri; days: "yaklaşan" penceresi (gün)
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats(@RequestParam(required = false) Long employeeId,
+                                                        @RequestParam(defaultValue = "3") int days,
+                                                        @RequestParam(defaultValue = "6") int upcoming) {
+        int dueWithinDays = Math.max(0, Math.min(days, MAX_DAYS));
+        int upcomingLimit = Math.max(0, Math.min(upcoming, MAX_UPCOMING));
+        return ResponseEntity.ok(dashboardService.getStats(employeeId, dueWithinDays, upcomingLimit));
+    }
+}
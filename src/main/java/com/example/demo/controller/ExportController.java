@@ -0,0 +1,93 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.ExportFilter;
+import com.example.demo.enums.SubTaskStatus;
+import com.example.demo.service.ExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@CrossOrigin(origins = "http://localhost:3000")
+@RequestMapping("/api/export")
+public class ExportController {
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+    private static final MediaType APPLICATION_NDJSON = new MediaType("application", "x-ndjson", StandardCharsets.UTF_8);
+
+    @Autowired
+    private ExportService exportService;
+
+    // Dışa aktarma: /api/export/{projects|tasks|subtasks}?format=csv|ndjson
+    // Filtreler: projectId, teamId, status (TODO/IN_PROGRESS/DONE), from/to (başlangıç tarihi, yyyy-MM-dd)
+    // İstemci kabul ediyorsa (Accept-Encoding: gzip) gzip'li akar
+    @GetMapping("/{entity}")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable String entity,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) Long teamId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        String type = entity.toLowerCase(Locale.ROOT);
+        String outputFormat = format.toLowerCase(Locale.ROOT);
+        if (!ExportService.ENTITIES.contains(type)) {
+            return badRequest("Geçersiz tür: " + entity);
+        }
+        if (!ExportService.FORMATS.contains(outputFormat)) {
+            return badRequest("Geçersiz format: " + format);
+        }
+        SubTaskStatus statusFilter = null;
+        if (status != null && !status.isBlank()) {
+            try {
+                statusFilter = SubTaskStatus.valueOf(status.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return badRequest("Geçersiz durum: " + status);
+            }
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            return badRequest("Başlangıç tarihi bitiş tarihinden sonra olamaz");
+        }
+        ExportFilter filter = new ExportFilter(projectId, teamId, statusFilter, from, to);
+
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        String fileName = type + "-" + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE) + "." + outputFormat;
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 8192);
+                exportService.export(type, outputFormat, filter, compressed);
+                compressed.finish();
+            } else {
+                exportService.export(type, outputFormat, filter, out);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType("csv".equals(outputFormat) ? TEXT_CSV : APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    // Akış tipli endpoint'te de hata mesajı düz metin döner
+    private static ResponseEntity<StreamingResponseBody> badRequest(String message) {
+        StreamingResponseBody body = out -> out.write(message.getBytes(StandardCharsets.UTF_8));
+        return ResponseEntity.badRequest().contentType(new MediaType("text", "plain", StandardCharsets.UTF_8)).body(body);
+    }
+}
@@ -6,7 +6,9 @@ import com.example.demo.model.Team;
 import com.example.demo.enums.SubTaskStatus;
 import com.example.demo.enums.TaskPriority;
 import com.example.demo.service.ProjectService;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.HttpStatus;
@@ -14,10 +16,12 @@ import java.util.HashMap; // sadece gerekiyorsa
 import java.util.ArrayList; // sadece gerekiyorsa
 import java.util.Map;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 import java.util.List;
 import java.util.Optional;
 
+@Slf4j
 @RestController
 @CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true") 
 @RequestMapping("/api/projects")
@@ -27,9 +31,29 @@ public class ProjectController {
     private ProjectService projectService;
 
     // Tüm projeler
+    // after/limit verilirse keyset sayfalı cevap: { items, nextCursor, hasMore }
+    // sort: id (varsayılan), -id, recent
+    // full=true: özet yerine tam proje entity'leri
     @GetMapping
-    public ResponseEntity<List<Project>> getAllProjects() {
-        return ResponseEntity.ok(projectService.getAllProjects());
+    public ResponseEntity<?> getAllProjects(@RequestParam(required = false) String after,
+                                            @RequestParam(required = false) Integer limit,
+                                            @RequestParam(required = false) String sort,
+                                            @RequestParam(defaultValue = "false") boolean full) {
+        if (after == null && limit == null) {
+            return ResponseEntity.ok(full ? projectService.getAllProjects() : projectService.getProjectSummaries());
+        }
+        try {
+            return ResponseEntity.ok(full ? projectService.getProjectsPage(after, limit, sort)
+                                          : projectService.getProjectSummariesPage(after, limit, sort));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Projelerin ilerleme durumu (toplu) - örn: /api/projects/progress?ids=1,2,3
+    @GetMapping("/progress")
+    public ResponseEntity<List<Map<String, Object>>> getProjectProgress(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(projectService.getProjectProgress(ids));
     }
 
     // ID ile proje
@@ -44,15 +68,14 @@ public class ProjectController {
    @PostMapping
 public ResponseEntity<Project> createProject(@RequestBody Project project) {
     try {
-        System.out.println("Gelen project data: " + project.toString());
-        System.out.println("Employee ID: " + (project.getEmployee() != null ? project.getEmployee().getId() : "null"));
-        System.out.println("Team ID: " + (project.getTeam() != null ? project.getTeam().getId() : "null"));
+        log.debug("Proje oluşturma isteği: name={}, employeeId={}, teamId={}", project.getName(),
+                project.getEmployee() != null ? project.getEmployee().getId() : null,
+                project.getTeam() != null ? project.getTeam().getId() : null);
         
         Project savedProject = projectService.createProject(project);
         return ResponseEntity.ok(savedProject);
     } catch (Exception e) {
-        System.err.println("Proje kaydetme hatası: " + e.getMessage());
-        e.printStackTrace();
+        log.error("Proje kaydetme hatası", e);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(null);
     }
@@ -100,6 +123,24 @@ public ResponseEntity<Project> createProject(@RequestBody Project project) {
         return ResponseEntity.ok(projectService.getProjectsByTeam(team));
     }
 
+    // Projeyi görevleri ve alt görevleriyle kopyala
+    // name: yeni ad (varsayılan "<ad> (Kopya)"), startDate: yeni başlangıç (tarihler kaydırılır),
+    // resetStatus: durumları TODO'ya döndür (varsayılan true)
+    @PostMapping("/{id}/clone")
+    public ResponseEntity<?> cloneProject(@PathVariable Long id,
+                                          @RequestParam(required = false) String name,
+                                          @RequestParam(required = false)
+                                          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+                                          @RequestParam(defaultValue = "true") boolean resetStatus) {
+        try {
+            return ResponseEntity.ok(projectService.cloneProject(id, name, startDate, resetStatus));
+        } catch (RuntimeException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
     @PutMapping("/{id}/progress")
     public ResponseEntity<Project> updateProgress(@PathVariable Long id, @RequestBody Map<String, Object> request) {
         try {
@@ -119,7 +160,7 @@ public ResponseEntity<Project> createProject(@RequestBody Project project) {
 
             return ResponseEntity.ok(updated);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.warn("Proje ilerlemesi güncellenemedi: id={}", id, e);
             return ResponseEntity.badRequest().build();
         }
     }
@@ -127,8 +168,7 @@ public ResponseEntity<Project> createProject(@RequestBody Project project) {
     @PatchMapping("/{id}")
 public ResponseEntity<Project> patchProject(@PathVariable Long id, @RequestBody Project projectUpdates) {
     try {
-        System.out.println("PATCH request for project ID: " + id);
-        System.out.println("Updates: " + projectUpdates.toString());
+        log.debug("Proje PATCH isteği: id={}", id);
         
         Optional<Project> existingProjectOpt = projectService.getProject(id);
         if (!existingProjectOpt.isPresent()) {
@@ -173,8 +213,7 @@ public ResponseEntity<Project> patchProject(@PathVariable Long id, @RequestBody
         return ResponseEntity.ok(updatedProject);
         
     } catch (Exception e) {
-        System.err.println("Proje güncelleme hatası: " + e.getMessage());
-        e.printStackTrace();
+        log.error("Proje güncelleme hatası: id={}", id, e);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
     }
 }
@@ -0,0 +1,45 @@
+package com.example.demo.controller;
+
+import com.example.demo.service.SearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@RestController
+@CrossOrigin(origins = "http://localhost:3000")
+@RequestMapping("/api/search")
+public class SearchController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_PAGE = 50;
+
+    @Autowired
+    private SearchService searchService;
+
+    // Birleşik arama: /api/search?q=rapor&types=TASK,ATTACHMENT&page=0&size=20
+    // Sonuçlar ilgiye (ts_rank) göre sıralı; hasMore = sonraki sayfa var
+    @GetMapping
+    public ResponseEntity<?> search(@RequestParam String q,
+                                    @RequestParam(required = false) String types,
+                                    @RequestParam(defaultValue = "0") int page,
+                                    @RequestParam(defaultValue = "20") int size) {
+        Set<String> typeSet = Set.of();
+        if (types != null && !types.isBlank()) {
+            typeSet = Arrays.stream(types.split(","))
+                    .map(type -> type.trim().toUpperCase(Locale.ROOT))
+                    .filter(type -> !type.isEmpty())
+                    .collect(Collectors.toSet());
+            if (!SearchService.TYPES.containsAll(typeSet)) {
+                return ResponseEntity.badRequest().body("Geçersiz tür: " + types);
+            }
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageIndex = Math.max(0, Math.min(page, MAX_PAGE));
+        return ResponseEntity.ok(searchService.search(q, typeSet, pageIndex, pageSize));
+    }
+}
@@ -2,10 +2,13 @@ package com.example.demo.controller;
 import com.example.demo.model.SubTask;
 import com.example.demo.model.Task;
 import com.example.demo.enums.SubTaskStatus;
+import com.example.demo.dto.SubTaskStatusUpdate;
 import com.example.demo.service.SubTaskService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.util.List;
 import java.util.Optional;
 import java.util.Map;
@@ -18,10 +21,28 @@ public class SubTaskController {
     private SubTaskService subTaskService;
 
     // ==== GET ====
+    // Tüm alt görevler, liste oluşturulmadan parça parça yazılan JSON dizisi olarak (sabit bellek)
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAllSubTasks() {
+        StreamingResponseBody body = subTaskService::writeAllSubTasks;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     // Tüm alt görevler
+    // after/limit verilirse keyset sayfalı cevap: { items, nextCursor, hasMore }
+    // sort: id (varsayılan), -id, recent
     @GetMapping
-    public ResponseEntity<List<SubTask>> getAllSubTasks() {
-        return ResponseEntity.ok(subTaskService.getAllSubTasks());
+    public ResponseEntity<?> getAllSubTasks(@RequestParam(required = false) String after,
+                                            @RequestParam(required = false) Integer limit,
+                                            @RequestParam(required = false) String sort) {
+        if (after == null && limit == null) {
+            return ResponseEntity.ok(subTaskService.getAllSubTasks());
+        }
+        try {
+            return ResponseEntity.ok(subTaskService.getSubTasksPage(after, limit, sort));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     // ID ile alt görev
@@ -39,6 +60,19 @@ public class SubTaskController {
         return ResponseEntity.ok(subTaskService.createSubTask(subTask));
     }
 
+    // Toplu alt görev ekle
+    @PostMapping("/bulk")
+    public ResponseEntity<List<SubTask>> createSubTasks(@RequestBody List<SubTask> subTasks) {
+        return ResponseEntity.ok(subTaskService.createSubTasks(subTasks));
+    }
+
+    // Toplu durum güncelleme: [{ "id": 1, "status": "DONE" }, ...]
+    // Tek istek + tek commit; cevap kalem bazında { id, success, status | error }
+    @PostMapping("/batch-status")
+    public ResponseEntity<List<Map<String, Object>>> updateSubTaskStatuses(@RequestBody List<SubTaskStatusUpdate> updates) {
+        return ResponseEntity.ok(subTaskService.updateSubTaskStatuses(updates));
+    }
+
     // ==== PUT ====
     // Alt görev güncelle (tüm obje)
     @PutMapping("/{id}")
@@ -1,18 +1,28 @@
 package com.example.demo.controller;
 
 import com.example.demo.model.TaskAttachment;
+import com.example.demo.service.AttachmentStorageService;
 import com.example.demo.service.TaskAttachmentService;
+import com.example.demo.util.RangedFileResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.FileSystemResource;
-import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.UriUtils;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -21,6 +31,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+@Slf4j
 @RestController
 @CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true") 
 @RequestMapping("/api/attachments")
@@ -29,125 +40,193 @@ public class TaskAttachmentController {
     @Autowired
     private TaskAttachmentService attachmentService;
 
+    @Autowired
+    private AttachmentStorageService storageService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Value("${file.upload-dir:uploads}")
     private String uploadDir;
 
+    // Hash'li URL'lerin içeriği hiç değişmez; diğerleri her seferinde doğrulanır (304)
+    private static final String BLOB_CACHE_CONTROL = "private, max-age=31536000, immutable";
+    private static final String FILE_CACHE_CONTROL = "private, no-cache";
+
+    // Aktarılan byte metrikleri (toplam / istek başına dağılım); throughput = rate(..._sum)
+    private static final String UPLOAD_BYTES = "attachments.upload.bytes";
+    private static final String DOWNLOAD_BYTES = "attachments.download.bytes";
+
     // ==== FILE UPLOAD ENDPOINTS ====
 
-    // Dosya yükleme endpoint'i
+    // Dosya yükleme endpoint'i (multipart)
+    // İçerik SHA-256 ile saklanır; aynı dosya tekrar yüklenirse diske yeniden yazılmaz
     @PostMapping("/upload")
     public ResponseEntity<Map<String, Object>> uploadFile(
             @RequestParam("file") MultipartFile file,
             @RequestParam("taskId") Long taskId,
             @RequestParam("revisionNumber") Double revisionNumber,
             @RequestParam("uploadedBy") Long uploadedBy) {
-        
-        try {
-            // Upload klasörünü oluştur
-            Path uploadPath = Paths.get(uploadDir);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-            }
 
-            // Dosya adını unique yap
-            String fileName = System.currentTimeMillis() + "_" + file.getOriginalFilename();
-            Path filePath = uploadPath.resolve(fileName);
-            
-            // Dosyayı kaydet
-            Files.copy(file.getInputStream(), filePath);
-            
-            // File URL oluştur
-            String fileUrl = "http://localhost:8080/api/attachments/files/" + fileName;
-            
-            // Response hazırla
-            Map<String, Object> response = new HashMap<>();
-            response.put("fileUrl", fileUrl);
-            response.put("fileName", file.getOriginalFilename());
-            response.put("savedAs", fileName);
-            response.put("size", file.getSize());
-            response.put("success", true);
-            
-            return ResponseEntity.ok(response);
-            
+        try (InputStream in = file.getInputStream()) {
+            return storeUpload(in, file.getOriginalFilename());
         } catch (IOException e) {
+            return uploadError(e);
+        }
+    }
+
+    // Akışlı dosya yükleme: istek gövdesi (application/octet-stream) doğrudan diske yazılır,
+    // multipart geçici dosyası oluşmaz
+    @PostMapping(value = "/upload/stream", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<Map<String, Object>> uploadStream(
+            @RequestParam("fileName") String fileName,
+            HttpServletRequest request) {
+
+        try (InputStream in = request.getInputStream()) {
+            return storeUpload(in, fileName);
+        } catch (IOException e) {
+            return uploadError(e);
+        }
+    }
+
+    private ResponseEntity<Map<String, Object>> storeUpload(InputStream in, String fileName) throws IOException {
+        AttachmentStorageService.StoredFile stored;
+        try {
+            stored = attachmentService.storeFile(in);
+        } catch (IllegalArgumentException e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
-            errorResponse.put("error", "Dosya yüklenemedi: " + e.getMessage());
-            return ResponseEntity.internalServerError().body(errorResponse);
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(errorResponse);
         }
+        bytes(UPLOAD_BYTES, "deduplicated", String.valueOf(stored.isDeduplicated())).record(stored.getSize());
+
+        // File URL: .../files/{hash}/{dosyaAdı}
+        String savedAs = stored.getContentHash() + "/" + UriUtils.encodePathSegment(fileName, StandardCharsets.UTF_8);
+        String fileUrl = "http://localhost:8080/api/attachments/files/" + savedAs;
+
+        // Response hazırla
+        Map<String, Object> response = new HashMap<>();
+        response.put("fileUrl", fileUrl);
+        response.put("fileName", fileName);
+        response.put("savedAs", savedAs);
+        response.put("size", stored.getSize());
+        response.put("contentHash", stored.getContentHash());
+        response.put("deduplicated", stored.isDeduplicated());
+        response.put("success", true);
+
+        return ResponseEntity.ok(response);
+    }
+
+    private ResponseEntity<Map<String, Object>> uploadError(IOException e) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("success", false);
+        errorResponse.put("error", "Dosya yüklenemedi: " + e.getMessage());
+        return ResponseEntity.internalServerError().body(errorResponse);
+    }
+
+    // İçerik adresli dosya görüntüleme (dosya adı yalnızca MIME type ve başlık için)
+    // İçerik değişmediği için ETag = hash; Range ve koşullu istekler desteklenir
+    @GetMapping("/files/{hash:[0-9a-f]{64}}/{fileName}")
+    public void viewBlob(@PathVariable String hash, @PathVariable String fileName,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long sent = RangedFileResponse.write(request, response, storageService.resolve(hash),
+                contentTypeOf(fileName), "inline; filename=\"" + fileName + "\"",
+                "\"" + hash + "\"", BLOB_CACHE_CONTROL);
+        recordDownload(response, sent, "blob");
     }
 
-    // Dosya görüntüleme/indirme endpoint'i
+    // Dosya görüntüleme/indirme endpoint'i (eski, zaman damgalı dosya adları)
     @GetMapping("/files/{fileName}")
-    public ResponseEntity<Resource> viewFile(@PathVariable String fileName) {
-        try {
-            Path filePath = Paths.get(uploadDir).resolve(fileName);
-            Resource resource = new FileSystemResource(filePath);
-            
-            if (!resource.exists()) {
-                return ResponseEntity.notFound().build();
-            }
-            
-            // MIME type'ı belirle
-            String contentType = Files.probeContentType(filePath);
-            if (contentType == null) {
-                contentType = "application/octet-stream";
-            }
-            
-            return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(contentType))
-                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + fileName + "\"")
-                .body(resource);
-                
-        } catch (IOException e) {
-            return ResponseEntity.internalServerError().build();
-        }
+    public void viewFile(@PathVariable String fileName,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path filePath = Paths.get(uploadDir).resolve(fileName);
+        long sent = RangedFileResponse.write(request, response, filePath,
+                contentTypeOf(fileName), "inline; filename=\"" + fileName + "\"",
+                null, FILE_CACHE_CONTROL);
+        recordDownload(response, sent, "file");
     }
 
     // Attachment ID ile dosya indirme
     @GetMapping("/download/{id}")
-    public ResponseEntity<Resource> downloadFile(@PathVariable Long id) {
-        try {
-            Optional<TaskAttachment> attachmentOpt = attachmentService.getAttachment(id);
-            if (attachmentOpt.isEmpty()) {
-                return ResponseEntity.notFound().build();
-            }
-            
-            TaskAttachment attachment = attachmentOpt.get();
-            
-            // URL'den dosya adını çıkar
+    public void downloadFile(@PathVariable Long id,
+                             HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Optional<TaskAttachment> attachmentOpt = attachmentService.getAttachment(id);
+        if (attachmentOpt.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        TaskAttachment attachment = attachmentOpt.get();
+
+        // İçerik adresli dosya, yoksa URL'den dosya adını çıkar (eski kayıtlar)
+        Path filePath;
+        String etag = null;
+        if (attachment.getContentHash() != null) {
+            filePath = storageService.resolve(attachment.getContentHash());
+            etag = "\"" + attachment.getContentHash() + "\"";
+        } else {
             String fileUrl = attachment.getFileUrl();
-            String fileName = fileUrl.substring(fileUrl.lastIndexOf("/") + 1);
-            
-            Path filePath = Paths.get(uploadDir).resolve(fileName);
-            Resource resource = new FileSystemResource(filePath);
-            
-            if (!resource.exists()) {
-                return ResponseEntity.notFound().build();
-            }
-            
-            // MIME type'ı belirle
-            String contentType = Files.probeContentType(filePath);
-            if (contentType == null) {
-                contentType = "application/octet-stream";
-            }
-            
-            return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(contentType))
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + attachment.getFileName() + "\"")
-                .body(resource);
-                
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError().build();
+            filePath = Paths.get(uploadDir).resolve(fileUrl.substring(fileUrl.lastIndexOf("/") + 1));
         }
+
+        // MIME type yükleme sırasında kaydedildi
+        String contentType = attachment.getContentType() != null
+                ? attachment.getContentType()
+                : contentTypeOf(attachment.getFileName());
+
+        long sent = RangedFileResponse.write(request, response, filePath, contentType,
+                "attachment; filename=\"" + attachment.getFileName() + "\"", etag, FILE_CACHE_CONTROL);
+        recordDownload(response, sent, "download");
+    }
+
+    // Dosya yoksa 404, varsa gönderilen byte sayısını (304/416 için 0) kaydet
+    private void recordDownload(HttpServletResponse response, long sent, String endpoint) {
+        if (sent < 0) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        bytes(DOWNLOAD_BYTES, "endpoint", endpoint).record(sent);
+    }
+
+    private DistributionSummary bytes(String name, String tagKey, String tagValue) {
+        return DistributionSummary.builder(name)
+                .baseUnit("bytes")
+                .tag(tagKey, tagValue)
+                .register(meterRegistry);
+    }
+
+    // Dosya adından MIME type (uzantı tablosu, dosya okunmaz)
+    private static String contentTypeOf(String fileName) {
+        return MediaTypeFactory.getMediaType(fileName)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM)
+                .toString();
     }
 
     // ==== EXISTING CRUD ENDPOINTS ====
 
+    // Tüm ekler, liste oluşturulmadan parça parça yazılan JSON dizisi olarak (sabit bellek)
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAllAttachments() {
+        StreamingResponseBody body = attachmentService::writeAllAttachments;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     // Tüm ekleri getir
+    // after/limit verilirse keyset sayfalı cevap: { items, nextCursor, hasMore }
+    // sort: id (varsayılan), -id, recent
     @GetMapping
-    public ResponseEntity<List<TaskAttachment>> getAllAttachments() {
-        return ResponseEntity.ok(attachmentService.getAllAttachments());
+    public ResponseEntity<?> getAllAttachments(@RequestParam(required = false) String after,
+                                               @RequestParam(required = false) Integer limit,
+                                               @RequestParam(required = false) String sort) {
+        if (after == null && limit == null) {
+            return ResponseEntity.ok(attachmentService.getAllAttachments());
+        }
+        try {
+            return ResponseEntity.ok(attachmentService.getAttachmentsPage(after, limit, sort));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     // ID ile ek getir
@@ -191,25 +270,34 @@ public class TaskAttachmentController {
 
     // Yeni ek yükle (JSON ile - eski method)
     @PostMapping
-    public ResponseEntity<TaskAttachment> addAttachment(@RequestBody TaskAttachment attachment) {
-        return ResponseEntity.ok(attachmentService.addAttachment(attachment));
+    // Yüklenen içerik bu arada silindiyse 410: dosya tekrar yüklenmeli
+    public ResponseEntity<?> addAttachment(@RequestBody TaskAttachment attachment) {
+        try {
+            return ResponseEntity.ok(attachmentService.addAttachment(attachment));
+        } catch (TaskAttachmentService.ContentGoneException e) {
+            return ResponseEntity.status(HttpStatus.GONE).body(e.getMessage());
+        }
     }
 
     // Ek güncelle
     @PutMapping("/{id}")
-    public ResponseEntity<TaskAttachment> updateAttachment(@PathVariable Long id,
-                                                           @RequestBody TaskAttachment attachment) {
+    public ResponseEntity<?> updateAttachment(@PathVariable Long id,
+                                              @RequestBody TaskAttachment attachment) {
         attachment.setId(id);
-        return ResponseEntity.ok(attachmentService.updateAttachment(attachment));
+        try {
+            return ResponseEntity.ok(attachmentService.updateAttachment(attachment));
+        } catch (TaskAttachmentService.ContentGoneException e) {
+            return ResponseEntity.status(HttpStatus.GONE).body(e.getMessage());
+        }
     }
 
     // Ek sil
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteAttachment(@PathVariable Long id) {
         try {
-            // Önce dosyayı sil
+            // Önce dosyayı sil (içerik adresli dosyalar referans sayısına göre serviste silinir)
             Optional<TaskAttachment> attachmentOpt = attachmentService.getAttachment(id);
-            if (attachmentOpt.isPresent()) {
+            if (attachmentOpt.isPresent() && attachmentOpt.get().getContentHash() == null) {
                 TaskAttachment attachment = attachmentOpt.get();
                 String fileUrl = attachment.getFileUrl();
                 
@@ -221,7 +309,7 @@ public class TaskAttachmentController {
                         Files.deleteIfExists(filePath);
                     } catch (IOException e) {
                         // Dosya silinemese de DB kaydını sil
-                        System.err.println("Dosya silinemedi: " + e.getMessage());
+                        log.warn("Dosya silinemedi: {}", filePath, e);
                     }
                 }
             }
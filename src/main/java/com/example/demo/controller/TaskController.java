@@ -4,10 +4,18 @@ import com.example.demo.model.Task;
 import com.example.demo.model.Employee;
 import com.example.demo.model.Project;
 import com.example.demo.enums.TaskPriority;
+import com.example.demo.service.TaskImportService;
 import com.example.demo.service.TaskService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,10 +27,31 @@ public class TaskController {
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private TaskImportService taskImportService;
+
+    // Tüm görevler, liste oluşturulmadan parça parça yazılan JSON dizisi olarak (sabit bellek)
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAllTasks() {
+        StreamingResponseBody body = taskService::writeAllTasks;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     // Tüm görevleri getir
+    // after/limit verilirse keyset sayfalı cevap: { items, nextCursor, hasMore }
+    // sort: id (varsayılan), -id, recent
     @GetMapping
-    public ResponseEntity<List<Task>> getAllTasks() {
-        return ResponseEntity.ok(taskService.getAllTasks());
+    public ResponseEntity<?> getAllTasks(@RequestParam(required = false) String after,
+                                         @RequestParam(required = false) Integer limit,
+                                         @RequestParam(required = false) String sort) {
+        if (after == null && limit == null) {
+            return ResponseEntity.ok(taskService.getAllTasks());
+        }
+        try {
+            return ResponseEntity.ok(taskService.getTasksPage(after, limit, sort));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     // ID ile görev getir
@@ -39,6 +68,46 @@ public class TaskController {
         return ResponseEntity.ok(taskService.createTask(task));
     }
 
+    // Toplu görev oluştur (alt görevleriyle birlikte)
+    @PostMapping("/bulk")
+    public ResponseEntity<List<Task>> createTasks(@RequestBody List<Task> tasks) {
+        return ResponseEntity.ok(taskService.createTasks(tasks));
+    }
+
+    // CSV'den projeye toplu görev + alt görev aktarımı (PostgreSQL COPY)
+    // Kolonlar: task, description, priority, start_date, end_date, assignees (e-postalar, ';' ile),
+    // subtask, subtask_description, status, assignee (e-posta), subtask_start_date, subtask_end_date
+    // Gövde ham CSV (text/csv) ya da multipart "file" olabilir; hatalı satırlar atlanır ve raporlanır
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<?> importTasks(@RequestParam Long projectId,
+                                         @RequestParam Long createdBy,
+                                         HttpServletRequest request) {
+        try (InputStream in = request.getInputStream()) {
+            return importTasks(projectId, createdBy, in);
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body("CSV okunamadı: " + e.getMessage());
+        }
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> importTasks(@RequestParam Long projectId,
+                                         @RequestParam Long createdBy,
+                                         @RequestParam("file") MultipartFile file) {
+        try (InputStream in = file.getInputStream()) {
+            return importTasks(projectId, createdBy, in);
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body("CSV okunamadı: " + e.getMessage());
+        }
+    }
+
+    private ResponseEntity<?> importTasks(Long projectId, Long createdBy, InputStream in) throws IOException {
+        try {
+            return ResponseEntity.ok(taskImportService.importCsv(projectId, createdBy, in));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     // Görev güncelle
     @PutMapping("/{id}")
     public ResponseEntity<Task> updateTask(@PathVariable Long id, @RequestBody Task task) {
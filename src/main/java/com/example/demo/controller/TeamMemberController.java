@@ -23,9 +23,20 @@ public class TeamMemberController {
     // ==== GET ====
 
     // Tüm üyeleri getir
+    // after/limit verilirse keyset sayfalı cevap: { items, nextCursor, hasMore }
+    // sort: id (varsayılan), -id, recent
     @GetMapping
-    public ResponseEntity<List<TeamMember>> getAllTeamMembers() {
-        return ResponseEntity.ok(teamMemberService.getAllTeamMembers());
+    public ResponseEntity<?> getAllTeamMembers(@RequestParam(required = false) String after,
+                                               @RequestParam(required = false) Integer limit,
+                                               @RequestParam(required = false) String sort) {
+        if (after == null && limit == null) {
+            return ResponseEntity.ok(teamMemberService.getAllTeamMembers());
+        }
+        try {
+            return ResponseEntity.ok(teamMemberService.getTeamMembersPage(after, limit, sort));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     // ID ile üye getir
@@ -0,0 +1,63 @@
+package com.example.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Değişiklik akışı olayı (GET /api/changes, Server-Sent Events)
+// Servis metotları yayınlar, transaction commit edildikten sonra abonelere gönderilir (ChangeFeedService).
+// data sadece değişen alanları taşır; istemci listeyi yeniden indirmeden kendi state'ini günceller.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeEvent {
+
+    public static final String PROJECT = "PROJECT";
+    public static final String TASK = "TASK";
+    public static final String SUBTASK = "SUBTASK";
+    public static final String ATTACHMENT = "ATTACHMENT";
+
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String DELETED = "DELETED";
+    public static final String STATUS_CHANGED = "STATUS_CHANGED";
+    // Projeye toplu içe aktarma (tek olay; istemci görev listesini yeniden yükler)
+    public static final String IMPORTED = "IMPORTED";
+
+    // Akıştaki sıra numarası (SSE id); ChangeFeedService gönderirken atar
+    private long sequence;
+    private String entity;
+    private String action;
+    private Long id;
+    // Boş gelirse ChangeFeedService taskId / projectId üzerinden tamamlar (abonelik filtresi için)
+    private Long projectId;
+    private Long teamId;
+    private Long taskId;
+    private Map<String, Object> data;
+    private LocalDateTime at;
+
+    public static ChangeEvent of(String entity, String action, Long id, Long projectId, Long taskId,
+                                 Map<String, Object> data) {
+        return new ChangeEvent(0, entity, action, id, projectId, null, taskId, data, LocalDateTime.now());
+    }
+
+    // Sıralı anahtar/değer çiftlerinden data (null değerlere izin verir)
+    public static Map<String, Object> fields(Object... keyValues) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < keyValues.length; i += 2) {
+            fields.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return fields;
+    }
+
+    // SSE event adı: SUBTASK_STATUS_CHANGED, TASK_CREATED ...
+    @JsonIgnore
+    public String getEventName() {
+        return entity + "_" + action;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.demo.dto;
+
+import com.example.demo.util.KeysetCursor;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+// Keyset sayfalı liste cevabı: { items, nextCursor, hasMore }
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+
+    // Slice'tan cevap oluştur; sonraki cursor son kaydın zaman/id anahtarından üretilir
+    public static <T> CursorPage<T> of(Slice<T> slice, String sort,
+                                       Function<T, LocalDateTime> timeKey, Function<T, Long> idKey) {
+        List<T> items = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext() && !items.isEmpty()) {
+            T last = items.get(items.size() - 1);
+            nextCursor = KeysetCursor.encode(sort, timeKey.apply(last), idKey.apply(last));
+        }
+        return new CursorPage<>(items, nextCursor, slice.hasNext());
+    }
+}
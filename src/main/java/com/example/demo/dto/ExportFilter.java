@@ -0,0 +1,20 @@
+package com.example.demo.dto;
+
+import com.example.demo.enums.SubTaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// Dışa aktarma filtreleri (hepsi opsiyonel); from/to başlangıç tarihine göre, iki uç dahil
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportFilter {
+    private Long projectId;
+    private Long teamId;
+    private SubTaskStatus status;
+    private LocalDate from;
+    private LocalDate to;
+}
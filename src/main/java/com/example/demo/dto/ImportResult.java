@@ -0,0 +1,27 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// CSV içe aktarma sonucu: hatalı satırlar atlanır, ilk hatalar satır numarasıyla raporlanır
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResult {
+    private long rows;
+    private long importedTasks;
+    private long importedSubTasks;
+    private long errorCount;
+    private List<RowError> errors;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private int line;
+        private String message;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.demo.dto;
+
+import com.example.demo.enums.SubTaskStatus;
+import com.example.demo.enums.TaskPriority;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Proje listesi için salt okunur görünüm (GET /api/projects)
+// Tek JPQL constructor sorgusu ile dolar; ilişkiler sadece id/isim taşır (şifre vb. yok).
+// JSON yapısı Project entity'si ile aynıdır: employee.firstName, team.name, createdBy.id ...
+@Data
+@NoArgsConstructor
+public class ProjectSummary {
+
+    private Long id;
+    private String name;
+    private String description;
+    private SubTaskStatus status;
+    private TaskPriority priority;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private LocalDateTime actualEndDate;
+    private BigDecimal progress;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private EmployeeRef createdBy;
+    private EmployeeRef assignedManager;
+    private EmployeeRef employee;
+    private TeamRef team;
+
+    // ProjectRepository.findAllSummaries tarafından kullanılır
+    public ProjectSummary(Long id, String name, String description, SubTaskStatus status, TaskPriority priority,
+                          LocalDateTime startDate, LocalDateTime endDate, LocalDateTime actualEndDate,
+                          BigDecimal progress, LocalDateTime createdAt, LocalDateTime updatedAt,
+                          Long createdById, String createdByFirstName, String createdByLastName,
+                          Long managerId, String managerFirstName, String managerLastName,
+                          Long employeeId, String employeeFirstName, String employeeLastName, String employeeEmail,
+                          Long teamId, String teamName) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.status = status;
+        this.priority = priority;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.actualEndDate = actualEndDate;
+        this.progress = progress;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.createdBy = createdById != null ? new EmployeeRef(createdById, createdByFirstName, createdByLastName, null) : null;
+        this.assignedManager = managerId != null ? new EmployeeRef(managerId, managerFirstName, managerLastName, null) : null;
+        this.employee = employeeId != null ? new EmployeeRef(employeeId, employeeFirstName, employeeLastName, employeeEmail) : null;
+        this.team = teamId != null ? new TeamRef(teamId, teamName, new ArrayList<>()) : null;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EmployeeRef {
+        private Long id;
+        private String firstName;
+        private String lastName;
+        private String email;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TeamRef {
+        private Long id;
+        private String name;
+        // Kullanıcı bazlı proje filtresi (roleUtils.filterProjectsForUser) üye id'lerine bakar
+        private List<EmployeeRef> members;
+    }
+}
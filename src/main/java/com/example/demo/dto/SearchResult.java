@@ -0,0 +1,22 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Arama sonucu (GET /api/search): tür + id + gösterilecek başlık, üst kayıt id'leri ile
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResult {
+
+    // PROJECT, TASK, SUBTASK, ATTACHMENT
+    private String type;
+    private Long id;
+    private String title;
+    // Açıklamanın başı (ilk 160 karakter)
+    private String snippet;
+    private Long projectId;
+    private Long taskId;
+    private double rank;
+}
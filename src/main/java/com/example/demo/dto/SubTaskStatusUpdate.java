@@ -0,0 +1,15 @@
+package com.example.demo.dto;
+
+import com.example.demo.enums.SubTaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Toplu durum güncellemesinde tek kalem: { "id": 5, "status": "DONE" }
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubTaskStatusUpdate {
+    private Long id;
+    private SubTaskStatus status;
+}
@@ -0,0 +1,18 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// İmzalı oturum token'ının içeriği: sadece kimlik, rol ve süre; Employee nesnesi taşınmaz
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenClaims {
+    private Long employeeId;
+    private Long roleId;
+    private String use; // "access" veya "refresh"
+    private String jti; // iptal (deny-list) için token kimliği
+    private long expiresAt; // epoch saniye
+    private long issuedAt; // epoch saniye; çıkış zamanıyla karşılaştırılır (refresh)
+}
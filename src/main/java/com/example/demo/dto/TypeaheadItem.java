@@ -0,0 +1,14 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Seçici (typeahead) sonucu: sadece id ve gösterilecek isim
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TypeaheadItem {
+    private Long id;
+    private String name;
+}
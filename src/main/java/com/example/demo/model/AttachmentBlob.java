@@ -0,0 +1,31 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// İçerik adresli dosya kaydı (file.upload-dir/blobs altında SHA-256 ile saklanır)
+// refCount: bu içeriği kullanan ek (TaskAttachment) sayısı; 0'a düşünce dosya silinir
+@Entity
+@Table(name = "attachment_blobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttachmentBlob {
+
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(name = "ref_count", nullable = false)
+    private long refCount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
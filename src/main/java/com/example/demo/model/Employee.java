@@ -1,19 +1,28 @@
 package com.example.demo.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Table(name = "employees")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employees")
 @Data // getter, setter, toString, equals, hashCode metodlarını otomatik oluşturur
 @NoArgsConstructor // parametresiz constructor
 @AllArgsConstructor // tüm parametreli constructor
 public class Employee {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_seq")
+    @SequenceGenerator(name = "employees_seq", sequenceName = "employees_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     @Column(name = "employee_id")
     private Long id;
     
@@ -29,12 +38,20 @@ public class Employee {
     @Column(name = "phone_number", nullable = false, unique = true)
     private String phoneNumber;
     
+    // Şifre hash'i JSON yanıtlarına yazılmaz (giriş, /api/me, atanan çalışanlar); istek gövdesinden okunabilir
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @Column(nullable = false)
     private String password;
     
     @ManyToOne
     @JoinColumn(name = "role_id", nullable = false)
     private Role role;
+
+    // Bu andan (UTC) önce verilen refresh token'lar geçersiz (çıkış). Sadece EmployeeRepository
+    // sorgularıyla yazılır; istek gövdesinden kaydedilen çalışan bu değeri ezmez
+    @JsonIgnore
+    @Column(name = "tokens_valid_after", insertable = false, updatable = false)
+    private LocalDateTime tokensValidAfter;
     
     // Custom constructor (id hariç )
     public Employee(String firstName, String lastName, String email, 
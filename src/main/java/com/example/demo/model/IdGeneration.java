@@ -0,0 +1,13 @@
+package com.example.demo.model;
+
+// Entity ID'leri pooled sequence ile üretilir: her nextval ALLOCATION_SIZE kadar ID ayırır,
+// böylece toplu insert'ler hibernate.jdbc.batch_size ile tek seferde gönderilebilir
+// (IDENTITY her satırdan sonra ID okumak zorunda olduğu için batch'i kapatıyordu).
+// Değiştirilirse mevcut sequence'ların INCREMENT BY değeri de aynı değere çekilmeli.
+public final class IdGeneration {
+
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGeneration() {
+    }
+}
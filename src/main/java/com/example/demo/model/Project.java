@@ -17,6 +17,15 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
+@NamedEntityGraph(name = "Project.withRelations",
+    attributeNodes = {
+        @NamedAttributeNode(value = "createdBy", subgraph = "employee"),
+        @NamedAttributeNode(value = "assignedManager", subgraph = "employee"),
+        @NamedAttributeNode(value = "employee", subgraph = "employee"),
+        @NamedAttributeNode("team")
+    },
+    subgraphs = @NamedSubgraph(name = "employee", attributeNodes = @NamedAttributeNode("role"))
+)
 @Table(name = "projects")
 @Data
 @NoArgsConstructor
@@ -25,7 +34,8 @@ import java.time.LocalDateTime;
 public class Project {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "projects_seq")
+    @SequenceGenerator(name = "projects_seq", sequenceName = "projects_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -77,7 +87,7 @@ public class Project {
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
-    @Column(name = "updated_at")
+    @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
     @PrePersist
@@ -0,0 +1,26 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Proje bazlı ilerleme sayaçları
+// totalCount: alt görevi olan görevlerde alt görev sayısı, olmayanlarda 1 (görevin kendisi)
+@Entity
+@Table(name = "project_progress")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectProgress {
+
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @Column(name = "done_count", nullable = false)
+    private long doneCount;
+
+    @Column(name = "total_count", nullable = false)
+    private long totalCount;
+}
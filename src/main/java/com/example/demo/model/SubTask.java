@@ -11,13 +11,18 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
+@NamedEntityGraph(name = "SubTask.withAssignee",
+    attributeNodes = @NamedAttributeNode(value = "assignedTo", subgraph = "employee"),
+    subgraphs = @NamedSubgraph(name = "employee", attributeNodes = @NamedAttributeNode("role"))
+)
 @Table(name = "subtasks")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class SubTask {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "subtasks_seq")
+    @SequenceGenerator(name = "subtasks_seq", sequenceName = "subtasks_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank(message = "Alt görev adı boş olamaz")
@@ -39,7 +44,7 @@ public class SubTask {
     @Column(name = "end_date")
     private LocalDateTime endDate;
 
-    @Column(name = "updated_at")
+    @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
     @Enumerated(EnumType.STRING)
@@ -15,13 +15,30 @@ import java.util.List;
 import java.util.Set;
 
 @Entity
+@NamedEntityGraph(name = "Task.withAssignments",
+    attributeNodes = {
+        @NamedAttributeNode("project"),
+        @NamedAttributeNode(value = "createdBy", subgraph = "employee"),
+        @NamedAttributeNode(value = "assignedEmployees", subgraph = "employee")
+    },
+    subgraphs = @NamedSubgraph(name = "employee", attributeNodes = @NamedAttributeNode("role"))
+)
+// Sayfalı listeler için: koleksiyon fetch'i yok (LIMIT veritabanında kalsın)
+@NamedEntityGraph(name = "Task.withProject",
+    attributeNodes = {
+        @NamedAttributeNode("project"),
+        @NamedAttributeNode(value = "createdBy", subgraph = "employee")
+    },
+    subgraphs = @NamedSubgraph(name = "employee", attributeNodes = @NamedAttributeNode("role"))
+)
 @Table(name = "tasks")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Task {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank(message = "Görev başlığı boş olamaz")
@@ -63,7 +80,7 @@ public class Task {
     @Column(name = "start_date")
     private LocalDateTime startDate;
 
-    @Column(name = "updated_at")
+    @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
     @Column(name = "end_date")
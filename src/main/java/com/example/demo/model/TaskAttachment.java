@@ -8,9 +8,17 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
+@NamedEntityGraph(name = "TaskAttachment.withTaskAndUploader",
+    attributeNodes = {
+        @NamedAttributeNode("task"),
+        @NamedAttributeNode(value = "uploadedBy", subgraph = "employee")
+    },
+    subgraphs = @NamedSubgraph(name = "employee", attributeNodes = @NamedAttributeNode("role"))
+)
 @Table(
     name = "attachments",
-    uniqueConstraints = @UniqueConstraint(columnNames = {"task_id", "revision_number"})
+    uniqueConstraints = @UniqueConstraint(columnNames = {"task_id", "revision_number"}),
+    indexes = @Index(name = "idx_attachments_content_hash", columnList = "content_hash")
 )
 @Data
 @NoArgsConstructor
@@ -18,7 +26,8 @@ import java.time.LocalDateTime;
 public class TaskAttachment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "attachments_seq")
+    @SequenceGenerator(name = "attachments_seq", sequenceName = "attachments_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank(message = "Dosya URL boş olamaz")
@@ -37,6 +46,18 @@ public class TaskAttachment {
 private Double revisionNumber;
 
 
+    // İçerik adresli dosya (AttachmentBlob) - eski kayıtlarda boş
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    // Yükleme sırasında dosya adından belirlenen MIME type
+    @Size(max = 100)
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
     @Column(name = "uploaded_at", nullable = false)
     private LocalDateTime uploadedAt;
 
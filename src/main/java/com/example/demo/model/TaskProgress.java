@@ -0,0 +1,29 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Görev bazlı ilerleme sayaçları (alt görev toplam / tamamlanan)
+// Sadece ProgressService tarafından atomik artırımlarla güncellenir
+@Entity
+@Table(name = "task_progress")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskProgress {
+
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(name = "done_count", nullable = false)
+    private long doneCount;
+
+    @Column(name = "total_count", nullable = false)
+    private long totalCount;
+}
@@ -1,6 +1,8 @@
 package com.example.demo.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -14,6 +16,8 @@ import java.util.HashSet;
 
 @Entity
 @Table(name = "teams")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "teams")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -21,7 +25,8 @@ import java.util.HashSet;
 public class Team {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "teams_seq")
+    @SequenceGenerator(name = "teams_seq", sequenceName = "teams_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank(message = "Takım adı boş olamaz")
@@ -12,6 +12,13 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 @Entity
+@NamedEntityGraph(name = "TeamMember.withTeamAndEmployee",
+    attributeNodes = {
+        @NamedAttributeNode("team"),
+        @NamedAttributeNode(value = "employee", subgraph = "employee")
+    },
+    subgraphs = @NamedSubgraph(name = "employee", attributeNodes = @NamedAttributeNode("role"))
+)
 @Table(
     name = "team_members",
     uniqueConstraints = @UniqueConstraint(columnNames = {"team_id", "employee_id"})
@@ -22,7 +29,8 @@ import lombok.NoArgsConstructor;
 public class TeamMember {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "team_members_seq")
+    @SequenceGenerator(name = "team_members_seq", sequenceName = "team_members_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,73 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.AttachmentBlob;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+@Repository
+public interface AttachmentBlobRepository extends JpaRepository<AttachmentBlob, String> {
+
+    // Yüklenen içeriği kaydet - ek kaydı oluşana kadar refCount 0.
+    // Zaten varsa ve kullanılmıyorsa created_at yenilenir: temizlik (sweep) süresi yeni yüklemeden başlar
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "attachment_blobs"))
+    @Query(value = "INSERT INTO attachment_blobs (content_hash, size_bytes, ref_count, created_at) " +
+                   "VALUES (:hash, :size, 0, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT (content_hash) DO UPDATE SET created_at = CURRENT_TIMESTAMP " +
+                   "WHERE attachment_blobs.ref_count = 0",
+           nativeQuery = true)
+    int register(@Param("hash") String hash, @Param("size") long size);
+
+    // İçerik başına kilit (transaction sonuna kadar): yeniden yükleme (register + dosya kontrolü) ile
+    // son referansı bırakılan içeriğin dosyasını silme aynı hash için sırayla çalışır
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtext(:hash))", nativeQuery = true)
+    int lock(@Param("hash") String hash);
+
+    // Referans sayısını artır / azalt (atomik). retain satırı kilitler: aynı anda çalışan
+    // deleteIfUnused commit'e kadar bekler ve refCount > 0 gördüğü için silmez.
+    // Kayıt yoksa (içerik silinmiş) 0 döner
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "attachment_blobs"))
+    @Query(value = "UPDATE attachment_blobs SET ref_count = ref_count + 1 WHERE content_hash = :hash",
+           nativeQuery = true)
+    int retain(@Param("hash") String hash);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "attachment_blobs"))
+    @Query(value = "UPDATE attachment_blobs SET ref_count = ref_count - 1 " +
+                   "WHERE content_hash = :hash AND ref_count > 0",
+           nativeQuery = true)
+    int release(@Param("hash") String hash);
+
+    // Artık kullanılmayan içeriği sil (silindiyse 1 döner, dosya da silinmeli)
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "attachment_blobs"))
+    @Query(value = "DELETE FROM attachment_blobs WHERE content_hash = :hash AND ref_count = 0",
+           nativeQuery = true)
+    int deleteIfUnused(@Param("hash") String hash);
+
+    // Yüklenip hiçbir eke bağlanmamış içerikler (refCount 0, cutoff'tan önce yüklenmiş)
+    @Query(value = "SELECT content_hash FROM attachment_blobs " +
+                   "WHERE ref_count = 0 AND created_at < :cutoff ORDER BY created_at LIMIT :limit",
+           nativeQuery = true)
+    List<String> findUnusedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "attachment_blobs"))
+    @Query(value = "DELETE FROM attachment_blobs " +
+                   "WHERE content_hash = :hash AND ref_count = 0 AND created_at < :cutoff",
+           nativeQuery = true)
+    int deleteIfUnusedBefore(@Param("hash") String hash, @Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,8 +1,37 @@
 package com.example.demo.repository;
 
 import com.example.demo.model.Employee;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
 
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+    // Sorgu sonuçları query cache'te tutulur (employees tablosu değişince geçersizleşir)
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Employee findByEmail(String email);
-}
\ No newline at end of file
+
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<Employee> findAll();
+
+    // Toplu e-posta çözümleme (görev içe aktarma), büyük/küçük harf duyarsız
+    @Query("SELECT e FROM Employee e WHERE lower(e.email) IN :emails")
+    List<Employee> findByEmailIgnoreCaseIn(@Param("emails") Collection<String> emails);
+
+    // 2. seviye cache'ten değil her zaman veritabanından okunur: başka instance'taki çıkış hemen görülür
+    @Query("SELECT e.tokensValidAfter FROM Employee e WHERE e.id = :id")
+    LocalDateTime findTokensValidAfter(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Employee e SET e.tokensValidAfter = :time WHERE e.id = :id")
+    int updateTokensValidAfter(@Param("id") Long id, @Param("time") LocalDateTime time);
+}
@@ -0,0 +1,50 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.ProjectProgress;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+@Repository
+public interface ProjectProgressRepository extends JpaRepository<ProjectProgress, Long> {
+
+    // Sayaçlara atomik artırım (satır yoksa oluşturur)
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "project_progress"))
+    @Query(value = "INSERT INTO project_progress (project_id, done_count, total_count) " +
+                   "VALUES (:projectId, :doneDelta, :totalDelta) " +
+                   "ON CONFLICT (project_id) DO UPDATE SET " +
+                   "done_count = project_progress.done_count + EXCLUDED.done_count, " +
+                   "total_count = project_progress.total_count + EXCLUDED.total_count",
+           nativeQuery = true)
+    int increment(@Param("projectId") Long projectId,
+                  @Param("doneDelta") long doneDelta,
+                  @Param("totalDelta") long totalDelta);
+
+    // Proje sayacını görev sayaçlarından yeniden hesapla
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "project_progress"))
+    @Query(value = "INSERT INTO project_progress (project_id, done_count, total_count) " +
+                   "SELECT :projectId, COALESCE(SUM(done_count), 0), COALESCE(SUM(GREATEST(total_count, 1)), 0) " +
+                   "FROM task_progress WHERE project_id = :projectId " +
+                   "ON CONFLICT (project_id) DO UPDATE SET " +
+                   "done_count = EXCLUDED.done_count, total_count = EXCLUDED.total_count",
+           nativeQuery = true)
+    int rebuild(@Param("projectId") Long projectId);
+
+    // projects.progress kolonunu sayaçtan yaz (yüzde, 2 hane)
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "projects"))
+    @Query(value = "UPDATE projects SET progress = CASE WHEN pp.total_count > 0 " +
+                   "THEN ROUND(pp.done_count * 100.0 / pp.total_count, 2) ELSE 0 END " +
+                   "FROM project_progress pp " +
+                   "WHERE pp.project_id = projects.id AND projects.id = :projectId",
+           nativeQuery = true)
+    int syncProjectProgress(@Param("projectId") Long projectId);
+}
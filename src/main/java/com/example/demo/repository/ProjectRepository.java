@@ -1,33 +1,108 @@
 package com.example.demo.repository;
 
 import com.example.demo.model.Project;
+import com.example.demo.dto.ProjectSummary;
 import com.example.demo.model.Employee;
 import com.example.demo.enums.SubTaskStatus;
 import com.example.demo.enums.TaskPriority;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.example.demo.model.Team;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
 
     // İsme göre arama
+    @EntityGraph("Project.withRelations")
     List<Project> findByName(String name);
 
     //Takıma göre projeler
+    @EntityGraph("Project.withRelations")
     List<Project> findByTeam(Team team);
 
     // Manager'a göre projeler
+    @EntityGraph("Project.withRelations")
     List<Project> findByAssignedManager(Employee assignedManager);
 
     // Çalışana göre projeler
+    @EntityGraph("Project.withRelations")
     List<Project> findByEmployee(Employee employee);
 
     // Duruma göre projeler
+    @EntityGraph("Project.withRelations")
     List<Project> findByStatus(SubTaskStatus status);
 
     // Önceliğe göre projeler
+    @EntityGraph("Project.withRelations")
     List<Project> findByPriority(TaskPriority priority);
+
+    // Liste görünümü (ProjectSummary) - ilişkiler LEFT JOIN ile tek sorguda
+    String SUMMARY_SELECT = "SELECT new com.example.demo.dto.ProjectSummary(" +
+           "p.id, p.name, p.description, p.status, p.priority, p.startDate, p.endDate, p.actualEndDate, " +
+           "p.progress, p.createdAt, p.updatedAt, " +
+           "c.id, c.firstName, c.lastName, " +
+           "m.id, m.firstName, m.lastName, " +
+           "e.id, e.firstName, e.lastName, e.email, " +
+           "t.id, t.name) " +
+           "FROM Project p " +
+           "LEFT JOIN p.createdBy c LEFT JOIN p.assignedManager m " +
+           "LEFT JOIN p.employee e LEFT JOIN p.team t ";
+
+    // Keyset sayfalama (OFFSET/COUNT yok, PK indeksi üzerinden) - tam entity (full=true)
+    @EntityGraph("Project.withRelations")
+    Slice<Project> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @EntityGraph("Project.withRelations")
+    Slice<Project> findByIdLessThanOrderByIdDesc(Long id, Pageable pageable);
+
+    // En yeniler önce (updatedAt + id); updatedAt NOT NULL (V5)
+    @EntityGraph("Project.withRelations")
+    @Query("SELECT p FROM Project p WHERE p.updatedAt < :time OR (p.updatedAt = :time AND p.id < :id) " +
+           "ORDER BY p.updatedAt DESC, p.id DESC")
+    Slice<Project> findRecentBefore(@Param("time") LocalDateTime time, @Param("id") Long id, Pageable pageable);
+
+    // Keyset sayfalama - özet görünüm (varsayılan)
+    @Query(SUMMARY_SELECT + "WHERE p.id > :id ORDER BY p.id")
+    Slice<ProjectSummary> findSummariesAfter(@Param("id") Long id, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE p.id < :id ORDER BY p.id DESC")
+    Slice<ProjectSummary> findSummariesBefore(@Param("id") Long id, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE p.updatedAt < :time OR (p.updatedAt = :time AND p.id < :id) " +
+           "ORDER BY p.updatedAt DESC, p.id DESC")
+    Slice<ProjectSummary> findRecentSummariesBefore(@Param("time") LocalDateTime time, @Param("id") Long id,
+                                                    Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "ORDER BY p.id")
+    List<ProjectSummary> findAllSummaries();
+
+    // Takım üyeleri (id, ad, soyad) - satır: [teamId, employeeId, firstName, lastName]
+    @Query("SELECT t.id, e.id, e.firstName, e.lastName FROM Team t JOIN t.members e WHERE t.id IN :teamIds")
+    List<Object[]> findTeamMemberNames(@Param("teamIds") Collection<Long> teamIds);
+
+    // Tam detay - ilişkiler (ve çalışan rolleri) fetch join ile tek sorguda
+    @Query("SELECT p FROM Project p " +
+           "LEFT JOIN FETCH p.createdBy c LEFT JOIN FETCH c.role " +
+           "LEFT JOIN FETCH p.assignedManager m LEFT JOIN FETCH m.role " +
+           "LEFT JOIN FETCH p.employee e LEFT JOIN FETCH e.role " +
+           "LEFT JOIN FETCH p.team t LEFT JOIN FETCH t.members")
+    List<Project> findAllWithRelations();
+
+    @Query("SELECT p FROM Project p " +
+           "LEFT JOIN FETCH p.createdBy c LEFT JOIN FETCH c.role " +
+           "LEFT JOIN FETCH p.assignedManager m LEFT JOIN FETCH m.role " +
+           "LEFT JOIN FETCH p.employee e LEFT JOIN FETCH e.role " +
+           "LEFT JOIN FETCH p.team t LEFT JOIN FETCH t.members " +
+           "WHERE p.id = :id")
+    Optional<Project> findWithRelationsById(@Param("id") Long id);
 }
@@ -1,9 +1,20 @@
 package com.example.demo.repository;
 
 import com.example.demo.model.Role;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
 
 public interface RoleRepository extends JpaRepository<Role, Long> {
+    // Sorgu sonuçları query cache'te tutulur (roles tablosu değişince geçersizleşir)
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Role findByRoleName(String roleName);
 
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<Role> findAll();
 }
@@ -3,36 +3,89 @@ package com.example.demo.repository;
 import com.example.demo.model.SubTask;
 import com.example.demo.enums.SubTaskStatus;
 import com.example.demo.model.Task;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import com.example.demo.service.EntityJsonStreamer;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface SubTaskRepository extends JpaRepository<SubTask, Long> {
 
+    // Liste/detay endpoint'lerinin JSON'a yazdığı ilişkiler (SubTask.withAssignee)
+    @Override
+    @EntityGraph("SubTask.withAssignee")
+    List<SubTask> findAll();
+
+    // Tam liste akışı (?stream=true, EntityJsonStreamer): sunucu tarafı cursor, read-only entity'ler
+    @EntityGraph("SubTask.withAssignee")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = EntityJsonStreamer.FETCH_SIZE),
+                 @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT s FROM SubTask s ORDER BY s.id")
+    Stream<SubTask> streamAll();
+
+    @Override
+    @EntityGraph("SubTask.withAssignee")
+    Optional<SubTask> findById(Long id);
+
+    // Durum değişikliği/silme öncesi kilitli okuma: ilerleme farkı okunan eski durumdan hesaplanır;
+    // aynı alt görevi değiştiren eşzamanlı istek bu transaction bitene kadar bekler.
+    // Önce satır kilitlenir (SELECT ... FOR UPDATE), sonra okunur: Hibernate outer join'li (atanan kişi)
+    // sorguda kilidi okumadan sonra ayrı sorguyla alır, okunan durum eski kalabilirdi
+    default Optional<SubTask> findByIdForUpdate(Long id) {
+        lockById(id);
+        return findById(id);
+    }
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s.id FROM SubTask s WHERE s.id = :id")
+    Long lockById(@Param("id") Long id);
+
     // Belirli bir Task’a ait tüm SubTask’lar
+    @EntityGraph("SubTask.withAssignee")
     List<SubTask> findByTaskId(Long taskId);
 
     // Task entity üzerinden alt görevler
+    @EntityGraph("SubTask.withAssignee")
     List<SubTask> findByTask(Task task);
 
     // Belirli bir durumdaki SubTask’lar (TODO, IN_PROGRESS, DONE)
+    @EntityGraph("SubTask.withAssignee")
     List<SubTask> findByStatus(SubTaskStatus status);
 
     // Belirli bir Task’a ait, belirli durumdaki SubTask’lar
+    @EntityGraph("SubTask.withAssignee")
     List<SubTask> findByTaskIdAndStatus(Long taskId, SubTaskStatus status);
 
     // Belirli bir kişiye atanmış alt görevler
+    @EntityGraph("SubTask.withAssignee")
     List<SubTask> findByAssignedToId(Long employeeId);
 
     // Belirli bir kişiye ait ve belirli durumdaki alt görevler
+    @EntityGraph("SubTask.withAssignee")
     List<SubTask> findByAssignedToIdAndStatus(Long employeeId, SubTaskStatus status);
 
     // Task bazlı sıralama
+    @EntityGraph("SubTask.withAssignee")
     List<SubTask> findByTaskIdOrderByStartDateAsc(Long taskId);
+    @EntityGraph("SubTask.withAssignee")
     List<SubTask> findByTaskIdOrderByEndDateDesc(Long taskId);
 
     // Üst raporlama için
@@ -40,5 +93,34 @@ public interface SubTaskRepository extends JpaRepository<SubTask, Long> {
     Long countByTaskIdAndStatus(Long taskId, SubTaskStatus status);
 
     // Pageable destekli (çok veri varsa performans için)
+    @EntityGraph("SubTask.withAssignee")
     Page<SubTask> findByTaskId(Long taskId, Pageable pageable);
+
+    // Proje ilerlemesi için tek sorguda görev bazlı sayımlar
+    // Satır: [projectId, taskId, subtaskCount, doneCount] - alt görevi olmayan görevler de gelir (LEFT JOIN)
+    @Query("SELECT t.project.id, t.id, COUNT(s.id), " +
+           "SUM(CASE WHEN s.status = :doneStatus THEN 1 ELSE 0 END) " +
+           "FROM Task t LEFT JOIN t.subtasks s " +
+           "WHERE t.project.id IN :projectIds " +
+           "GROUP BY t.project.id, t.id")
+    List<Object[]> countProgressByProjectIds(@Param("projectIds") Collection<Long> projectIds,
+                                             @Param("doneStatus") SubTaskStatus doneStatus);
+
+    // Toplu durum güncellemesi için mevcut durumlar - satır: [id, taskId, status]
+    // SELECT ... FOR UPDATE: ilerleme farkı bu durumdan hesaplanır; satırlar id sırasıyla kilitlenir (deadlock olmasın)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s.id, s.task.id, s.status FROM SubTask s WHERE s.id IN :ids ORDER BY s.id")
+    List<Object[]> findStatusesByIdsForUpdate(@Param("ids") Collection<Long> ids);
+
+    // Keyset sayfalama (OFFSET/COUNT yok, PK indeksi üzerinden)
+    @EntityGraph("SubTask.withAssignee")
+    Slice<SubTask> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    @EntityGraph("SubTask.withAssignee")
+    Slice<SubTask> findByIdLessThanOrderByIdDesc(Long id, Pageable pageable);
+
+    // En yeniler önce (updatedAt + id); updatedAt NOT NULL (V5)
+    @EntityGraph("SubTask.withAssignee")
+    @Query("SELECT s FROM SubTask s WHERE s.updatedAt < :time OR (s.updatedAt = :time AND s.id < :id) " +
+           "ORDER BY s.updatedAt DESC, s.id DESC")
+    Slice<SubTask> findRecentBefore(@Param("time") LocalDateTime time, @Param("id") Long id, Pageable pageable);
 }
@@ -1,36 +1,84 @@
 package com.example.demo.repository;
 
 import com.example.demo.model.TaskAttachment;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import com.example.demo.service.EntityJsonStreamer;
+import jakarta.persistence.QueryHint;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface TaskAttachmentRepository extends JpaRepository<TaskAttachment, Long> {
 
+    // Liste/detay endpoint'lerinin JSON'a yazdığı ilişkiler (TaskAttachment.withTaskAndUploader)
+    @Override
+    @EntityGraph("TaskAttachment.withTaskAndUploader")
+    List<TaskAttachment> findAll();
+
+    // Tam liste akışı (?stream=true, EntityJsonStreamer): sunucu tarafı cursor, read-only entity'ler
+    @EntityGraph("TaskAttachment.withTaskAndUploader")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = EntityJsonStreamer.FETCH_SIZE),
+                 @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT a FROM TaskAttachment a ORDER BY a.id")
+    Stream<TaskAttachment> streamAll();
+
+    @Override
+    @EntityGraph("TaskAttachment.withTaskAndUploader")
+    Optional<TaskAttachment> findById(Long id);
+
     // Belirli bir göreve ait tüm ekleri getir
+    @EntityGraph("TaskAttachment.withTaskAndUploader")
     List<TaskAttachment> findByTaskId(Long taskId);
 
     // Belirli bir çalışan tarafından yüklenen ekleri getir
+    @EntityGraph("TaskAttachment.withTaskAndUploader")
     List<TaskAttachment> findByUploadedById(Long employeeId);
 
     // Belirli bir görev ve revizyon numarasına göre ek(ler)
+    @EntityGraph("TaskAttachment.withTaskAndUploader")
     List<TaskAttachment> findByTaskIdAndRevisionNumber(Long taskId, Double revisionNumber);
 
     // Eğer unique constraint varsa Optional daha uygun
+    @EntityGraph("TaskAttachment.withTaskAndUploader")
     Optional<TaskAttachment> findFirstByTaskIdAndRevisionNumber(Long taskId, Double revisionNumber);
 
     // Dosya adına göre ara (tam eşleşme)
+    @EntityGraph("TaskAttachment.withTaskAndUploader")
     List<TaskAttachment> findByFileName(String fileName);
 
     // Dosya adında geçen kelimeye göre (case-insensitive)
+    @EntityGraph("TaskAttachment.withTaskAndUploader")
     List<TaskAttachment> findByFileNameContainingIgnoreCase(String fileName);
 
     // Belirli görevin eklerini tarihe göre sıralı getir
+    @EntityGraph("TaskAttachment.withTaskAndUploader")
     List<TaskAttachment> findByTaskIdOrderByUploadedAtDesc(Long taskId);
 
     // Belirli göreve ait toplam ek sayısı
     Long countByTaskId(Long taskId);
+
+    // Keyset sayfalama (OFFSET/COUNT yok, PK indeksi üzerinden)
+    @EntityGraph("TaskAttachment.withTaskAndUploader")
+    Slice<TaskAttachment> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    @EntityGraph("TaskAttachment.withTaskAndUploader")
+    Slice<TaskAttachment> findByIdLessThanOrderByIdDesc(Long id, Pageable pageable);
+
+    // En yeniler önce (uploadedAt + id); uploadedAt NOT NULL
+    @EntityGraph("TaskAttachment.withTaskAndUploader")
+    @Query("SELECT a FROM TaskAttachment a WHERE a.uploadedAt < :time OR (a.uploadedAt = :time AND a.id < :id) " +
+           "ORDER BY a.uploadedAt DESC, a.id DESC")
+    Slice<TaskAttachment> findRecentBefore(@Param("time") LocalDateTime time, @Param("id") Long id, Pageable pageable);
 }
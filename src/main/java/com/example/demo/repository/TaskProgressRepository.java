@@ -0,0 +1,54 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.TaskProgress;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+@Repository
+public interface TaskProgressRepository extends JpaRepository<TaskProgress, Long> {
+
+    // Sayaçlara atomik artırım (satır yoksa oluşturur)
+    // Native yazmalarda etkilenen tablo belirtilir; aksi halde Hibernate tüm 2. seviye cache'i boşaltır
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "task_progress"))
+    @Query(value = "INSERT INTO task_progress (task_id, project_id, done_count, total_count) " +
+                   "VALUES (:taskId, :projectId, :doneDelta, :totalDelta) " +
+                   "ON CONFLICT (task_id) DO UPDATE SET " +
+                   "done_count = task_progress.done_count + EXCLUDED.done_count, " +
+                   "total_count = task_progress.total_count + EXCLUDED.total_count",
+           nativeQuery = true)
+    int increment(@Param("taskId") Long taskId,
+                  @Param("projectId") Long projectId,
+                  @Param("doneDelta") long doneDelta,
+                  @Param("totalDelta") long totalDelta);
+
+    // Güncel toplam (persistence context'i değil veritabanını okur)
+    @Query(value = "SELECT total_count FROM task_progress WHERE task_id = :taskId", nativeQuery = true)
+    Long findTotalCount(@Param("taskId") Long taskId);
+
+    // Projenin tüm görev sayaçlarını mevcut verilerden yeniden hesapla
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "task_progress"))
+    @Query(value = "INSERT INTO task_progress (task_id, project_id, done_count, total_count) " +
+                   "SELECT t.id, t.project_id, " +
+                   "COUNT(s.id) FILTER (WHERE s.status = 'DONE'), COUNT(s.id) " +
+                   "FROM tasks t LEFT JOIN subtasks s ON s.task_id = t.id " +
+                   "WHERE t.project_id = :projectId " +
+                   "GROUP BY t.id, t.project_id " +
+                   "ON CONFLICT (task_id) DO UPDATE SET " +
+                   "done_count = EXCLUDED.done_count, total_count = EXCLUDED.total_count",
+           nativeQuery = true)
+    int rebuildForProject(@Param("projectId") Long projectId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "task_progress"))
+    @Query(value = "DELETE FROM task_progress WHERE project_id = :projectId", nativeQuery = true)
+    int deleteByProjectId(@Param("projectId") Long projectId);
+}
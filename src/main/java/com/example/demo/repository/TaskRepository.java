@@ -4,25 +4,83 @@ import com.example.demo.model.Task;
 import com.example.demo.enums.TaskPriority;
 import com.example.demo.model.Employee;
 import com.example.demo.model.Project;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import com.example.demo.service.EntityJsonStreamer;
+import jakarta.persistence.QueryHint;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
+
+    // Liste/detay endpoint'lerinin JSON'a yazdığı ilişkiler (Task.withAssignments)
+    @Override
+    @EntityGraph("Task.withAssignments")
+    List<Task> findAll();
+
+    // Tam liste akışı (?stream=true, EntityJsonStreamer): sunucu tarafı cursor, read-only entity'ler
+    // Koleksiyon fetch'i yok; atananlar her parça için batch fetch ile yüklenir
+    @EntityGraph("Task.withProject")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = EntityJsonStreamer.FETCH_SIZE),
+                 @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT t FROM Task t ORDER BY t.id")
+    Stream<Task> streamAll();
+
+    @Override
+    @EntityGraph("Task.withAssignments")
+    Optional<Task> findById(Long id);
     
     // Belirli bir projeye ait tüm görevleri getir
+    @EntityGraph("Task.withAssignments")
     List<Task> findByProject(Project project);
     
     // Belirli bir çalışana atanmış görevleri getir (ÇOKLU ASSIGNMENT İÇİN)
+    @EntityGraph("Task.withAssignments")
     @Query("SELECT t FROM Task t JOIN t.assignedEmployees e WHERE e.id = :employeeId")
     List<Task> findByAssignedEmployee(@Param("employeeId") Long employeeId);
     
     // Önceliğe göre görevleri getir
+    @EntityGraph("Task.withAssignments")
     List<Task> findByPriority(TaskPriority priority);
     
     // Belirli bir çalışanın oluşturduğu görevleri getir
+    @EntityGraph("Task.withAssignments")
     List<Task> findByCreatedBy(Employee employee);
-}
\ No newline at end of file
+
+    // Görevin bağlı olduğu proje ID'si (entity yüklemeden)
+    @Query("SELECT t.project.id FROM Task t WHERE t.id = :taskId")
+    Long findProjectIdById(@Param("taskId") Long taskId);
+
+    // Görevlerin bağlı olduğu projeler (tekil)
+    @Query("SELECT DISTINCT t.project.id FROM Task t WHERE t.id IN :taskIds")
+    List<Long> findProjectIdsByIds(@Param("taskIds") Collection<Long> taskIds);
+
+    // Görev -> proje eşlemesi - satır: [taskId, projectId]
+    @Query("SELECT t.id, t.project.id FROM Task t WHERE t.id IN :taskIds")
+    List<Object[]> findProjectIdsByTaskIds(@Param("taskIds") Collection<Long> taskIds);
+
+    // Keyset sayfalama (OFFSET/COUNT yok, PK indeksi üzerinden)
+    @EntityGraph("Task.withProject")
+    Slice<Task> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    @EntityGraph("Task.withProject")
+    Slice<Task> findByIdLessThanOrderByIdDesc(Long id, Pageable pageable);
+
+    // En yeniler önce (updatedAt + id); updatedAt NOT NULL (V5)
+    @EntityGraph("Task.withProject")
+    @Query("SELECT t FROM Task t WHERE t.updatedAt < :time OR (t.updatedAt = :time AND t.id < :id) " +
+           "ORDER BY t.updatedAt DESC, t.id DESC")
+    Slice<Task> findRecentBefore(@Param("time") LocalDateTime time, @Param("id") Long id, Pageable pageable);
+}
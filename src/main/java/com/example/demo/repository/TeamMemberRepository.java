@@ -4,25 +4,48 @@ import com.example.demo.model.TeamMember;
 import com.example.demo.model.Team;
 import com.example.demo.model.Employee;
 import com.example.demo.enums.TeamRole;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TeamMemberRepository extends JpaRepository<TeamMember, Long> {
 
+    // Liste/detay endpoint'lerinin JSON'a yazdığı ilişkiler (TeamMember.withTeamAndEmployee)
+    @Override
+    @EntityGraph("TeamMember.withTeamAndEmployee")
+    List<TeamMember> findAll();
+
+    @Override
+    @EntityGraph("TeamMember.withTeamAndEmployee")
+    Optional<TeamMember> findById(Long id);
+
     // Belirli bir takıma ait tüm üyeler
+    @EntityGraph("TeamMember.withTeamAndEmployee")
     List<TeamMember> findByTeamId(Long teamId);
+    @EntityGraph("TeamMember.withTeamAndEmployee")
     List<TeamMember> findByTeam(Team team);
 
     // Belirli bir çalışanın üye olduğu tüm takımlar
+    @EntityGraph("TeamMember.withTeamAndEmployee")
     List<TeamMember> findByEmployeeId(Long employeeId);
+    @EntityGraph("TeamMember.withTeamAndEmployee")
     List<TeamMember> findByEmployee(Employee employee);
 
     // Takım + rol bilgisine göre üyeler
+    @EntityGraph("TeamMember.withTeamAndEmployee")
     List<TeamMember> findByTeamIdAndRole(Long teamId, TeamRole role);
 
+    @EntityGraph("TeamMember.withTeamAndEmployee")
     List<TeamMember> findByRole(TeamRole role);
 
     // Çalışanın belirli bir takımda olup olmadığını kontrol et
@@ -31,4 +54,25 @@ public interface TeamMemberRepository extends JpaRepository<TeamMember, Long> {
     // Sayma işlemleri
     Long countByTeamId(Long teamId);
     Long countByTeamIdAndRole(Long teamId, TeamRole role);
+
+    // Keyset sayfalama (OFFSET/COUNT yok, PK indeksi üzerinden)
+    @EntityGraph("TeamMember.withTeamAndEmployee")
+    Slice<TeamMember> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    @EntityGraph("TeamMember.withTeamAndEmployee")
+    Slice<TeamMember> findByIdLessThanOrderByIdDesc(Long id, Pageable pageable);
+
+    // En yeniler önce (joinedAt + id); joinedAt NOT NULL
+    @EntityGraph("TeamMember.withTeamAndEmployee")
+    @Query("SELECT m FROM TeamMember m WHERE m.joinedAt < :time OR (m.joinedAt = :time AND m.id < :id) " +
+           "ORDER BY m.joinedAt DESC, m.id DESC")
+    Slice<TeamMember> findRecentBefore(@Param("time") LocalDateTime time, @Param("id") Long id, Pageable pageable);
+
+    // Takım listesi için üyeler + çalışan + rol tek sorguda (N+1 yerine)
+    @Query("SELECT m FROM TeamMember m JOIN FETCH m.employee e JOIN FETCH e.role " +
+           "WHERE m.team.id IN :teamIds ORDER BY m.id")
+    List<TeamMember> findRosterByTeamIds(@Param("teamIds") Collection<Long> teamIds);
+
+    // Çalışanın üye olduğu takımlar (dashboard kullanıcı filtresi)
+    @Query("SELECT m.team.id FROM TeamMember m WHERE m.employee.id = :employeeId")
+    List<Long> findTeamIdsByEmployeeId(@Param("employeeId") Long employeeId);
 }
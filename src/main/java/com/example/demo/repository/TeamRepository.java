@@ -2,21 +2,33 @@ package com.example.demo.repository;
 
 import com.example.demo.model.Team;
 import com.example.demo.model.Employee;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
 @Repository
 public interface TeamRepository extends JpaRepository<Team, Long> {
 
+    // Takım listesi (roster) - query cache
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<Team> findAll();
+
     // Takım adı ile arama (tam eşleşme)
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Team> findByName(String name);
 
     // tam eşleşme takım adı arama
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Team> findByNameIgnoreCase(String name);
 
     // İsme göre parça arama (örn: "dev" → "Development Team")
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Team> findByNameContainingIgnoreCase(String keyword);
 
     // Belirli bir çalışanın üye olduğu tüm takımlar
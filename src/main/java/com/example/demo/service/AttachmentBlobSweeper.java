@@ -0,0 +1,34 @@
+package com.example.demo.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// Yüklenip hiçbir eke bağlanmayan içerikleri (refCount 0) periyodik olarak temizler.
+// Her turda en fazla BATCH_SIZE kayıt silinir; kalanlar sonraki turlara bırakılır.
+@Slf4j
+@Component
+public class AttachmentBlobSweeper {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private TaskAttachmentService attachmentService;
+
+    @Value("${app.attachments.orphan-grace:1h}")
+    private Duration orphanGrace;
+
+    @Scheduled(initialDelayString = "${app.attachments.orphan-sweep-interval:PT10M}",
+               fixedDelayString = "${app.attachments.orphan-sweep-interval:PT10M}")
+    public void sweep() {
+        int deleted = attachmentService.sweepUnusedBlobs(LocalDateTime.now().minus(orphanGrace), BATCH_SIZE);
+        if (deleted > 0) {
+            log.info("{} kullanılmayan ek içeriği silindi", deleted);
+        }
+    }
+}
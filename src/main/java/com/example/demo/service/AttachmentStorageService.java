@@ -0,0 +1,132 @@
+package com.example.demo.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Yüklenen dosyaları içerik adresli olarak saklar:
+// {file.upload-dir}/blobs/ab/cd/abcd...(SHA-256)
+// Gelen byte'lar doğrudan FileChannel'a yazılırken hash aynı anda hesaplanır;
+// aynı içerik ikinci kez gelirse geçici dosya silinir, mevcut dosya kullanılır.
+@Slf4j
+@Service
+public class AttachmentStorageService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern BLOB_URL = Pattern.compile("/files/([0-9a-f]{64})/");
+
+    @Value("${file.upload-dir:uploads}")
+    private String uploadDir;
+
+    @Value("${spring.servlet.multipart.max-file-size:10MB}")
+    private DataSize maxFileSize;
+
+    // Akışı diske yaz, SHA-256 hesapla, aynı içerik varsa tekrar saklama
+    public StoredFile store(InputStream in) throws IOException {
+        Path tmpDir = Paths.get(uploadDir).resolve("tmp");
+        Files.createDirectories(tmpDir);
+        Path tmp = Files.createTempFile(tmpDir, "upload-", ".part");
+
+        try {
+            MessageDigest digest = sha256();
+            long size = 0;
+            try (ReadableByteChannel source = Channels.newChannel(in);
+                 FileChannel target = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+                int read;
+                while ((read = source.read(buffer)) != -1) {
+                    size += read;
+                    if (size > maxFileSize.toBytes()) {
+                        throw new IllegalArgumentException("Dosya boyutu sınırı aşıldı: " + maxFileSize);
+                    }
+                    buffer.flip();
+                    digest.update(buffer.array(), 0, buffer.limit());
+                    while (buffer.hasRemaining()) {
+                        target.write(buffer);
+                    }
+                    buffer.clear();
+                }
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path blobPath = resolve(hash);
+            if (Files.exists(blobPath)) {
+                return new StoredFile(hash, size, true);
+            }
+            Files.createDirectories(blobPath.getParent());
+            try {
+                Files.move(tmp, blobPath, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Aynı içerik eş zamanlı yüklendi
+                return new StoredFile(hash, size, true);
+            }
+            return new StoredFile(hash, size, false);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    // Hash'e ait dosya yolu
+    public Path resolve(String hash) {
+        return Paths.get(uploadDir).resolve("blobs")
+                .resolve(hash.substring(0, 2))
+                .resolve(hash.substring(2, 4))
+                .resolve(hash);
+    }
+
+    // Kullanılmayan içeriği sil
+    public void delete(String hash) {
+        try {
+            Files.deleteIfExists(resolve(hash));
+        } catch (IOException e) {
+            log.warn("Dosya silinemedi: {}", hash, e);
+        }
+    }
+
+    // fileUrl içerik adresli ise hash'i döner (.../files/{hash}/{dosyaAdı}), değilse null
+    public String hashFromUrl(String fileUrl) {
+        if (fileUrl == null) {
+            return null;
+        }
+        Matcher matcher = BLOB_URL.matcher(fileUrl);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Saklama sonucu
+    @Data
+    @AllArgsConstructor
+    public static class StoredFile {
+        private String contentHash;
+        private long size;
+        private boolean deduplicated;
+    }
+}
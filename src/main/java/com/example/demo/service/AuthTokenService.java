@@ -0,0 +1,175 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.TokenClaims;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Durumsuz oturum: giriş sonrası HS256 imzalı, JWT biçiminde kısa ömürlü access ve uzun ömürlü
+// refresh token üretilir. Doğrulama sadece süreç içindeki anahtarla yapılır, veritabanına gidilmez;
+// böylece istekler herhangi bir instance'a gidebilir (session replikasyonu gerekmez).
+// Tüm instance'lar aynı app.auth.token-secret değerini kullanmalıdır.
+// Çıkış yapılan ve yenilemede kullanılan (rotasyon) token'lar süreleri dolana kadar deny-list'te
+// tutulur. Liste instance'a özeldir; diğer instance'larda access token en fazla access-token-ttl
+// kadar geçerli kalır.
+@Slf4j
+@Service
+public class AuthTokenService {
+
+    public static final String ACCESS = "access";
+    public static final String REFRESH = "refresh";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    // Sabit başlık: farklı "alg" (ör. none) içeren token'lar imza kontrolüne gelmeden reddedilir
+    private static final String HEADER = ENCODER.encodeToString(
+            "{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.US_ASCII));
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.auth.token-secret:}")
+    private String secret;
+
+    @Value("${app.auth.access-token-ttl:15m}")
+    private Duration accessTokenTtl;
+
+    @Value("${app.auth.refresh-token-ttl:7d}")
+    private Duration refreshTokenTtl;
+
+    // jti -> token'ın bitiş zamanı (epoch saniye); süresi dolan kayıtlar yeni iptalde temizlenir
+    private final Map<String, Long> denyList = new ConcurrentHashMap<>();
+    private Mac prototype;
+
+    @PostConstruct
+    void init() throws GeneralSecurityException {
+        byte[] key;
+        if (secret == null || secret.isBlank()) {
+            // Geliştirme için rastgele anahtar: yeniden başlatmada tüm oturumlar düşer, çoklu instance'ta çalışmaz
+            key = new byte[MIN_SECRET_BYTES];
+            new SecureRandom().nextBytes(key);
+            log.warn("app.auth.token-secret tanımlı değil, geçici rastgele anahtar kullanılıyor");
+        } else {
+            key = secret.getBytes(StandardCharsets.UTF_8);
+            if (key.length < MIN_SECRET_BYTES) {
+                throw new IllegalStateException("app.auth.token-secret en az " + MIN_SECRET_BYTES + " byte olmalı");
+            }
+        }
+        prototype = Mac.getInstance(ALGORITHM);
+        prototype.init(new SecretKeySpec(key, ALGORITHM));
+        if (meterRegistry != null) {
+            Gauge.builder("auth.tokens.revoked", denyList, Map::size).register(meterRegistry);
+        }
+    }
+
+    public Duration getAccessTokenTtl() {
+        return accessTokenTtl;
+    }
+
+    public Duration getRefreshTokenTtl() {
+        return refreshTokenTtl;
+    }
+
+    public String issueAccessToken(Long employeeId, Long roleId) {
+        return issue(employeeId, roleId, ACCESS, accessTokenTtl);
+    }
+
+    public String issueRefreshToken(Long employeeId, Long roleId) {
+        return issue(employeeId, roleId, REFRESH, refreshTokenTtl);
+    }
+
+    // Geçersiz imza, yanlış tür, süresi dolmuş ya da iptal edilmiş token için null döner
+    public TokenClaims verify(String token, String expectedUse) {
+        if (token == null) {
+            return null;
+        }
+        int first = token.indexOf('.');
+        int last = token.lastIndexOf('.');
+        if (first < 0 || first == last || !token.substring(0, first).equals(HEADER)) {
+            return null;
+        }
+        try {
+            byte[] expected = sign(token.substring(0, last));
+            if (!MessageDigest.isEqual(expected, DECODER.decode(token.substring(last + 1)))) {
+                return null;
+            }
+            JsonNode payload = MAPPER.readTree(DECODER.decode(token.substring(first + 1, last)));
+            TokenClaims claims = new TokenClaims(
+                    Long.valueOf(payload.path("sub").asText()),
+                    payload.hasNonNull("role") ? Long.valueOf(payload.get("role").asLong()) : null,
+                    payload.path("use").asText(),
+                    payload.path("jti").asText(),
+                    payload.path("exp").asLong(),
+                    payload.path("iat").asLong());
+            if (!expectedUse.equals(claims.getUse())
+                    || claims.getExpiresAt() <= Instant.now().getEpochSecond()
+                    || denyList.containsKey(claims.getJti())) {
+                return null;
+            }
+            return claims;
+        } catch (Exception e) {
+            // Bozuk base64/JSON: geçersiz token
+            return null;
+        }
+    }
+
+    // Token bu çağrıyla iptal edildiyse true, zaten iptal edilmişse false döner (refresh rotasyonunda
+    // aynı token'la eşzamanlı iki yenileme isteğinden sadece biri geçer)
+    public boolean revoke(TokenClaims claims) {
+        if (claims == null) {
+            return false;
+        }
+        long now = Instant.now().getEpochSecond();
+        denyList.values().removeIf(expiresAt -> expiresAt <= now);
+        if (claims.getExpiresAt() <= now) {
+            return false;
+        }
+        return denyList.putIfAbsent(claims.getJti(), claims.getExpiresAt()) == null;
+    }
+
+    private String issue(Long employeeId, Long roleId, String use, Duration ttl) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("sub", String.valueOf(employeeId));
+        payload.put("role", roleId);
+        payload.put("use", use);
+        payload.put("jti", UUID.randomUUID().toString());
+        Instant now = Instant.now();
+        payload.put("iat", now.getEpochSecond());
+        payload.put("exp", now.plus(ttl).getEpochSecond());
+        try {
+            String unsigned = HEADER + "." + ENCODER.encodeToString(MAPPER.writeValueAsBytes(payload));
+            return unsigned + "." + ENCODER.encodeToString(sign(unsigned));
+        } catch (Exception e) {
+            throw new IllegalStateException("Token üretilemedi", e);
+        }
+    }
+
+    // Mac thread-safe değil; başlatılmış örnek her imzada kopyalanır (anahtar yeniden işlenmez)
+    private byte[] sign(String data) throws CloneNotSupportedException {
+        Mac mac = (Mac) prototype.clone();
+        return mac.doFinal(data.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,311 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ChangeEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Proje / görev / alt görev / dosya eki değişikliklerini SSE abonelerine iletir.
+// - Servisler ChangeEvent yayınlar; olay transaction commit edildikten sonra (rollback'te hiç) kuyruğa alınır
+// - Sıra numarası, tekrar tamponu ve abonelik ekleme tek bir "change-feed" thread'inde yapılır:
+//   yeniden bağlanan istemci olay kaçırmaz / iki kez almaz
+// - Gönderim aboneye özeldir: olaylar abonenin sınırlı kuyruğuna alınır ve kendi (virtual) thread'inde
+//   yazılır; yavaş ya da okumayan istemci ne istek thread'lerini ne de diğer aboneleri bekletir.
+//   Kuyruk dolarsa bekleyen olaylar atılır, yerine RESYNC gönderilir (istemci listeleri yeniden yükler)
+// - Abonelik proje ve/veya takım id'leriyle filtrelenir; filtre yoksa tüm olaylar gönderilir
+@Slf4j
+@Service
+public class ChangeFeedService {
+
+    private static final long EMITTER_TIMEOUT_MS = Duration.ofMinutes(30).toMillis();
+    private static final long HEARTBEAT_SECONDS = 20;
+    // Yeniden bağlanan istemciye Last-Event-ID sonrası gönderilebilecek son olay sayısı
+    private static final int REPLAY_SIZE = 512;
+    // Abone başına gönderilmeyi bekleyen en fazla olay; tampondaki tüm olayların tekrarı sığar
+    private static final int OUTBOUND_QUEUE_SIZE = REPLAY_SIZE;
+    private static final int TEAM_CACHE_SIZE = 4096;
+    // Tampon yetmediğinde (ya da sunucu yeniden başladığında) istemci listeleri yeniden yüklemeli
+    private static final String RESYNC_EVENT = "RESYNC";
+
+    private static final String TASK_SCOPE_SQL =
+            "SELECT t.project_id, p.team_id FROM tasks t JOIN projects p ON p.id = t.project_id WHERE t.id = ?";
+    private static final String PROJECT_TEAM_SQL = "SELECT team_id FROM projects WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    // Aşağıdakiler sadece change-feed thread'inden kullanılır
+    private final Deque<ChangeEvent> replay = new ArrayDeque<>();
+    private final Map<Long, Optional<Long>> teamByProject = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Optional<Long>> eldest) {
+            return size() > TEAM_CACHE_SIZE;
+        }
+    };
+    // Süreç başlangıç zamanından başlar: önceki süreçten kalan Last-Event-ID tampondan eski görünür (RESYNC)
+    private long sequence = System.currentTimeMillis() * 1000;
+
+    private ScheduledExecutorService dispatcher;
+    // Abonelere yazan thread'ler: soketi dolu bir istemcide bloklanan yalnızca kendi virtual thread'idir
+    private ExecutorService senders;
+    private Counter overflows;
+
+    @PostConstruct
+    void start() {
+        dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "change-feed");
+            thread.setDaemon(true);
+            return thread;
+        });
+        senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("change-feed-send-", 0).factory());
+        dispatcher.scheduleAtFixedRate(this::heartbeat, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+        Gauge.builder("changes.subscribers", subscriptions, List::size)
+                .description("Açık değişiklik akışı (SSE) bağlantıları")
+                .register(meterRegistry);
+        overflows = Counter.builder("changes.subscribers.overflow")
+                .description("Gönderim kuyruğu dolduğu için RESYNC alan abonelikler")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+        subscriptions.forEach(subscription -> subscription.emitter.complete());
+        subscriptions.clear();
+    }
+
+    // Yeni abonelik; lastEventId verilirse sonrasındaki olaylar önce tampondan gönderilir
+    public SseEmitter subscribe(Set<Long> projectIds, Set<Long> teamIds, Long lastEventId) {
+        return subscribe(new SseEmitter(EMITTER_TIMEOUT_MS), projectIds, teamIds, lastEventId);
+    }
+
+    // Emitter dışarıdan da verilebilir (testler)
+    SseEmitter subscribe(SseEmitter emitter, Set<Long> projectIds, Set<Long> teamIds, Long lastEventId) {
+        Subscription subscription = new Subscription(emitter, projectIds, teamIds);
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(e -> subscription.close());
+
+        dispatcher.execute(() -> {
+            if (lastEventId != null) {
+                replayAfter(subscription, lastEventId);
+            }
+            subscriptions.add(subscription);
+            // Bu arada kapandıysa (close listeden çıkarmadan önce eklenmemişti)
+            if (subscription.isClosed()) {
+                subscriptions.remove(subscription);
+            }
+        });
+        return emitter;
+    }
+
+    // Servislerin yayınladığı olaylar: commit sonrası, transaction yoksa hemen
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(ChangeEvent event) {
+        dispatcher.execute(() -> dispatch(event));
+    }
+
+    private void dispatch(ChangeEvent event) {
+        resolveScope(event);
+        event.setSequence(++sequence);
+        replay.addLast(event);
+        if (replay.size() > REPLAY_SIZE) {
+            replay.removeFirst();
+        }
+        for (Subscription subscription : subscriptions) {
+            if (subscription.matches(event)) {
+                subscription.enqueue(message(event));
+            }
+        }
+    }
+
+    private void replayAfter(Subscription subscription, long lastEventId) {
+        ChangeEvent oldest = replay.peekFirst();
+        long oldestSequence = oldest != null ? oldest.getSequence() : sequence + 1;
+        if (lastEventId < oldestSequence - 1 || lastEventId > sequence) {
+            subscription.enqueue(resync());
+            return;
+        }
+        for (ChangeEvent event : replay) {
+            if (event.getSequence() > lastEventId && subscription.matches(event)) {
+                subscription.enqueue(message(event));
+            }
+        }
+    }
+
+    // Filtre için proje ve takım id'lerini tamamlar (olay yalnızca görev id'si taşıyabilir)
+    private void resolveScope(ChangeEvent event) {
+        try {
+            if (ChangeEvent.PROJECT.equals(event.getEntity())) {
+                // Proje olayları takımı her zaman taşır (takımsız proje dahil)
+                teamByProject.put(event.getId(), Optional.ofNullable(event.getTeamId()));
+                return;
+            }
+            if (event.getProjectId() == null && event.getTaskId() != null) {
+                jdbcTemplate.query(TASK_SCOPE_SQL, rs -> {
+                    event.setProjectId(rs.getLong(1));
+                    Long teamId = rs.getObject(2, Long.class);
+                    teamByProject.put(event.getProjectId(), Optional.ofNullable(teamId));
+                }, event.getTaskId());
+            }
+            if (event.getTeamId() == null && event.getProjectId() != null) {
+                Optional<Long> teamId = teamByProject.get(event.getProjectId());
+                if (teamId == null) {
+                    List<Long> rows = jdbcTemplate.queryForList(PROJECT_TEAM_SQL, Long.class, event.getProjectId());
+                    teamId = rows.isEmpty() ? Optional.empty() : Optional.ofNullable(rows.get(0));
+                    teamByProject.put(event.getProjectId(), teamId);
+                }
+                event.setTeamId(teamId.orElse(null));
+            }
+        } catch (DataAccessException e) {
+            // Filtresiz aboneler olayı yine alır
+            log.warn("Değişiklik olayının projesi bulunamadı: {} {}", event.getEventName(), event.getId(), e);
+        }
+    }
+
+    private void heartbeat() {
+        for (Subscription subscription : subscriptions) {
+            subscription.ping();
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder message(ChangeEvent event) {
+        return SseEmitter.event()
+                .id(String.valueOf(event.getSequence()))
+                .name(event.getEventName())
+                .data(event, MediaType.APPLICATION_JSON);
+    }
+
+    // Sadece change-feed thread'inden (sequence okunur)
+    private SseEmitter.SseEventBuilder resync() {
+        return SseEmitter.event()
+                .id(String.valueOf(sequence))
+                .name(RESYNC_EVENT)
+                .data("{}", MediaType.APPLICATION_JSON);
+    }
+
+    // Kuyruğa sadece change-feed thread'i ekler; kuyruk aynı anda en fazla bir gönderim görevinde boşaltılır
+    private final class Subscription {
+
+        private final SseEmitter emitter;
+        private final Set<Long> projectIds;
+        private final Set<Long> teamIds;
+
+        // Aşağıdakiler bu nesnenin kilidiyle korunur
+        private final Deque<SseEmitter.SseEventBuilder> outbound = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+
+        Subscription(SseEmitter emitter, Set<Long> projectIds, Set<Long> teamIds) {
+            this.emitter = emitter;
+            this.projectIds = projectIds;
+            this.teamIds = teamIds;
+        }
+
+        boolean matches(ChangeEvent event) {
+            if (projectIds.isEmpty() && teamIds.isEmpty()) {
+                return true;
+            }
+            return contains(projectIds, event.getProjectId()) || contains(teamIds, event.getTeamId());
+        }
+
+        private static boolean contains(Collection<Long> ids, Long id) {
+            return id != null && ids.contains(id);
+        }
+
+        void enqueue(SseEmitter.SseEventBuilder message) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (outbound.size() >= OUTBOUND_QUEUE_SIZE) {
+                    // İstemci yetişemiyor: kaçırdığı olaylar yerine tek RESYNC
+                    outbound.clear();
+                    outbound.addLast(resync());
+                    overflows.increment();
+                } else {
+                    outbound.addLast(message);
+                }
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            senders.execute(this::drain);
+        }
+
+        // Gönderim sürüyorsa bağlantı zaten canlı; ping gerekmez
+        void ping() {
+            synchronized (this) {
+                if (draining) {
+                    return;
+                }
+            }
+            enqueue(SseEmitter.event().comment("ping"));
+        }
+
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder message;
+                synchronized (this) {
+                    message = closed ? null : outbound.pollFirst();
+                    if (message == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(message);
+                } catch (IOException | IllegalStateException e) {
+                    // İstemci koptu
+                    close();
+                    return;
+                }
+            }
+        }
+
+        void close() {
+            synchronized (this) {
+                closed = true;
+                outbound.clear();
+            }
+            subscriptions.remove(this);
+        }
+
+        synchronized boolean isClosed() {
+            return closed;
+        }
+    }
+}
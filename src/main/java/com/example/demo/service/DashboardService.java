@@ -0,0 +1,185 @@
+package com.example.demo.service;
+
+import com.example.demo.enums.SubTaskStatus;
+import com.example.demo.enums.TaskPriority;
+import com.example.demo.repository.TeamMemberRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Dashboard özet sayıları: tüm listeleri istemciye göndermek yerine
+// veritabanında gruplanmış COUNT ... FILTER sorgularıyla hesaplanır (birkaç yüz byte).
+// employeeId verilirse: çalışanın ya da üyesi olduğu takımların projeleri,
+// atandığı görevler (task_assignments) ve atandığı alt görevler sayılır.
+@Service
+public class DashboardService {
+
+    // Görev tamamlandı = en az bir alt görevi var ve hepsi DONE.
+    // Alt görevler görev başına doğrudan sayılır (idx_subtasks_task_status, index-only); task_progress
+    // sayaçları Flyway öncesi veritabanlarında proje ilk değişene kadar boş olduğu için kullanılmaz
+    private static final String SUBTASK_COUNTS =
+            "LEFT JOIN LATERAL (SELECT COUNT(*) AS total, COUNT(*) FILTER (WHERE st.status = 'DONE') AS done " +
+            "FROM subtasks st WHERE st.task_id = t.id) sc ON true";
+    private static final String TASK_DONE = "(sc.total > 0 AND sc.done = sc.total)";
+    private static final String PROJECT_OPEN = "p.status <> 'DONE'";
+
+    private static final String PROJECT_STATS_SQL =
+            "SELECT p.status, p.priority, COUNT(*) AS total, " +
+            "COUNT(*) FILTER (WHERE " + PROJECT_OPEN + " AND p.end_date < :now) AS overdue, " +
+            "COUNT(*) FILTER (WHERE " + PROJECT_OPEN + " AND p.end_date >= :now AND p.end_date < :dueBefore) AS due_soon " +
+            "FROM projects p %s GROUP BY p.status, p.priority";
+
+    private static final String TASK_STATS_SQL =
+            "SELECT t.priority, COUNT(*) AS total, " +
+            "COUNT(*) FILTER (WHERE " + TASK_DONE + ") AS completed, " +
+            "COUNT(*) FILTER (WHERE NOT " + TASK_DONE + " AND t.end_date < :now) AS overdue, " +
+            "COUNT(*) FILTER (WHERE NOT " + TASK_DONE + " AND t.end_date >= :now AND t.end_date < :dueBefore) AS due_soon " +
+            "FROM tasks t " + SUBTASK_COUNTS + " %s GROUP BY t.priority";
+
+    private static final String SUBTASK_STATS_SQL =
+            "SELECT s.status, COUNT(*) AS total, " +
+            "COUNT(*) FILTER (WHERE s.status <> 'DONE' AND s.end_date < :now) AS overdue " +
+            "FROM subtasks s %s GROUP BY s.status";
+
+    private static final String UPCOMING_TASKS_SQL =
+            "SELECT t.id, t.title, t.end_date, t.project_id, p.name AS project_name " +
+            "FROM tasks t JOIN projects p ON p.id = t.project_id " + SUBTASK_COUNTS + " " +
+            "WHERE NOT " + TASK_DONE + " AND t.end_date >= :now AND t.end_date < :dueBefore %s " +
+            "ORDER BY t.end_date, t.id LIMIT :limit";
+
+    private static final String TASK_ASSIGNED =
+            "EXISTS (SELECT 1 FROM task_assignments ta WHERE ta.task_id = t.id AND ta.employee_id = :employeeId)";
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TeamMemberRepository teamMemberRepo;
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> getStats(Long employeeId, int dueWithinDays, int upcomingLimit) {
+        LocalDateTime now = LocalDateTime.now();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("now", now)
+                .addValue("dueBefore", now.plusDays(dueWithinDays))
+                .addValue("limit", upcomingLimit)
+                .addValue("employeeId", employeeId);
+
+        String projectScope = "";
+        String taskScope = "";
+        String subTaskScope = "";
+        long teamCount;
+        if (employeeId != null) {
+            List<Long> teamIds = teamMemberRepo.findTeamIdsByEmployeeId(employeeId);
+            params.addValue("teamIds", teamIds);
+            projectScope = teamIds.isEmpty()
+                    ? "WHERE p.employee_id = :employeeId"
+                    : "WHERE (p.employee_id = :employeeId OR p.team_id IN (:teamIds))";
+            taskScope = "WHERE " + TASK_ASSIGNED;
+            subTaskScope = "WHERE s.assigned_to = :employeeId";
+            teamCount = teamIds.size();
+        } else {
+            teamCount = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM teams", params, Long.class);
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("projects", projectStats(String.format(PROJECT_STATS_SQL, projectScope), params));
+        stats.put("tasks", taskStats(String.format(TASK_STATS_SQL, taskScope), params));
+        stats.put("subtasks", subTaskStats(String.format(SUBTASK_STATS_SQL, subTaskScope), params));
+        stats.put("teams", teamCount);
+        stats.put("dueWithinDays", dueWithinDays);
+        stats.put("upcomingTasks", jdbcTemplate.query(
+                String.format(UPCOMING_TASKS_SQL, employeeId != null ? "AND " + TASK_ASSIGNED : ""), params,
+                (rs, rowNum) -> {
+                    Map<String, Object> task = new LinkedHashMap<>();
+                    task.put("id", rs.getLong("id"));
+                    task.put("title", rs.getString("title"));
+                    task.put("endDate", rs.getTimestamp("end_date").toLocalDateTime());
+                    task.put("projectId", rs.getLong("project_id"));
+                    task.put("projectName", rs.getString("project_name"));
+                    return task;
+                }));
+        return stats;
+    }
+
+    private Map<String, Object> projectStats(String sql, MapSqlParameterSource params) {
+        Map<String, Long> byStatus = zeroCounts(SubTaskStatus.values());
+        Map<String, Long> byPriority = zeroCounts(TaskPriority.values());
+        long[] totals = new long[3];
+        jdbcTemplate.query(sql, params, rs -> {
+            long count = rs.getLong("total");
+            byStatus.merge(rs.getString("status"), count, Long::sum);
+            byPriority.merge(rs.getString("priority"), count, Long::sum);
+            totals[0] += count;
+            totals[1] += rs.getLong("overdue");
+            totals[2] += rs.getLong("due_soon");
+        });
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("total", totals[0]);
+        result.put("active", byStatus.get(SubTaskStatus.TODO.name()) + byStatus.get(SubTaskStatus.IN_PROGRESS.name()));
+        result.put("completed", byStatus.get(SubTaskStatus.DONE.name()));
+        result.put("overdue", totals[1]);
+        result.put("dueSoon", totals[2]);
+        result.put("byStatus", byStatus);
+        result.put("byPriority", byPriority);
+        return result;
+    }
+
+    private Map<String, Object> taskStats(String sql, MapSqlParameterSource params) {
+        Map<String, Long> byPriority = zeroCounts(TaskPriority.values());
+        long[] totals = new long[4];
+        jdbcTemplate.query(sql, params, rs -> {
+            long count = rs.getLong("total");
+            // Önceliği boş görevler sadece toplamlara girer
+            if (rs.getString("priority") != null) {
+                byPriority.merge(rs.getString("priority"), count, Long::sum);
+            }
+            totals[0] += count;
+            totals[1] += rs.getLong("completed");
+            totals[2] += rs.getLong("overdue");
+            totals[3] += rs.getLong("due_soon");
+        });
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("total", totals[0]);
+        result.put("completed", totals[1]);
+        result.put("overdue", totals[2]);
+        result.put("dueSoon", totals[3]);
+        result.put("completionRate", totals[0] > 0 ? Math.round(totals[1] * 100.0 / totals[0]) : 0);
+        result.put("byPriority", byPriority);
+        return result;
+    }
+
+    private Map<String, Object> subTaskStats(String sql, MapSqlParameterSource params) {
+        Map<String, Long> byStatus = zeroCounts(SubTaskStatus.values());
+        long[] totals = new long[2];
+        jdbcTemplate.query(sql, params, rs -> {
+            long count = rs.getLong("total");
+            byStatus.merge(rs.getString("status"), count, Long::sum);
+            totals[0] += count;
+            totals[1] += rs.getLong("overdue");
+        });
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("total", totals[0]);
+        result.put("overdue", totals[1]);
+        result.put("byStatus", byStatus);
+        return result;
+    }
+
+    private static Map<String, Long> zeroCounts(Enum<?>[] values) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Enum<?> value : values) {
+            counts.put(value.name(), 0L);
+        }
+        return counts;
+    }
+}
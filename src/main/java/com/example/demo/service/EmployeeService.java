@@ -1,8 +1,13 @@
 package com.example.demo.service;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
+
+import com.example.demo.dto.TypeaheadItem;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.example.demo.model.Employee;
 import com.example.demo.model.Role;
 import com.example.demo.repository.EmployeeRepository;
@@ -17,6 +22,10 @@ public class EmployeeService {
     @Autowired
 
     private RoleRepository roleRepository;
+
+    @Autowired
+    private TypeaheadIndex typeaheadIndex;
+
     //Tüm çalışanları getirme
     public List<Employee> getAllEmployees() {
 
@@ -34,13 +43,16 @@ public class EmployeeService {
     // Çalışan kayıt
     public Employee saveEmployee(Employee employee) {
 
-        return employeeRepository.save(employee);
+        Employee saved = employeeRepository.save(employee);
+        typeaheadIndex.invalidate();
+        return saved;
 
     }
     // Silme
     public void deleteEmployee(Long id) {
 
         employeeRepository.deleteById(id);
+        typeaheadIndex.invalidate();
 
     }
     //Rol getirme
@@ -67,9 +79,24 @@ public class EmployeeService {
         return employeeRepository.save(employee);
 
     }
+    // Çalışan seçici: ad, soyad veya e-postaya göre en iyi eşleşen ilk limit çalışan (id, ad soyad)
+    public List<TypeaheadItem> typeahead(String q, int limit) {
+        String query = TypeaheadIndex.normalize(q);
+        return query.isEmpty() ? List.of() : typeaheadIndex.findEmployees(query, limit);
+    }
     // Mail ile çalışan bulma
     public Employee findByEmail(String email) {
         return employeeRepository.findByEmail(email);
     }
+    // Çıkış: çalışana şimdiye kadar verilmiş refresh token'lar tüm instance'larda geçersiz olur
+    @Transactional
+    public void revokeIssuedTokens(Long employeeId) {
+        employeeRepository.updateTokensValidAfter(employeeId, LocalDateTime.now(ZoneOffset.UTC));
+    }
+    // Token (iat, epoch saniye) son çıkıştan sonra verildi mi? Çıkışla aynı saniyede verilenler de reddedilir
+    public boolean isIssuedAfterLogout(Long employeeId, long issuedAt) {
+        LocalDateTime validAfter = employeeRepository.findTokensValidAfter(employeeId);
+        return validAfter == null || issuedAt > validAfter.toEpochSecond(ZoneOffset.UTC);
+    }
 
 }
\ No newline at end of file
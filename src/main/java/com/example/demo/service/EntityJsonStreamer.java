@@ -0,0 +1,91 @@
+package com.example.demo.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Büyük listeleri List<T> oluşturmadan JSON dizisi olarak yazar (?stream=true):
+// - repository Stream<T> metodu read-only transaction içinde, JDBC fetch size ile (sunucu tarafı cursor) okunur
+// - satırlar CHUNK_SIZE'lık parçalar halinde toplanır, parçanın lazy ilişkileri toplu yüklenir (prepareChunk),
+//   JsonGenerator ile yazılır, ardından persistence context temizlenir -> bellek O(parça), O(satır) değil
+// Bağlantı yazma bitene kadar tutulur; yavaş istemci havuzdan bir bağlantıyı o süre boyunca kullanır.
+@Component
+public class EntityJsonStreamer {
+
+    // Repository'lerdeki HINT_FETCH_SIZE değeri (annotation sabiti olmalı)
+    public static final String FETCH_SIZE = "500";
+    private static final int CHUNK_SIZE = Integer.parseInt(FETCH_SIZE);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    public <T> void writeJsonArray(OutputStream out, Supplier<Stream<T>> source) throws IOException {
+        writeJsonArray(out, source, chunk -> { });
+    }
+
+    public <T> void writeJsonArray(OutputStream out, Supplier<Stream<T>> source, Consumer<List<T>> prepareChunk)
+            throws IOException {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        try {
+            template.executeWithoutResult(status -> {
+                try (Stream<T> rows = source.get();
+                     JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+                    generator.writeStartArray();
+                    List<T> chunk = new ArrayList<>(CHUNK_SIZE);
+                    rows.forEach(row -> {
+                        chunk.add(row);
+                        if (chunk.size() == CHUNK_SIZE) {
+                            writeChunk(generator, chunk, prepareChunk);
+                        }
+                    });
+                    writeChunk(generator, chunk, prepareChunk);
+                    generator.writeEndArray();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private <T> void writeChunk(JsonGenerator generator, List<T> chunk, Consumer<List<T>> prepareChunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            prepareChunk.accept(chunk);
+            for (T row : chunk) {
+                generator.writeObject(row);
+            }
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        chunk.clear();
+        // Yazılan entity'ler detach edilir; cursor açık kalır, sonraki satırlar yeni instance olarak gelir
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,295 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ExportFilter;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Proje / görev / alt görev dışa aktarma (CSV veya NDJSON):
+// tek düz (join'li) sorgu, read-only transaction içinde JDBC fetch size ile sunucu tarafı cursor'dan okunur
+// ve her satır okunduğu anda yazılır; entity, liste ya da satır tamponu tutulmaz (bellek satır sayısından bağımsız).
+@Service
+public class ExportService {
+
+    public static final Set<String> ENTITIES = Set.of("projects", "tasks", "subtasks");
+    public static final Set<String> FORMATS = Set.of("csv", "ndjson");
+
+    private static final int FETCH_SIZE = 1000;
+
+    private static final String PERSON = "%1$s.first_name || ' ' || %1$s.last_name";
+
+    // Alt görev sayıları doğrudan subtasks'tan (idx_subtasks_task_status); ilerleme sayaçları
+    // (task_progress / project_progress) Flyway öncesi veritabanlarında proje ilk değişene kadar boş
+    private static final String TASK_SUBTASK_COUNTS =
+            "LEFT JOIN LATERAL (SELECT COUNT(*) AS total, COUNT(*) FILTER (WHERE st.status = 'DONE') AS done " +
+            "FROM subtasks st WHERE st.task_id = t.id) sc ON true";
+    private static final String PROJECT_SUBTASK_COUNTS =
+            "LEFT JOIN LATERAL (SELECT COUNT(*) AS total, COUNT(*) FILTER (WHERE st.status = 'DONE') AS done " +
+            "FROM subtasks st JOIN tasks pt ON pt.id = st.task_id WHERE pt.project_id = p.id) sc ON true";
+
+    // Görev durumu alt görevlerden: hepsi bitti -> DONE, hiçbiri -> TODO, arası -> IN_PROGRESS
+    private static final String TASK_STATUS =
+            "CASE WHEN sc.total > 0 AND sc.done = sc.total THEN 'DONE' " +
+            "WHEN sc.done = 0 THEN 'TODO' ELSE 'IN_PROGRESS' END";
+
+    private static final String PROJECTS_SQL =
+            "SELECT p.id, p.name, p.status, p.priority, p.start_date, p.end_date, p.actual_end_date, p.progress, " +
+            "p.team_id, tm.name AS team_name, " + PERSON.formatted("m") + " AS manager, m.email AS manager_email, " +
+            "(SELECT COUNT(*) FROM tasks t WHERE t.project_id = p.id) AS task_count, " +
+            "sc.total AS subtask_count, sc.done AS subtask_done_count, " +
+            "(SELECT COUNT(*) FROM attachments a JOIN tasks t ON t.id = a.task_id WHERE t.project_id = p.id) AS attachment_count " +
+            "FROM projects p " +
+            "LEFT JOIN teams tm ON tm.id = p.team_id " +
+            "LEFT JOIN employees m ON m.employee_id = p.assigned_manager " +
+            PROJECT_SUBTASK_COUNTS + " " +
+            "WHERE 1 = 1 %s ORDER BY p.id";
+
+    private static final String TASKS_SQL =
+            "SELECT t.id, t.project_id, p.name AS project_name, p.team_id, tm.name AS team_name, t.title, " +
+            TASK_STATUS + " AS status, t.priority, t.start_date, t.end_date, t.updated_at, " +
+            PERSON.formatted("c") + " AS created_by, " +
+            "(SELECT string_agg(" + PERSON.formatted("e") + ", '; ' ORDER BY e.first_name, e.last_name) " +
+            "FROM task_assignments ta JOIN employees e ON e.employee_id = ta.employee_id WHERE ta.task_id = t.id) AS assignees, " +
+            "sc.total AS subtask_count, sc.done AS subtask_done_count, " +
+            "(SELECT COUNT(*) FROM attachments a WHERE a.task_id = t.id) AS attachment_count " +
+            "FROM tasks t " +
+            "JOIN projects p ON p.id = t.project_id " +
+            "LEFT JOIN teams tm ON tm.id = p.team_id " +
+            "LEFT JOIN employees c ON c.employee_id = t.created_by " +
+            TASK_SUBTASK_COUNTS + " " +
+            "WHERE 1 = 1 %s ORDER BY t.id";
+
+    private static final String SUBTASKS_SQL =
+            "SELECT s.id, s.task_id, t.title AS task_title, t.project_id, p.name AS project_name, " +
+            "p.team_id, tm.name AS team_name, s.name, s.status, s.start_date, s.end_date, s.updated_at, " +
+            "s.assigned_to AS assignee_id, " + PERSON.formatted("e") + " AS assignee, e.email AS assignee_email " +
+            "FROM subtasks s " +
+            "JOIN tasks t ON t.id = s.task_id " +
+            "JOIN projects p ON p.id = t.project_id " +
+            "LEFT JOIN teams tm ON tm.id = p.team_id " +
+            "LEFT JOIN employees e ON e.employee_id = s.assigned_to " +
+            "WHERE 1 = 1 %s ORDER BY s.id";
+
+    // Filtrelerin uygulandığı kolonlar: { status, startDate }
+    private static final Map<String, String[]> FILTER_COLUMNS = Map.of(
+            "projects", new String[]{"p.status", "p.start_date"},
+            "tasks", new String[]{TASK_STATUS, "t.start_date"},
+            "subtasks", new String[]{"s.status", "s.start_date"});
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void init() {
+        // PostgreSQL sürücüsü fetch size'ı sadece autocommit kapalıyken (transaction içinde) cursor olarak uygular
+        JdbcTemplate cursorTemplate = new JdbcTemplate(dataSource);
+        cursorTemplate.setFetchSize(FETCH_SIZE);
+        jdbcTemplate = new NamedParameterJdbcTemplate(cursorTemplate);
+    }
+
+    public void export(String entity, String format, ExportFilter filter, OutputStream out) throws IOException {
+        if (!ENTITIES.contains(entity)) {
+            throw new IllegalArgumentException("Geçersiz tür: " + entity);
+        }
+        if (!FORMATS.contains(format)) {
+            throw new IllegalArgumentException("Geçersiz format: " + format);
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = sql(entity).formatted(where(entity, filter, params));
+
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        try (RowWriter writer = "csv".equals(format) ? new CsvRowWriter(out) : new NdjsonRowWriter(out, objectMapper)) {
+            // Başlık satırı sonuç boş olsa da yazılır (kolonlar metadata'dan)
+            long rows = template.execute(status -> jdbcTemplate.query(sql, params, rs -> {
+                long count = 0;
+                try {
+                    writer.header(rs.getMetaData());
+                    while (rs.next()) {
+                        writer.row(rs);
+                        count++;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return count;
+            }));
+            DistributionSummary.builder("export.rows")
+                    .tag("entity", entity)
+                    .tag("format", format)
+                    .register(meterRegistry)
+                    .record(rows);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static String sql(String entity) {
+        return switch (entity) {
+            case "projects" -> PROJECTS_SQL;
+            case "tasks" -> TASKS_SQL;
+            default -> SUBTASKS_SQL;
+        };
+    }
+
+    private static String where(String entity, ExportFilter filter, MapSqlParameterSource params) {
+        String[] columns = FILTER_COLUMNS.get(entity);
+        List<String> conditions = new ArrayList<>();
+        if (filter.getProjectId() != null) {
+            conditions.add("p.id = :projectId");
+            params.addValue("projectId", filter.getProjectId());
+        }
+        if (filter.getTeamId() != null) {
+            conditions.add("p.team_id = :teamId");
+            params.addValue("teamId", filter.getTeamId());
+        }
+        if (filter.getStatus() != null) {
+            conditions.add(columns[0] + " = :status");
+            params.addValue("status", filter.getStatus().name());
+        }
+        if (filter.getFrom() != null) {
+            conditions.add(columns[1] + " >= :from");
+            params.addValue("from", filter.getFrom().atStartOfDay());
+        }
+        if (filter.getTo() != null) {
+            conditions.add(columns[1] + " < :to");
+            params.addValue("to", filter.getTo().plusDays(1).atStartOfDay());
+        }
+        return conditions.isEmpty() ? "" : "AND " + String.join(" AND ", conditions);
+    }
+
+    private static Object value(ResultSet rs, int column) throws SQLException {
+        Object value = rs.getObject(column);
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : value;
+    }
+
+    private interface RowWriter extends AutoCloseable {
+        void header(ResultSetMetaData meta) throws SQLException, IOException;
+
+        void row(ResultSet rs) throws SQLException, IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    // RFC 4180; Excel Türkçe karakterleri doğru açsın diye UTF-8 BOM ile başlar
+    private static class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+        private int columns;
+
+        CsvRowWriter(OutputStream out) throws IOException {
+            writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write('\uFEFF');
+        }
+
+        @Override
+        public void header(ResultSetMetaData meta) throws SQLException, IOException {
+            columns = meta.getColumnCount();
+            for (int i = 1; i <= columns; i++) {
+                field(meta.getColumnLabel(i), i);
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void row(ResultSet rs) throws SQLException, IOException {
+            for (int i = 1; i <= columns; i++) {
+                Object value = value(rs, i);
+                field(value == null ? "" : value.toString(), i);
+            }
+            writer.write("\r\n");
+        }
+
+        private void field(String text, int index) throws IOException {
+            if (index > 1) {
+                writer.write(',');
+            }
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                writer.write(text);
+                return;
+            }
+            writer.write('"');
+            writer.write(text.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+
+    // Satır başına bir JSON nesnesi; kolon adları anahtar, tarihler ISO-8601
+    private static class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+        private String[] names;
+
+        NdjsonRowWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+            generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void header(ResultSetMetaData meta) throws SQLException {
+            names = new String[meta.getColumnCount()];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = meta.getColumnLabel(i + 1);
+            }
+        }
+
+        @Override
+        public void row(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < names.length; i++) {
+                generator.writeObjectField(names[i], value(rs, i + 1));
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.flush();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.TypeaheadItem;
+import com.example.demo.model.Employee;
+import com.example.demo.model.Team;
+import com.example.demo.repository.EmployeeRepository;
+import com.example.demo.repository.TeamRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+
+// pg_trgm olmayan veritabanları (H2 testleri) için typeahead.
+// Çalışan / takım isimleri ilk aramada belleğe alınır, EmployeeService / TeamService
+// yazma işlemlerinde invalidate ile bir sonraki aramada yeniden yüklenir.
+// Eşleşme ve sıralama TrigramTypeaheadIndex ile aynı kurallara yakındır (önek, parça, trigram benzerliği).
+public class InMemoryTypeaheadIndex implements TypeaheadIndex {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Value("${typeahead.similarity-threshold:0.4}")
+    private double similarityThreshold;
+
+    private volatile List<Entry> employees;
+    private volatile List<Entry> teams;
+
+    @Override
+    public List<TypeaheadItem> findEmployees(String q, int limit) {
+        List<Entry> entries = employees;
+        if (entries == null) {
+            entries = employeeRepository.findAll().stream().map(InMemoryTypeaheadIndex::toEntry).toList();
+            employees = entries;
+        }
+        return search(entries, q, limit);
+    }
+
+    @Override
+    public List<TypeaheadItem> findTeams(String q, int limit) {
+        List<Entry> entries = teams;
+        if (entries == null) {
+            entries = teamRepository.findAll().stream().map(InMemoryTypeaheadIndex::toEntry).toList();
+            teams = entries;
+        }
+        return search(entries, q, limit);
+    }
+
+    @Override
+    public void invalidate() {
+        employees = null;
+        teams = null;
+    }
+
+    private List<TypeaheadItem> search(List<Entry> entries, String q, int limit) {
+        Set<String> queryTrigrams = trigrams(q);
+        return entries.stream()
+                .map(entry -> new Match(entry, score(entry.text(), q, queryTrigrams)))
+                .filter(match -> match.score() > 0)
+                .sorted(Comparator.comparingDouble(Match::score).reversed()
+                        .thenComparing(match -> match.entry().name())
+                        .thenComparing(match -> match.entry().id()))
+                .limit(limit)
+                .map(match -> new TypeaheadItem(match.entry().id(), match.entry().name()))
+                .toList();
+    }
+
+    // 2+: metnin başında, 1+: metnin içinde, 0-1: kelime benzerliği eşiği geçti, 0: eşleşme yok
+    private double score(String text, String q, Set<String> queryTrigrams) {
+        double similarity = wordSimilarity(queryTrigrams, text);
+        if (text.startsWith(q)) {
+            return 2 + similarity;
+        }
+        if (text.contains(q)) {
+            return 1 + similarity;
+        }
+        return similarity >= similarityThreshold ? similarity : 0;
+    }
+
+    // pg_trgm word_similarity yaklaşığı: sorgu trigramlarının en çok kaçı tek bir kelimede var
+    private static double wordSimilarity(Set<String> queryTrigrams, String text) {
+        if (queryTrigrams.isEmpty()) {
+            return 0;
+        }
+        double best = 0;
+        for (String word : text.split("[^\\p{L}\\p{N}]+")) {
+            Set<String> common = new HashSet<>(trigrams(word));
+            common.retainAll(queryTrigrams);
+            best = Math.max(best, (double) common.size() / queryTrigrams.size());
+        }
+        return best;
+    }
+
+    // pg_trgm gibi: her kelime başa iki, sona bir boşluk eklenerek üçlülere bölünür
+    private static Set<String> trigrams(String value) {
+        Set<String> result = new HashSet<>();
+        for (String word : value.split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                result.add(padded.substring(i, i + 3));
+            }
+        }
+        return result;
+    }
+
+    private static Entry toEntry(Employee employee) {
+        String name = employee.getFirstName() + " " + employee.getLastName();
+        String text = (name + " " + Objects.toString(employee.getEmail(), "")).toLowerCase(Locale.ROOT);
+        return new Entry(employee.getId(), name, text);
+    }
+
+    private static Entry toEntry(Team team) {
+        return new Entry(team.getId(), team.getName(), team.getName().toLowerCase(Locale.ROOT));
+    }
+
+    private record Entry(Long id, String name, String text) {
+    }
+
+    private record Match(Entry entry, double score) {
+    }
+}
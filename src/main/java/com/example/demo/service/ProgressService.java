@@ -0,0 +1,184 @@
+package com.example.demo.service;
+
+import com.example.demo.enums.SubTaskStatus;
+import com.example.demo.repository.ProjectProgressRepository;
+import com.example.demo.repository.TaskProgressRepository;
+import com.example.demo.repository.TaskRepository;
+import com.example.demo.model.TaskProgress;
+import org.springframework.stereotype.Service;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Proje ilerlemesini (projects.progress) sayaç tabloları üzerinden güncel tutar.
+// SubTaskService / TaskService değişiklikten SONRA, aynı transaction içinde çağırır.
+// Sayaçlar yeniden saymak yerine +/- artırımlarla güncellenir; proje için sayaç
+// henüz yoksa (eski veriler) bir kereliğine mevcut verilerden hesaplanır.
+@Service
+public class ProgressService {
+
+    @Autowired
+    private TaskProgressRepository taskProgressRepo;
+
+    @Autowired
+    private ProjectProgressRepository projectProgressRepo;
+
+    @Autowired
+    private TaskRepository taskRepo;
+
+    // Yeni görev: alt görevi olmadığı için proje toplamına 1 eklenir
+    @Transactional
+    public void taskCreated(Long taskId) {
+        Long projectId = taskRepo.findProjectIdById(taskId);
+        if (projectId == null || rebuildIfMissing(projectId)) {
+            return;
+        }
+        taskProgressRepo.increment(taskId, projectId, 0, 0);
+        projectProgressRepo.increment(projectId, 0, 1);
+        projectProgressRepo.syncProjectProgress(projectId);
+    }
+
+    // Yeni alt görev
+    @Transactional
+    public void subTaskCreated(Long taskId, SubTaskStatus status) {
+        Long projectId = taskRepo.findProjectIdById(taskId);
+        if (projectId == null || rebuildIfMissing(projectId)) {
+            return;
+        }
+        addSubTask(taskId, projectId, status);
+    }
+
+    // Alt görev durumu değişti
+    @Transactional
+    public void subTaskStatusChanged(Long taskId, SubTaskStatus oldStatus, SubTaskStatus newStatus) {
+        doneCountsChanged(Map.of(taskId,
+                (long) (newStatus == SubTaskStatus.DONE ? 1 : 0) - (oldStatus == SubTaskStatus.DONE ? 1 : 0)));
+    }
+
+    // Görevlerin tamamlanan alt görev sayıları değişti (toplu güncellemede görev başına bir fark).
+    // Yeniden hesaplama ya da artırım kararı proje başına bir kez verilir: sayacı olmayan proje baştan
+    // hesaplanınca toplu güncellemenin tamamını zaten görür, o projenin diğer görevlerine artırım yapılmaz
+    @Transactional
+    public void doneCountsChanged(Map<Long, Long> doneDeltaByTask) {
+        List<Long> taskIds = doneDeltaByTask.entrySet().stream()
+                .filter(entry -> entry.getValue() != 0)
+                .map(Map.Entry::getKey)
+                .toList();
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        Map<Long, List<Long>> taskIdsByProject = new HashMap<>();
+        for (Object[] row : taskRepo.findProjectIdsByTaskIds(taskIds)) {
+            taskIdsByProject.computeIfAbsent((Long) row[1], projectId -> new ArrayList<>()).add((Long) row[0]);
+        }
+        taskIdsByProject.forEach((projectId, projectTaskIds) -> {
+            if (rebuildIfMissing(projectId)) {
+                return;
+            }
+            long projectDelta = 0;
+            for (Long taskId : projectTaskIds) {
+                long doneDelta = doneDeltaByTask.get(taskId);
+                taskProgressRepo.increment(taskId, projectId, doneDelta, 0);
+                projectDelta += doneDelta;
+            }
+            projectProgressRepo.increment(projectId, projectDelta, 0);
+            projectProgressRepo.syncProjectProgress(projectId);
+        });
+    }
+
+    // Alt görev silindi
+    @Transactional
+    public void subTaskDeleted(Long taskId, SubTaskStatus status) {
+        Long projectId = taskRepo.findProjectIdById(taskId);
+        if (projectId == null || rebuildIfMissing(projectId)) {
+            return;
+        }
+        removeSubTask(taskId, projectId, status);
+    }
+
+    // Alt görev başka göreve taşındı: eski görevden silinmiş, yeni göreve eklenmiş gibi sayılır
+    // (görevler farklı projelerde olabilir). Değişiklik önceden flush edilmiş olmalı.
+    @Transactional
+    public void subTaskMoved(Long oldTaskId, Long newTaskId, SubTaskStatus oldStatus, SubTaskStatus newStatus) {
+        Long oldProjectId = oldTaskId != null ? taskRepo.findProjectIdById(oldTaskId) : null;
+        Long newProjectId = newTaskId != null ? taskRepo.findProjectIdById(newTaskId) : null;
+        // Sayacı olmayan proje mevcut verilerden hesaplanır (taşıma dahil); aynı projeye ikinci kez artırım yapılmaz
+        boolean oldRebuilt = oldProjectId != null && rebuildIfMissing(oldProjectId);
+        boolean newRebuilt = newProjectId != null
+                && (newProjectId.equals(oldProjectId) ? oldRebuilt : rebuildIfMissing(newProjectId));
+        if (oldProjectId != null && !oldRebuilt) {
+            removeSubTask(oldTaskId, oldProjectId, oldStatus);
+        }
+        if (newProjectId != null && !newRebuilt) {
+            addSubTask(newTaskId, newProjectId, newStatus);
+        }
+    }
+
+    // Görev (ve alt görevleri) silindi - projeId silmeden önce alınmalı
+    @Transactional
+    public void taskDeleted(Long taskId, Long projectId) {
+        if (projectId == null || rebuildIfMissing(projectId)) {
+            return;
+        }
+        Optional<TaskProgress> taskProgress = taskProgressRepo.findById(taskId);
+        if (taskProgress.isPresent()) {
+            TaskProgress counters = taskProgress.get();
+            projectProgressRepo.increment(projectId, -counters.getDoneCount(),
+                    -Math.max(counters.getTotalCount(), 1));
+            taskProgressRepo.delete(counters);
+        }
+        projectProgressRepo.syncProjectProgress(projectId);
+    }
+
+    // Proje silindi - sayaçları temizle
+    @Transactional
+    public void projectDeleted(Long projectId) {
+        taskProgressRepo.deleteByProjectId(projectId);
+        projectProgressRepo.deleteById(projectId);
+    }
+
+    // Sayaçları mevcut verilerden baştan hesapla
+    @Transactional
+    public void rebuild(Long projectId) {
+        taskProgressRepo.rebuildForProject(projectId);
+        projectProgressRepo.rebuild(projectId);
+        projectProgressRepo.syncProjectProgress(projectId);
+    }
+
+    // Proje sayacı yoksa baştan hesaplar; hesapladıysa true döner (artırım gerekmez)
+    private boolean rebuildIfMissing(Long projectId) {
+        if (projectProgressRepo.existsById(projectId)) {
+            return false;
+        }
+        // Yeniden hesaplama native SQL ile tabloları okur; henüz yazılmamış alt görev insert'i
+        // (sequence ID'de save flush etmez) sayılmaz ve artırım da atlandığı için sayaç eksik kalırdı
+        taskProgressRepo.flush();
+        rebuild(projectId);
+        return true;
+    }
+
+    private void addSubTask(Long taskId, Long projectId, SubTaskStatus status) {
+        long doneDelta = status == SubTaskStatus.DONE ? 1 : 0;
+        taskProgressRepo.increment(taskId, projectId, doneDelta, 1);
+
+        // İlk alt görev, görevin kendisinin yerini alır - proje toplamı değişmez
+        long taskTotal = taskProgressRepo.findTotalCount(taskId);
+        projectProgressRepo.increment(projectId, doneDelta, taskTotal == 1 ? 0 : 1);
+        projectProgressRepo.syncProjectProgress(projectId);
+    }
+
+    private void removeSubTask(Long taskId, Long projectId, SubTaskStatus status) {
+        long doneDelta = status == SubTaskStatus.DONE ? -1 : 0;
+        taskProgressRepo.increment(taskId, projectId, doneDelta, -1);
+
+        // Son alt görev silinince görev tekrar tek kalem olarak sayılır
+        long taskTotal = taskProgressRepo.findTotalCount(taskId);
+        projectProgressRepo.increment(projectId, doneDelta, taskTotal == 0 ? 0 : -1);
+        projectProgressRepo.syncProjectProgress(projectId);
+    }
+}
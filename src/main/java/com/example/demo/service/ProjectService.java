@@ -1,22 +1,44 @@
 package com.example.demo.service;
 
 import com.example.demo.model.Project;
+import com.example.demo.config.IdSequenceInitializer;
+import com.example.demo.dto.ChangeEvent;
+import com.example.demo.dto.ProjectSummary;
 import com.example.demo.model.Employee;
+import com.example.demo.model.IdGeneration;
 import com.example.demo.model.Team;
 import com.example.demo.enums.SubTaskStatus;
 import com.example.demo.enums.TaskPriority;
 import com.example.demo.repository.ProjectRepository;
 import com.example.demo.repository.EmployeeRepository;
 import com.example.demo.repository.TeamRepository;
+import com.example.demo.repository.SubTaskRepository;
 import com.example.demo.model.Task;
+import com.example.demo.dto.CursorPage;
+import com.example.demo.util.KeysetCursor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+@Slf4j
 @Service
 public class ProjectService {
 
@@ -29,47 +51,139 @@ public class ProjectService {
     @Autowired
     private TeamRepository teamRepo;
 
-    // Tüm projeler - ilişkiler önceden yükleniyor
+    @Autowired
+    private SubTaskRepository subTaskRepo;
+
+    @Autowired
+    private ProgressService progressService;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private IdSequenceInitializer idSequences;
+
+    // ==== Proje klonlama SQL'leri ====
+    // Yeni ID'ler entity'lerin kullandığı pooled sequence'lardan alınır: her nextval
+    // (hi - ALLOCATION_SIZE, hi] aralığını ayırır, satırlar bu bloklara sırayla dağıtılır (sequence'ın ilk
+    // değeri önceden harcanır: IdSequenceInitializer.skipInitialValue).
+    // Tarihler :shift saniye kaydırılır; :reset ise durumlar TODO'ya döner, bitiş kayıtları silinir.
+
+    private static final String CLONE_PROJECT_SQL =
+            "INSERT INTO projects (id, name, description, status, priority, start_date, end_date, actual_end_date, " +
+            "created_by, assigned_manager, employee_id, team_id, progress, created_at, updated_at) " +
+            "SELECT :newId, :name, p.description, " +
+            "CASE WHEN :reset THEN 'TODO' ELSE p.status END, p.priority, " +
+            "p.start_date + make_interval(secs => :shift), p.end_date + make_interval(secs => :shift), " +
+            "CASE WHEN :reset THEN NULL ELSE p.actual_end_date + make_interval(secs => :shift) END, " +
+            "p.created_by, p.assigned_manager, p.employee_id, p.team_id, 0, :now, :now " +
+            "FROM projects p WHERE p.id = :sourceId";
+
+    private static final String CREATE_TASK_MAP_SQL =
+            "CREATE TEMP TABLE clone_task_map (old_id BIGINT PRIMARY KEY, new_id BIGINT NOT NULL) ON COMMIT DROP";
+
+    private static final String FILL_TASK_MAP_SQL =
+            "WITH src AS MATERIALIZED (" +
+            "  SELECT id, ROW_NUMBER() OVER (ORDER BY id) - 1 AS rn FROM tasks WHERE project_id = :sourceId), " +
+            "blocks AS MATERIALIZED (" +
+            "  SELECT b, nextval('tasks_seq') AS hi " +
+            "  FROM generate_series(0, (SELECT (COUNT(*) - 1) / :alloc FROM src)) b) " +
+            "INSERT INTO clone_task_map (old_id, new_id) " +
+            "SELECT src.id, blocks.hi - :alloc + 1 + src.rn % :alloc " +
+            "FROM src JOIN blocks ON blocks.b = src.rn / :alloc";
+
+    private static final String CLONE_TASKS_SQL =
+            "INSERT INTO tasks (id, title, description, priority, project_id, created_by, start_date, end_date, updated_at) " +
+            "SELECT m.new_id, t.title, t.description, t.priority, :newId, t.created_by, " +
+            "t.start_date + make_interval(secs => :shift), t.end_date + make_interval(secs => :shift), :now " +
+            "FROM tasks t JOIN clone_task_map m ON m.old_id = t.id";
+
+    private static final String CLONE_TASK_ASSIGNMENTS_SQL =
+            "INSERT INTO task_assignments (task_id, employee_id) " +
+            "SELECT m.new_id, a.employee_id FROM task_assignments a JOIN clone_task_map m ON m.old_id = a.task_id";
+
+    private static final String CLONE_SUBTASKS_SQL =
+            "WITH src AS MATERIALIZED (" +
+            "  SELECT s.*, m.new_id AS new_task_id, ROW_NUMBER() OVER (ORDER BY s.id) - 1 AS rn " +
+            "  FROM subtasks s JOIN clone_task_map m ON m.old_id = s.task_id), " +
+            "blocks AS MATERIALIZED (" +
+            "  SELECT b, nextval('subtasks_seq') AS hi " +
+            "  FROM generate_series(0, (SELECT (COUNT(*) - 1) / :alloc FROM src)) b) " +
+            "INSERT INTO subtasks (id, name, description, assigned_to, start_date, end_date, updated_at, status, task_id) " +
+            "SELECT blocks.hi - :alloc + 1 + src.rn % :alloc, src.name, src.description, src.assigned_to, " +
+            "src.start_date + make_interval(secs => :shift), " +
+            "CASE WHEN :reset THEN NULL ELSE src.end_date + make_interval(secs => :shift) END, " +
+            ":now, CASE WHEN :reset THEN 'TODO' ELSE src.status END, src.new_task_id " +
+            "FROM src JOIN blocks ON blocks.b = src.rn / :alloc";
+
+    // Proje listesi (özet görünüm) - tek sorgu + takım üyeleri için tek sorgu
     @Transactional(readOnly = true)
-    public List<Project> getAllProjects() {
-        List<Project> projects = projectRepo.findAll();
-        projects.forEach(project -> {
-            if (project.getEmployee() != null) {
-                project.getEmployee().getFirstName();
-            }
-            if (project.getTeam() != null) {
-                project.getTeam().getName();
-            }
-            if (project.getAssignedManager() != null) {
-                project.getAssignedManager().getFirstName();
+    public List<ProjectSummary> getProjectSummaries() {
+        return withTeamMembers(projectRepo.findAllSummaries());
+    }
+
+    // Keyset sayfalı özet liste (after: önceki sayfanın nextCursor'u)
+    @Transactional(readOnly = true)
+    public CursorPage<ProjectSummary> getProjectSummariesPage(String after, Integer limit, String sort) {
+        KeysetCursor cursor = KeysetCursor.decode(after, sort);
+        Pageable page = PageRequest.of(0, KeysetCursor.clampLimit(limit));
+        Slice<ProjectSummary> slice = switch (cursor.getSort()) {
+            case KeysetCursor.SORT_ID_DESC -> projectRepo.findSummariesBefore(cursor.idBefore(), page);
+            case KeysetCursor.SORT_RECENT -> projectRepo.findRecentSummariesBefore(cursor.timeBefore(), cursor.idBefore(), page);
+            default -> projectRepo.findSummariesAfter(cursor.idAfter(), page);
+        };
+        withTeamMembers(slice.getContent());
+        return CursorPage.of(slice, cursor.getSort(), ProjectSummary::getUpdatedAt, ProjectSummary::getId);
+    }
+
+    // Takım üyeleri (ad, soyad) tüm özetler için tek sorguda
+    private List<ProjectSummary> withTeamMembers(List<ProjectSummary> summaries) {
+        Map<Long, List<ProjectSummary.EmployeeRef>> membersByTeam = new HashMap<>();
+        List<Long> teamIds = summaries.stream()
+                .filter(summary -> summary.getTeam() != null)
+                .map(summary -> summary.getTeam().getId())
+                .distinct()
+                .toList();
+        if (!teamIds.isEmpty()) {
+            for (Object[] row : projectRepo.findTeamMemberNames(teamIds)) {
+                membersByTeam.computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                        .add(new ProjectSummary.EmployeeRef((Long) row[1], (String) row[2], (String) row[3], null));
             }
-            if (project.getCreatedBy() != null) {
-                project.getCreatedBy().getFirstName();
+        }
+        summaries.forEach(summary -> {
+            if (summary.getTeam() != null) {
+                summary.getTeam().setMembers(membersByTeam.getOrDefault(summary.getTeam().getId(), new ArrayList<>()));
             }
         });
-        return projects;
+        return summaries;
+    }
+
+    // Tüm projeler (tam detay) - ilişkiler fetch join ile tek sorguda
+    @Transactional(readOnly = true)
+    public List<Project> getAllProjects() {
+        return projectRepo.findAllWithRelations();
+    }
+
+    // Keyset sayfalı tam liste (full=true) - ilişkiler entity graph ile sayfa sorgusunda
+    @Transactional(readOnly = true)
+    public CursorPage<Project> getProjectsPage(String after, Integer limit, String sort) {
+        KeysetCursor cursor = KeysetCursor.decode(after, sort);
+        Pageable page = PageRequest.of(0, KeysetCursor.clampLimit(limit));
+        Slice<Project> slice = switch (cursor.getSort()) {
+            case KeysetCursor.SORT_ID_DESC -> projectRepo.findByIdLessThanOrderByIdDesc(cursor.idBefore(), page);
+            case KeysetCursor.SORT_RECENT -> projectRepo.findRecentBefore(cursor.timeBefore(), cursor.idBefore(), page);
+            default -> projectRepo.findByIdGreaterThanOrderByIdAsc(cursor.idAfter(), page);
+        };
+        return CursorPage.of(slice, cursor.getSort(), Project::getUpdatedAt, Project::getId);
     }
 
-    // ID ile proje - ilişkiler yükleniyor
+    // ID ile proje - ilişkiler fetch join ile yükleniyor
     @Transactional(readOnly = true)
     public Optional<Project> getProject(Long id) {
-        Optional<Project> projectOpt = projectRepo.findById(id);
-        if (projectOpt.isPresent()) {
-            Project project = projectOpt.get();
-            if (project.getEmployee() != null) {
-                project.getEmployee().getFirstName();
-            }
-            if (project.getTeam() != null) {
-                project.getTeam().getName();
-            }
-            if (project.getAssignedManager() != null) {
-                project.getAssignedManager().getFirstName();
-            }
-            if (project.getCreatedBy() != null) {
-                project.getCreatedBy().getFirstName();
-            }
-        }
-        return projectOpt;
+        return projectRepo.findWithRelationsById(id);
     }
 
     // Yeni proje ekle
@@ -109,7 +223,7 @@ public class ProjectService {
                 project.setTeam(team);
                 project.setEmployee(null); // Employee'yi null yap
 
-                System.out.println("Team assigned: " + team.getName() + " (ID: " + team.getId() + ")");
+                log.debug("Projeye takım atandı: teamId={}", team.getId());
             }
 
             // Tarihler
@@ -128,8 +242,6 @@ public class ProjectService {
                     .orElse(savedProject);
 
         } catch (Exception e) {
-            System.err.println("Proje kaydedilirken hata: " + e.getMessage());
-            e.printStackTrace();
             throw new RuntimeException("Proje kaydedilemedi: " + e.getMessage(), e);
         }
     }
@@ -189,16 +301,70 @@ public class ProjectService {
         try {
             existingProject.validateAssignment();
         } catch (IllegalStateException e) {
-            System.err.println("Assignment validation failed: " + e.getMessage());
+            log.warn("Proje ataması geçersiz: id={}: {}", existingProject.getId(), e.getMessage());
         }
 
-        return projectRepo.save(existingProject);
+        Project saved = projectRepo.save(existingProject);
+        publishUpdated(saved);
+        return saved;
+    }
+
+    // Değişiklik akışına (ChangeFeedService) commit sonrası gönderilir; takım id'si abonelik filtresi içindir
+    private void publishUpdated(Project project) {
+        ChangeEvent event = ChangeEvent.of(ChangeEvent.PROJECT, ChangeEvent.UPDATED, project.getId(), project.getId(), null,
+                ChangeEvent.fields("name", project.getName(), "status", project.getStatus(),
+                        "priority", project.getPriority(), "startDate", project.getStartDate(),
+                        "endDate", project.getEndDate(),
+                        "employeeId", project.getEmployee() != null ? project.getEmployee().getId() : null,
+                        "managerId", project.getAssignedManager() != null ? project.getAssignedManager().getId() : null));
+        event.setTeamId(project.getTeam() != null ? project.getTeam().getId() : null);
+        eventPublisher.publishEvent(event);
     }
 
     // Proje sil
     @Transactional
     public void deleteProject(Long id) {
         projectRepo.deleteById(id);
+        progressService.projectDeleted(id);
+    }
+
+    // Projeyi görevleri (atananlarıyla) ve alt görevleriyle birlikte kopyala
+    // Tüm kopyalama veritabanında, tek transaction içinde INSERT ... SELECT ile yapılır
+    // startDate verilirse tüm tarihler kaynak projenin başlangıcına göre kaydırılır
+    // resetStatus: durumlar TODO'ya, ilerleme 0'a döner
+    @Transactional
+    public Project cloneProject(Long sourceId, String name, LocalDateTime startDate, boolean resetStatus) {
+        Project source = projectRepo.findById(sourceId)
+                .orElseThrow(() -> new RuntimeException("Kopyalanacak proje bulunamadı: " + sourceId));
+
+        long shiftSeconds = startDate != null && source.getStartDate() != null
+                ? Duration.between(source.getStartDate(), startDate).getSeconds()
+                : 0L;
+        idSequences.skipInitialValue("projects_seq");
+        idSequences.skipInitialValue("tasks_seq");
+        idSequences.skipInitialValue("subtasks_seq");
+        Long newId = jdbcTemplate.queryForObject("SELECT nextval('projects_seq') - :alloc + 1",
+                new MapSqlParameterSource("alloc", IdGeneration.ALLOCATION_SIZE), Long.class);
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("sourceId", sourceId)
+                .addValue("newId", newId)
+                .addValue("name", name != null && !name.isBlank() ? name : source.getName() + " (Kopya)")
+                .addValue("shift", (double) shiftSeconds)
+                .addValue("reset", resetStatus)
+                .addValue("now", LocalDateTime.now())
+                .addValue("alloc", IdGeneration.ALLOCATION_SIZE);
+
+        jdbcTemplate.update(CLONE_PROJECT_SQL, params);
+        jdbcTemplate.update(CREATE_TASK_MAP_SQL, params);
+        jdbcTemplate.update(FILL_TASK_MAP_SQL, params);
+        jdbcTemplate.update(CLONE_TASKS_SQL, params);
+        jdbcTemplate.update(CLONE_TASK_ASSIGNMENTS_SQL, params);
+        jdbcTemplate.update(CLONE_SUBTASKS_SQL, params);
+
+        progressService.rebuild(newId);
+        return projectRepo.findWithRelationsById(newId)
+                .orElseThrow(() -> new RuntimeException("Kopyalanan proje okunamadı: " + newId));
     }
 
     // Statusüne göre projeler
@@ -230,4 +396,37 @@ public class ProjectService {
     public List<Project> getProjectsByTeam(Team team) {
         return projectRepo.findByTeam(team);
     }
+
+    // Birden fazla projenin ilerlemesi - tek gruplu sorgu
+    // Alt görevi olan görevlerde alt görevler, olmayanlarda görevin kendisi sayılır (frontend ile aynı kural)
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getProjectProgress(List<Long> projectIds) {
+        if (projectIds == null || projectIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, long[]> counts = new LinkedHashMap<>();
+        projectIds.forEach(id -> counts.putIfAbsent(id, new long[2]));
+
+        List<Object[]> rows = subTaskRepo.countProgressByProjectIds(counts.keySet(), SubTaskStatus.DONE);
+        for (Object[] row : rows) {
+            long[] projectCounts = counts.get((Long) row[0]);
+            long subtaskCount = row[2] != null ? ((Number) row[2]).longValue() : 0L;
+            long doneCount = row[3] != null ? ((Number) row[3]).longValue() : 0L;
+            projectCounts[0] += doneCount;
+            projectCounts[1] += Math.max(subtaskCount, 1L);
+        }
+
+        List<Map<String, Object>> result = new ArrayList<>();
+        counts.forEach((projectId, projectCounts) -> {
+            Map<String, Object> progress = new HashMap<>();
+            progress.put("projectId", projectId);
+            progress.put("done", projectCounts[0]);
+            progress.put("total", projectCounts[1]);
+            progress.put("progress", projectCounts[1] > 0
+                    ? BigDecimal.valueOf(projectCounts[0] * 100).divide(BigDecimal.valueOf(projectCounts[1]), 0, RoundingMode.HALF_UP)
+                    : BigDecimal.ZERO);
+            result.add(progress);
+        });
+        return result;
+    }
 }
@@ -0,0 +1,123 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.SearchResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Projeler, görevler, alt görevler ve dosya ekleri üzerinde tam metin arama.
+// Her tabloda saklanan search_vector (tsvector) kolonu ve GIN indeksi kullanılır (V3 migration);
+// kolonlar PostgreSQL tarafından her yazmada güncellenir.
+// Her tür kendi indeksinden en iyi (offset + size + 1) sonucu getirir, birleşik liste ts_rank'e göre sıralanır.
+@Service
+public class SearchService {
+
+    public static final Set<String> TYPES = Set.of("PROJECT", "TASK", "SUBTASK", "ATTACHMENT");
+
+    private static final int SNIPPET_LENGTH = 160;
+    private static final int MAX_TERMS = 8;
+
+    private static final String PROJECT_SQL =
+            "(SELECT 'PROJECT' AS type, p.id, p.name AS title, LEFT(p.description, " + SNIPPET_LENGTH + ") AS snippet, " +
+            "p.id AS project_id, NULL::bigint AS task_id, ts_rank(p.search_vector, q) AS rank " +
+            "FROM projects p, query WHERE p.search_vector @@ q ORDER BY rank DESC, p.id LIMIT :limit)";
+
+    private static final String TASK_SQL =
+            "(SELECT 'TASK' AS type, t.id, t.title AS title, LEFT(t.description, " + SNIPPET_LENGTH + ") AS snippet, " +
+            "t.project_id, t.id AS task_id, ts_rank(t.search_vector, q) AS rank " +
+            "FROM tasks t, query WHERE t.search_vector @@ q ORDER BY rank DESC, t.id LIMIT :limit)";
+
+    private static final String SUBTASK_SQL =
+            "(SELECT 'SUBTASK' AS type, s.id, s.name AS title, LEFT(s.description, " + SNIPPET_LENGTH + ") AS snippet, " +
+            "t.project_id, s.task_id, ts_rank(s.search_vector, q) AS rank " +
+            "FROM subtasks s JOIN tasks t ON t.id = s.task_id, query WHERE s.search_vector @@ q " +
+            "ORDER BY rank DESC, s.id LIMIT :limit)";
+
+    private static final String ATTACHMENT_SQL =
+            "(SELECT 'ATTACHMENT' AS type, a.id, a.file_name AS title, NULL AS snippet, " +
+            "t.project_id, a.task_id, ts_rank(a.search_vector, q) AS rank " +
+            "FROM attachments a JOIN tasks t ON t.id = a.task_id, query WHERE a.search_vector @@ q " +
+            "ORDER BY rank DESC, a.id LIMIT :limit)";
+
+    private static final Map<String, String> TYPE_SQL = Map.of(
+            "PROJECT", PROJECT_SQL,
+            "TASK", TASK_SQL,
+            "SUBTASK", SUBTASK_SQL,
+            "ATTACHMENT", ATTACHMENT_SQL);
+
+    private static final RowMapper<SearchResult> ROW_MAPPER = (rs, rowNum) -> new SearchResult(
+            rs.getString("type"),
+            rs.getLong("id"),
+            rs.getString("title"),
+            rs.getString("snippet"),
+            rs.getObject("project_id", Long.class),
+            rs.getObject("task_id", Long.class),
+            rs.getDouble("rank"));
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    // q: serbest metin, her kelime önek olarak aranır ("rap fin" -> rap:* & fin:*)
+    // types: boş ise tüm türler
+    @Transactional(readOnly = true)
+    public Map<String, Object> search(String q, Set<String> types, int page, int size) {
+        String tsQuery = toPrefixQuery(q);
+        Map<String, Object> response = new LinkedHashMap<>();
+        if (tsQuery.isEmpty()) {
+            response.put("items", List.of());
+            response.put("page", page);
+            response.put("size", size);
+            response.put("hasMore", false);
+            return response;
+        }
+
+        List<String> parts = new ArrayList<>();
+        for (String type : List.of("PROJECT", "TASK", "SUBTASK", "ATTACHMENT")) {
+            if (types == null || types.isEmpty() || types.contains(type)) {
+                parts.add(TYPE_SQL.get(type));
+            }
+        }
+        String sql = "WITH query AS (SELECT to_tsquery('simple', :q) AS q) SELECT * FROM (" +
+                String.join(" UNION ALL ", parts) +
+                ") r ORDER BY rank DESC, type, id LIMIT :pageLimit OFFSET :offset";
+
+        int offset = page * size;
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("q", tsQuery)
+                .addValue("limit", offset + size + 1)
+                .addValue("pageLimit", size + 1)
+                .addValue("offset", offset);
+        List<SearchResult> rows = jdbcTemplate.query(sql, params, ROW_MAPPER);
+
+        boolean hasMore = rows.size() > size;
+        response.put("items", hasMore ? rows.subList(0, size) : rows);
+        response.put("page", page);
+        response.put("size", size);
+        response.put("hasMore", hasMore);
+        return response;
+    }
+
+    // Kullanıcı girdisini tsquery sözdizimine çevirir; operatör karakterleri atılır
+    static String toPrefixQuery(String q) {
+        if (q == null) {
+            return "";
+        }
+        return Arrays.stream(q.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .limit(MAX_TERMS)
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
@@ -3,10 +3,29 @@ import com.example.demo.model.SubTask;
 import com.example.demo.model.Task;
 import com.example.demo.enums.SubTaskStatus;
 import com.example.demo.repository.SubTaskRepository;
+import com.example.demo.repository.TaskRepository;
+import com.example.demo.dto.ChangeEvent;
+import com.example.demo.dto.CursorPage;
+import com.example.demo.dto.SubTaskStatusUpdate;
+import com.example.demo.util.KeysetCursor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -14,33 +33,119 @@ public class SubTaskService {
     @Autowired
     private SubTaskRepository subTaskRepo;
 
+    @Autowired
+    private EntityJsonStreamer entityJsonStreamer;
+
+    @Autowired
+    private ProgressService progressService;
+
+    @Autowired
+    private TaskRepository taskRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // DONE yapılan satırlarda end_date set edilir, diğerlerinde korunur
+    private static final String BATCH_STATUS_SQL =
+            "UPDATE subtasks SET status = ?, updated_at = ?, end_date = COALESCE(?, end_date) WHERE id = ?";
+    private static final int[] BATCH_STATUS_TYPES = {Types.VARCHAR, Types.TIMESTAMP, Types.TIMESTAMP, Types.BIGINT};
+
     // Tüm alt görevler
     public List<SubTask> getAllSubTasks() {
         return subTaskRepo.findAll();
     }
 
+    // Tüm alt görevler, akış halinde (?stream=true)
+    public void writeAllSubTasks(OutputStream out) throws IOException {
+        entityJsonStreamer.writeJsonArray(out, subTaskRepo::streamAll);
+    }
+
+    // Keyset sayfalı liste (after: önceki sayfanın nextCursor'u)
+    @Transactional(readOnly = true)
+    public CursorPage<SubTask> getSubTasksPage(String after, Integer limit, String sort) {
+        KeysetCursor cursor = KeysetCursor.decode(after, sort);
+        Pageable page = PageRequest.of(0, KeysetCursor.clampLimit(limit));
+        Slice<SubTask> slice = switch (cursor.getSort()) {
+            case KeysetCursor.SORT_ID_DESC -> subTaskRepo.findByIdLessThanOrderByIdDesc(cursor.idBefore(), page);
+            case KeysetCursor.SORT_RECENT -> subTaskRepo.findRecentBefore(cursor.timeBefore(), cursor.idBefore(), page);
+            default -> subTaskRepo.findByIdGreaterThanOrderByIdAsc(cursor.idAfter(), page);
+        };
+        return CursorPage.of(slice, cursor.getSort(), SubTask::getUpdatedAt, SubTask::getId);
+    }
+
     // ID ile alt görev
     public Optional<SubTask> getSubTask(Long id) {
         return subTaskRepo.findById(id);
     }
 
     // Yeni alt görev ekle
+    @Transactional
     public SubTask createSubTask(SubTask subTask) {
         subTask.setStartDate(LocalDateTime.now());
-        return subTaskRepo.save(subTask);
+        SubTask saved = subTaskRepo.save(subTask);
+        if (saved.getTask() != null) {
+            progressService.subTaskCreated(saved.getTask().getId(), saved.getStatus());
+        }
+        return saved;
+    }
+
+    // Toplu alt görev ekleme - insert'ler JDBC batch'leri halinde gider,
+    // ilerleme sayaçları her alt görev için değil proje başına bir kez yeniden hesaplanır
+    @Transactional
+    public List<SubTask> createSubTasks(List<SubTask> subTasks) {
+        LocalDateTime now = LocalDateTime.now();
+        subTasks.forEach(subTask -> subTask.setStartDate(now));
+        List<SubTask> saved = subTaskRepo.saveAll(subTasks);
+        subTaskRepo.flush();
+
+        List<Long> taskIds = saved.stream()
+                .map(subTask -> subTask.getTask() != null ? subTask.getTask().getId() : null)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (!taskIds.isEmpty()) {
+            taskRepo.findProjectIdsByIds(taskIds).forEach(progressService::rebuild);
+        }
+        return saved;
     }
 
     // Alt görev güncelle (tüm obje)
+    @Transactional
     public SubTask updateSubTask(SubTask subTask) {
+        // Eski durumu ve görevi veritabanından al (ilerleme sayaçları için)
+        Optional<SubTask> existing = subTask.getId() != null ? subTaskRepo.findByIdForUpdate(subTask.getId()) : Optional.empty();
+        SubTaskStatus oldStatus = existing.map(SubTask::getStatus).orElse(null);
+        Long oldTaskId = existing.map(SubTask::getTask).map(Task::getId).orElse(null);
         subTask.setUpdatedAt(LocalDateTime.now());
-        return subTaskRepo.save(subTask);
+        SubTask saved = subTaskRepo.save(subTask);
+        Long newTaskId = saved.getTask() != null ? saved.getTask().getId() : null;
+        if (oldStatus == null) {
+            return saved;
+        }
+        if (!Objects.equals(oldTaskId, newTaskId)) {
+            // Sayaç yeniden hesaplanırsa taşınmış hali görmeli
+            subTaskRepo.flush();
+            progressService.subTaskMoved(oldTaskId, newTaskId, oldStatus, saved.getStatus());
+        } else if (newTaskId != null) {
+            progressService.subTaskStatusChanged(newTaskId, oldStatus, saved.getStatus());
+        }
+        if (newTaskId != null && oldStatus != saved.getStatus()) {
+            publishStatusChanged(saved.getId(), newTaskId, saved.getStatus(), saved.getEndDate());
+        }
+        return saved;
     }
 
     // Sadece status güncelle (YENİ METHOD)
+    @Transactional
     public SubTask updateSubTaskStatus(Long id, SubTaskStatus status) {
-        Optional<SubTask> optionalSubTask = subTaskRepo.findById(id);
+        // Kilitli okuma: eşzamanlı iki güncelleme aynı eski durumdan fark hesaplamasın
+        Optional<SubTask> optionalSubTask = subTaskRepo.findByIdForUpdate(id);
         if (optionalSubTask.isPresent()) {
             SubTask subTask = optionalSubTask.get();
+            SubTaskStatus oldStatus = subTask.getStatus();
             subTask.setStatus(status);
             subTask.setUpdatedAt(LocalDateTime.now());
             
@@ -49,14 +154,96 @@ public class SubTaskService {
                 subTask.setEndDate(LocalDateTime.now());
             }
             
-            return subTaskRepo.save(subTask);
+            SubTask saved = subTaskRepo.save(subTask);
+            progressService.subTaskStatusChanged(saved.getTask().getId(), oldStatus, status);
+            publishStatusChanged(saved.getId(), saved.getTask().getId(), status, saved.getEndDate());
+            return saved;
         }
         throw new RuntimeException("SubTask bulunamadı: " + id);
     }
 
+    // Toplu durum güncelleme (Kanban sürükle-bırak, "tümünü tamamla")
+    // Tek transaction: durumlar tek sorguda okunur, UPDATE'ler tek JDBC batch'inde gönderilir
+    // Her kalem için { id, success, status | error } döner
+    @Transactional
+    public List<Map<String, Object>> updateSubTaskStatuses(List<SubTaskStatusUpdate> updates) {
+        List<Map<String, Object>> results = new ArrayList<>();
+        if (updates == null || updates.isEmpty()) {
+            return results;
+        }
+
+        // Mevcut durumlar: id -> [id, taskId, status]. Satırlar kilitlenir; aynı alt görevleri değiştiren
+        // eşzamanlı istek bu transaction bitene kadar bekler ve farkı güncel durumdan hesaplar
+        Map<Long, Object[]> current = new HashMap<>();
+        List<Long> ids = updates.stream().map(SubTaskStatusUpdate::getId).filter(Objects::nonNull).distinct().toList();
+        if (!ids.isEmpty()) {
+            for (Object[] row : subTaskRepo.findStatusesByIdsForUpdate(ids)) {
+                current.put((Long) row[0], row);
+            }
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batchArgs = new ArrayList<>();
+        Map<Long, Long> doneDeltaByTask = new HashMap<>();
+        for (SubTaskStatusUpdate update : updates) {
+            Map<String, Object> result = new HashMap<>();
+            result.put("id", update.getId());
+            results.add(result);
+
+            if (update.getId() == null || update.getStatus() == null) {
+                result.put("success", false);
+                result.put("error", "id ve status zorunlu");
+                continue;
+            }
+            Object[] row = current.get(update.getId());
+            if (row == null) {
+                result.put("success", false);
+                result.put("error", "SubTask bulunamadı: " + update.getId());
+                continue;
+            }
+
+            SubTaskStatus oldStatus = (SubTaskStatus) row[2];
+            SubTaskStatus newStatus = update.getStatus();
+            boolean done = newStatus == SubTaskStatus.DONE;
+            batchArgs.add(new Object[]{newStatus.name(), now, done ? now : null, update.getId()});
+
+            long doneDelta = (done ? 1 : 0) - (oldStatus == SubTaskStatus.DONE ? 1 : 0);
+            doneDeltaByTask.merge((Long) row[1], doneDelta, Long::sum);
+            row[2] = newStatus; // aynı id listede tekrar geçerse sıradaki kalem bu durumdan devam eder
+
+            result.put("success", true);
+            result.put("status", newStatus);
+            if (done) {
+                result.put("endDate", now.toLocalDateTime());
+            }
+            publishStatusChanged(update.getId(), (Long) row[1], newStatus, done ? now.toLocalDateTime() : null);
+        }
+
+        if (!batchArgs.isEmpty()) {
+            jdbcTemplate.batchUpdate(BATCH_STATUS_SQL, batchArgs, BATCH_STATUS_TYPES);
+        }
+        progressService.doneCountsChanged(doneDeltaByTask);
+        return results;
+    }
+
     // Alt görev sil
+    @Transactional
     public void deleteSubTask(Long id) {
-        subTaskRepo.deleteById(id);
+        Optional<SubTask> optionalSubTask = subTaskRepo.findByIdForUpdate(id);
+        if (optionalSubTask.isEmpty()) {
+            return;
+        }
+        SubTask subTask = optionalSubTask.get();
+        Long taskId = subTask.getTask().getId();
+        SubTaskStatus status = subTask.getStatus();
+        subTaskRepo.delete(subTask);
+        progressService.subTaskDeleted(taskId, status);
+    }
+
+    // Değişiklik akışına (ChangeFeedService) commit sonrası gönderilir
+    private void publishStatusChanged(Long id, Long taskId, SubTaskStatus status, LocalDateTime endDate) {
+        eventPublisher.publishEvent(ChangeEvent.of(ChangeEvent.SUBTASK, ChangeEvent.STATUS_CHANGED, id, null, taskId,
+                ChangeEvent.fields("status", status, "endDate", endDate)));
     }
 
     // Belirli bir göreve ait alt görevler
@@ -1,11 +1,33 @@
 package com.example.demo.service;
 
 import com.example.demo.model.TaskAttachment;
+import com.example.demo.repository.AttachmentBlobRepository;
 import com.example.demo.repository.TaskAttachmentRepository;
+import com.example.demo.dto.ChangeEvent;
+import com.example.demo.dto.CursorPage;
+import com.example.demo.util.KeysetCursor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -14,32 +36,106 @@ public class TaskAttachmentService {
     @Autowired
     private TaskAttachmentRepository attachmentRepo;
 
+    @Autowired
+    private EntityJsonStreamer entityJsonStreamer;
+
+    @Autowired
+    private AttachmentBlobRepository blobRepo;
+
+    @Autowired
+    private AttachmentStorageService storageService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     // Tüm ekleri getir
     public List<TaskAttachment> getAllAttachments() {
         return attachmentRepo.findAll();
     }
 
+    // Tüm ekler, akış halinde (?stream=true)
+    public void writeAllAttachments(OutputStream out) throws IOException {
+        entityJsonStreamer.writeJsonArray(out, attachmentRepo::streamAll);
+    }
+
+    // Keyset sayfalı liste (after: önceki sayfanın nextCursor'u)
+    @Transactional(readOnly = true)
+    public CursorPage<TaskAttachment> getAttachmentsPage(String after, Integer limit, String sort) {
+        KeysetCursor cursor = KeysetCursor.decode(after, sort);
+        Pageable page = PageRequest.of(0, KeysetCursor.clampLimit(limit));
+        Slice<TaskAttachment> slice = switch (cursor.getSort()) {
+            case KeysetCursor.SORT_ID_DESC -> attachmentRepo.findByIdLessThanOrderByIdDesc(cursor.idBefore(), page);
+            case KeysetCursor.SORT_RECENT -> attachmentRepo.findRecentBefore(cursor.timeBefore(), cursor.idBefore(), page);
+            default -> attachmentRepo.findByIdGreaterThanOrderByIdAsc(cursor.idAfter(), page);
+        };
+        return CursorPage.of(slice, cursor.getSort(), TaskAttachment::getUploadedAt, TaskAttachment::getId);
+    }
+
     // ID ile ek getir
     public Optional<TaskAttachment> getAttachment(Long id) {
         return attachmentRepo.findById(id);
     }
 
+    // Dosya içeriğini sakla (aynı içerik daha önce yüklendiyse diske tekrar yazılmaz)
+    public AttachmentStorageService.StoredFile storeFile(InputStream in) throws IOException {
+        AttachmentStorageService.StoredFile stored = storageService.store(in);
+        String hash = stored.getContentHash();
+        // Kayıt ve dosya kontrolü deleteFileAfterCommit ile aynı kilit altında: kontrol geçtikten sonra dosya silinemez.
+        // Tekilleştirilen dosya, kayıt yenilenmeden hemen önce son referansıyla birlikte silinmiş olabilir
+        Boolean present = new TransactionTemplate(transactionManager).execute(status -> {
+            blobRepo.lock(hash);
+            blobRepo.register(hash, stored.getSize());
+            return Files.exists(storageService.resolve(hash));
+        });
+        if (!Boolean.TRUE.equals(present)) {
+            throw new IOException("Dosya kaydedilemedi, lütfen tekrar yükleyiniz");
+        }
+        return stored;
+    }
+
     // Yeni ek ekle
+    @Transactional
     public TaskAttachment addAttachment(TaskAttachment attachment) {
-        return attachmentRepo.save(attachment);
+        linkBlob(attachment, null);
+        TaskAttachment saved = attachmentRepo.save(attachment);
+        // Değişiklik akışına (ChangeFeedService) commit sonrası gönderilir
+        Long taskId = saved.getTask() != null ? saved.getTask().getId() : null;
+        eventPublisher.publishEvent(ChangeEvent.of(ChangeEvent.ATTACHMENT, ChangeEvent.CREATED, saved.getId(), null, taskId,
+                ChangeEvent.fields("fileName", saved.getFileName(), "fileSize", saved.getFileSize(),
+                        "contentType", saved.getContentType(), "revisionNumber", saved.getRevisionNumber(),
+                        "uploadedAt", saved.getUploadedAt())));
+        return saved;
     }
 
     // Ek güncelle
+    @Transactional
     public TaskAttachment updateAttachment(TaskAttachment attachment) {
-        if (attachment.getId() != null && attachmentRepo.existsById(attachment.getId())) {
-            return attachmentRepo.save(attachment);
+        Optional<TaskAttachment> existing = attachment.getId() != null
+                ? attachmentRepo.findById(attachment.getId())
+                : Optional.empty();
+        if (existing.isEmpty()) {
+            throw new RuntimeException("Güncellenecek ek bulunamadı: " + attachment.getId());
+        }
+        String oldHash = existing.get().getContentHash();
+        linkBlob(attachment, oldHash);
+        TaskAttachment saved = attachmentRepo.save(attachment);
+
+        // Dosya değiştiyse eski içeriğin referansını bırak (yenisi linkBlob'da alındı)
+        if (!Objects.equals(oldHash, saved.getContentHash())) {
+            releaseBlob(oldHash);
         }
-        throw new RuntimeException("Güncellenecek ek bulunamadı: " + attachment.getId());
+        return saved;
     }
 
     // Ek sil
+    @Transactional
     public void deleteAttachment(Long id) {
+        String hash = attachmentRepo.findById(id).map(TaskAttachment::getContentHash).orElse(null);
         attachmentRepo.deleteById(id);
+        releaseBlob(hash);
     }
 
     // Belirli bir göreve ait ekler
@@ -61,4 +157,74 @@ public class TaskAttachmentService {
     public List<TaskAttachment> getAttachmentsByFileName(String fileName) {
         return attachmentRepo.findByFileName(fileName);
     }
+
+    // Yüklenip grace süresi içinde hiçbir eke bağlanmayan içerikleri sil (AttachmentBlobSweeper)
+    @Transactional
+    public int sweepUnusedBlobs(LocalDateTime cutoff, int limit) {
+        int deleted = 0;
+        for (String hash : blobRepo.findUnusedBefore(cutoff, limit)) {
+            if (blobRepo.deleteIfUnusedBefore(hash, cutoff) > 0) {
+                deleteFileAfterCommit(hash);
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    // fileUrl içerik adresli bir dosyayı gösteriyorsa referansı aynı transaction'da al,
+    // hash ve boyutu eke yaz, MIME type'ı belirle. currentHash: ekin zaten tuttuğu referans
+    private void linkBlob(TaskAttachment attachment, String currentHash) {
+        if (attachment.getFileName() != null) {
+            attachment.setContentType(MediaTypeFactory.getMediaType(attachment.getFileName())
+                    .orElse(MediaType.APPLICATION_OCTET_STREAM)
+                    .toString());
+        }
+        String hash = storageService.hashFromUrl(attachment.getFileUrl());
+        attachment.setContentHash(hash);
+        if (hash == null) {
+            return;
+        }
+        // Yükleme ile ek kaydı arasında içerik (son referansı bırakılıp) silinmiş olabilir
+        if (!hash.equals(currentHash) && blobRepo.retain(hash) == 0) {
+            throw new ContentGoneException("Dosya artık mevcut değil, lütfen tekrar yükleyiniz: " + hash);
+        }
+        blobRepo.findById(hash).ifPresent(blob -> attachment.setFileSize(blob.getSizeBytes()));
+    }
+
+    // Referansı bırak; son referanssa kayıt silinir, dosya commit sonrası silinir
+    private void releaseBlob(String hash) {
+        if (hash == null) {
+            return;
+        }
+        blobRepo.release(hash);
+        if (blobRepo.deleteIfUnused(hash) > 0) {
+            deleteFileAfterCommit(hash);
+        }
+    }
+
+    // Arada aynı içerik yeniden yüklendiyse (kayıt tekrar oluştuysa) dosya silinmez. Kontrol ve silme
+    // storeFile ile aynı kilidi tutan yeni bir transaction'da: eşzamanlı yükleme ya silmeden önce kaydını
+    // görünür kılar ya da silmeyi bekleyip dosyanın gittiğini görür
+    private void deleteFileAfterCommit(String hash) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                TransactionTemplate template = new TransactionTemplate(transactionManager);
+                template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+                template.executeWithoutResult(status -> {
+                    blobRepo.lock(hash);
+                    if (!blobRepo.existsById(hash)) {
+                        storageService.delete(hash);
+                    }
+                });
+            }
+        });
+    }
+
+    // Ek kaydedilirken içerik bulunamadı (410 Gone)
+    public static class ContentGoneException extends RuntimeException {
+        public ContentGoneException(String message) {
+            super(message);
+        }
+    }
 }
@@ -0,0 +1,435 @@
+package com.example.demo.service;
+
+import com.example.demo.config.IdSequenceInitializer;
+import com.example.demo.dto.ChangeEvent;
+import com.example.demo.dto.ImportResult;
+import com.example.demo.enums.SubTaskStatus;
+import com.example.demo.enums.TaskPriority;
+import com.example.demo.model.Employee;
+import com.example.demo.model.IdGeneration;
+import com.example.demo.model.Project;
+import com.example.demo.repository.EmployeeRepository;
+import com.example.demo.repository.ProjectRepository;
+import com.example.demo.util.CsvReader;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Bir projeye CSV'den toplu görev + alt görev aktarımı (PostgreSQL):
+// 1. CSV akış halinde okunur, CHUNK_SIZE'lık parçalarla doğrulanır; e-postalar parça başına tek sorguyla çözülür
+// 2. geçerli satırlar COPY ile geçici tabloya (task_import_rows) yazılır, hatalı satırlar atlanıp raporlanır
+// 3. tasks, task_assignments ve subtasks tek tek değil, geçici tablodan küme halinde INSERT ... SELECT ile oluşturulur
+// Aynı görev başlığı birden çok satırda geçebilir (her satır bir alt görev); görev alanları ilk satırdan alınır.
+@Slf4j
+@Service
+public class TaskImportService {
+
+    public static final String COL_TASK = "task";
+    public static final String COL_DESCRIPTION = "description";
+    public static final String COL_PRIORITY = "priority";
+    public static final String COL_START_DATE = "start_date";
+    public static final String COL_END_DATE = "end_date";
+    public static final String COL_ASSIGNEES = "assignees";
+    public static final String COL_SUBTASK = "subtask";
+    public static final String COL_SUBTASK_DESCRIPTION = "subtask_description";
+    public static final String COL_STATUS = "status";
+    public static final String COL_ASSIGNEE = "assignee";
+    public static final String COL_SUBTASK_START_DATE = "subtask_start_date";
+    public static final String COL_SUBTASK_END_DATE = "subtask_end_date";
+
+    private static final Set<String> COLUMNS = Set.of(COL_TASK, COL_DESCRIPTION, COL_PRIORITY, COL_START_DATE,
+            COL_END_DATE, COL_ASSIGNEES, COL_SUBTASK, COL_SUBTASK_DESCRIPTION, COL_STATUS, COL_ASSIGNEE,
+            COL_SUBTASK_START_DATE, COL_SUBTASK_END_DATE);
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final int MAX_NAME_LENGTH = 200;
+
+    private static final String STAGE_SQL =
+            "CREATE TEMP TABLE task_import_rows (line int NOT NULL, task_title varchar(200) NOT NULL, " +
+            "task_description text, priority varchar(20), task_start timestamp, task_end timestamp, " +
+            "assignee_ids bigint[], subtask_name varchar(200), subtask_description text, status varchar(20), " +
+            "subtask_assignee bigint, subtask_start timestamp, subtask_end timestamp) ON COMMIT DROP";
+
+    private static final String COPY_SQL = "COPY task_import_rows FROM STDIN WITH (FORMAT csv)";
+
+    private static final String COUNT_SQL =
+            "SELECT COUNT(DISTINCT task_title) AS tasks, COUNT(subtask_name) AS subtasks FROM task_import_rows";
+
+    // Pooled optimizer ile uyumlu ID ayırma: her nextval = N, (N - ALLOCATION_SIZE, N] aralığını ayırır
+    // (sequence'ın ilk değeri önceden harcanır: IdSequenceInitializer.skipInitialValue)
+    private static final String ID_BLOCKS =
+            "SELECT b.hi - " + IdGeneration.ALLOCATION_SIZE + " + g AS id, row_number() OVER (ORDER BY b.hi, g) AS rn " +
+            "FROM (SELECT nextval('%s') AS hi FROM generate_series(1, :blocks)) b " +
+            "CROSS JOIN generate_series(1, " + IdGeneration.ALLOCATION_SIZE + ") g";
+
+    private static final String TASKS_SQL =
+            "CREATE TEMP TABLE task_import_tasks ON COMMIT DROP AS " +
+            "SELECT ids.id, t.task_title, t.task_description, t.priority, t.task_start, t.task_end, t.assignee_ids " +
+            "FROM (SELECT row_number() OVER (ORDER BY d.line) AS rn, d.* FROM (" +
+            "SELECT DISTINCT ON (task_title) line, task_title, task_description, priority, task_start, task_end, assignee_ids " +
+            "FROM task_import_rows ORDER BY task_title, line) d) t " +
+            "JOIN (" + ID_BLOCKS.formatted("tasks_seq") + ") ids ON ids.rn = t.rn";
+
+    private static final String INSERT_TASKS_SQL =
+            "INSERT INTO tasks (id, project_id, title, description, priority, start_date, end_date, created_by, updated_at) " +
+            "SELECT id, :projectId, task_title, task_description, priority, task_start, task_end, :createdBy, :now " +
+            "FROM task_import_tasks";
+
+    private static final String INSERT_ASSIGNMENTS_SQL =
+            "INSERT INTO task_assignments (task_id, employee_id) " +
+            "SELECT DISTINCT t.id, a.employee_id FROM task_import_tasks t " +
+            "CROSS JOIN LATERAL unnest(t.assignee_ids) AS a(employee_id)";
+
+    private static final String INSERT_SUBTASKS_SQL =
+            "INSERT INTO subtasks (id, task_id, name, description, status, assigned_to, start_date, end_date, updated_at) " +
+            "SELECT ids.id, t.id, r.subtask_name, r.subtask_description, r.status, r.subtask_assignee, " +
+            "r.subtask_start, r.subtask_end, :now " +
+            "FROM (SELECT row_number() OVER (ORDER BY line) AS rn, * FROM task_import_rows WHERE subtask_name IS NOT NULL) r " +
+            "JOIN task_import_tasks t ON t.task_title = r.task_title " +
+            "JOIN (" + ID_BLOCKS.formatted("subtasks_seq") + ") ids ON ids.rn = r.rn";
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EmployeeRepository employeeRepo;
+
+    @Autowired
+    private ProjectRepository projectRepo;
+
+    @Autowired
+    private ProgressService progressService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private IdSequenceInitializer idSequences;
+
+    @Transactional
+    public ImportResult importCsv(Long projectId, Long createdBy, InputStream in) throws IOException {
+        Project project = projectRepo.findById(projectId)
+                .orElseThrow(() -> new IllegalArgumentException("Proje bulunamadı: " + projectId));
+        if (!employeeRepo.existsById(createdBy)) {
+            throw new IllegalArgumentException("Çalışan bulunamadı: " + createdBy);
+        }
+        CsvReader csv = new CsvReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), ',');
+        Map<String, Integer> header = header(csv.next());
+
+        jdbcTemplate.getJdbcTemplate().execute(STAGE_SQL);
+        Import state = new Import(header);
+        List<RawRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        List<String> fields;
+        while ((fields = csv.next()) != null) {
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            chunk.add(new RawRow(csv.getLine(), fields));
+            if (chunk.size() == CHUNK_SIZE) {
+                stageChunk(state, chunk);
+            }
+        }
+        stageChunk(state, chunk);
+
+        long[] counts = mergeStaged(projectId, createdBy);
+        if (counts[0] > 0) {
+            progressService.rebuild(projectId);
+            // Proje olayları takımı taşır: ChangeFeedService bunu proje -> takım önbelleğine yazar
+            ChangeEvent event = ChangeEvent.of(ChangeEvent.PROJECT, ChangeEvent.IMPORTED, projectId, projectId,
+                    null, ChangeEvent.fields("tasks", counts[0], "subTasks", counts[1]));
+            event.setTeamId(project.getTeam() != null ? project.getTeam().getId() : null);
+            eventPublisher.publishEvent(event);
+        }
+        log.info("Proje {} için içe aktarma: {} satır, {} görev, {} alt görev, {} hatalı satır",
+                projectId, state.rows, counts[0], counts[1], state.errorCount);
+        return new ImportResult(state.rows, counts[0], counts[1], state.errorCount, state.errors);
+    }
+
+    // Başlık satırı: kolon adı -> sıra (büyük/küçük harf duyarsız, sıra serbest)
+    private static Map<String, Integer> header(List<String> fields) {
+        if (fields == null) {
+            throw new IllegalArgumentException("CSV dosyası boş");
+        }
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            String name = fields.get(i).trim().toLowerCase(Locale.ROOT);
+            if (!COLUMNS.contains(name)) {
+                throw new IllegalArgumentException("Bilinmeyen kolon: " + fields.get(i)
+                        + " (geçerli kolonlar: " + String.join(", ", COLUMNS.stream().sorted().toList()) + ")");
+            }
+            if (header.put(name, i) != null) {
+                throw new IllegalArgumentException("Kolon birden fazla kez geçiyor: " + name);
+            }
+        }
+        if (!header.containsKey(COL_TASK)) {
+            throw new IllegalArgumentException("Zorunlu kolon eksik: " + COL_TASK);
+        }
+        return header;
+    }
+
+    // Parçadaki e-postaları tek sorguda çözer, satırları doğrular ve geçerlileri COPY ile geçici tabloya yazar
+    private void stageChunk(Import state, List<RawRow> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        resolveEmails(state, chunk);
+        StringBuilder copy = new StringBuilder(chunk.size() * 128);
+        for (RawRow row : chunk) {
+            state.rows++;
+            try {
+                appendStaged(copy, state, row);
+            } catch (IllegalArgumentException e) {
+                state.error(row.line(), e.getMessage());
+            }
+        }
+        chunk.clear();
+        if (!copy.isEmpty()) {
+            jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Long>) connection -> {
+                try {
+                    return connection.unwrap(PGConnection.class).getCopyAPI()
+                            .copyIn(COPY_SQL, new StringReader(copy.toString()));
+                } catch (IOException e) {
+                    throw new IllegalStateException("COPY başarısız", e);
+                }
+            });
+        }
+    }
+
+    private void resolveEmails(Import state, List<RawRow> chunk) {
+        Set<String> unknown = new HashSet<>();
+        for (RawRow row : chunk) {
+            for (String email : state.emails(row)) {
+                if (!state.employeeIds.containsKey(email) && !state.missingEmails.contains(email)) {
+                    unknown.add(email);
+                }
+            }
+        }
+        if (unknown.isEmpty()) {
+            return;
+        }
+        for (Employee employee : employeeRepo.findByEmailIgnoreCaseIn(unknown)) {
+            state.employeeIds.put(employee.getEmail().toLowerCase(Locale.ROOT), employee.getId());
+        }
+        unknown.removeAll(state.employeeIds.keySet());
+        state.missingEmails.addAll(unknown);
+    }
+
+    // Tek satırı doğrulayıp COPY (CSV) satırı olarak ekler; hatada IllegalArgumentException
+    private static void appendStaged(StringBuilder copy, Import state, RawRow row) {
+        String title = required(state.value(row, COL_TASK), "Görev başlığı boş olamaz");
+        String subtask = state.value(row, COL_SUBTASK);
+        maxLength(title, "Görev başlığı");
+        maxLength(subtask, "Alt görev adı");
+
+        TaskPriority priority = parseEnum(TaskPriority.class, state.value(row, COL_PRIORITY), "öncelik");
+        LocalDateTime taskStart = parseDate(state.value(row, COL_START_DATE), COL_START_DATE);
+        LocalDateTime taskEnd = parseDate(state.value(row, COL_END_DATE), COL_END_DATE);
+        checkRange(taskStart, taskEnd);
+        List<Long> assignees = new ArrayList<>();
+        for (String email : split(state.value(row, COL_ASSIGNEES))) {
+            assignees.add(state.employeeId(email));
+        }
+
+        SubTaskStatus status = parseEnum(SubTaskStatus.class, state.value(row, COL_STATUS), "durum");
+        String assignee = state.value(row, COL_ASSIGNEE);
+        Long assigneeId = assignee != null ? state.employeeId(assignee) : null;
+        LocalDateTime subtaskStart = parseDate(state.value(row, COL_SUBTASK_START_DATE), COL_SUBTASK_START_DATE);
+        LocalDateTime subtaskEnd = parseDate(state.value(row, COL_SUBTASK_END_DATE), COL_SUBTASK_END_DATE);
+        checkRange(subtaskStart, subtaskEnd);
+        String subtaskDescription = state.value(row, COL_SUBTASK_DESCRIPTION);
+        if (subtask == null && (status != null || assigneeId != null || subtaskStart != null
+                || subtaskEnd != null || subtaskDescription != null)) {
+            throw new IllegalArgumentException("Alt görev alanları dolu ama alt görev adı boş");
+        }
+        if (subtask != null && status == null) {
+            status = SubTaskStatus.TODO;
+        }
+
+        copyField(copy, row.line(), true);
+        copyField(copy, title, false);
+        copyField(copy, state.value(row, COL_DESCRIPTION), false);
+        copyField(copy, priority, false);
+        copyField(copy, taskStart, false);
+        copyField(copy, taskEnd, false);
+        copyField(copy, assignees.isEmpty() ? null : assignees.stream().distinct().map(String::valueOf)
+                .collect(Collectors.joining(",", "{", "}")), false);
+        copyField(copy, subtask, false);
+        copyField(copy, subtaskDescription, false);
+        copyField(copy, status, false);
+        copyField(copy, assigneeId, false);
+        copyField(copy, subtaskStart, false);
+        copyField(copy, subtaskEnd, false);
+        copy.append('\n');
+    }
+
+    // COPY CSV: tırnaksız boş alan NULL; değerler tırnaklı yazılır ("" -> ")
+    private static void copyField(StringBuilder copy, Object value, boolean first) {
+        if (!first) {
+            copy.append(',');
+        }
+        if (value != null) {
+            copy.append('"').append(value.toString().replace("\"", "\"\"")).append('"');
+        }
+    }
+
+    private long[] mergeStaged(Long projectId, Long createdBy) {
+        jdbcTemplate.getJdbcTemplate().execute("ANALYZE task_import_rows");
+        long[] counts = jdbcTemplate.queryForObject(COUNT_SQL, Map.of(),
+                (rs, i) -> new long[]{rs.getLong("tasks"), rs.getLong("subtasks")});
+        if (counts[0] == 0) {
+            return counts;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        idSequences.skipInitialValue("tasks_seq");
+        idSequences.skipInitialValue("subtasks_seq");
+        jdbcTemplate.update(TASKS_SQL, new MapSqlParameterSource("blocks", blocks(counts[0])));
+        // Geçici tablolarda istatistik yok; alt görev join'i için hash join seçilsin
+        jdbcTemplate.getJdbcTemplate().execute("ANALYZE task_import_tasks");
+        jdbcTemplate.update(INSERT_TASKS_SQL, new MapSqlParameterSource("projectId", projectId)
+                .addValue("createdBy", createdBy)
+                .addValue("now", now));
+        jdbcTemplate.getJdbcTemplate().update(INSERT_ASSIGNMENTS_SQL);
+        if (counts[1] > 0) {
+            jdbcTemplate.update(INSERT_SUBTASKS_SQL, new MapSqlParameterSource("blocks", blocks(counts[1]))
+                    .addValue("now", now));
+        }
+        return counts;
+    }
+
+    private static long blocks(long count) {
+        return (count + IdGeneration.ALLOCATION_SIZE - 1) / IdGeneration.ALLOCATION_SIZE;
+    }
+
+    private static String required(String value, String message) {
+        if (value == null) {
+            throw new IllegalArgumentException(message);
+        }
+        return value;
+    }
+
+    private static void maxLength(String value, String label) {
+        if (value != null && value.length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException(label + " en fazla " + MAX_NAME_LENGTH + " karakter olabilir");
+        }
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String label) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Geçersiz " + label + ": " + value);
+        }
+    }
+
+    // yyyy-MM-dd veya yyyy-MM-ddTHH:mm[:ss]
+    private static LocalDateTime parseDate(String value, String column) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return value.length() <= 10 ? LocalDate.parse(value).atStartOfDay() : LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Geçersiz tarih (" + column + "): " + value);
+        }
+    }
+
+    private static void checkRange(LocalDateTime start, LocalDateTime end) {
+        if (start != null && end != null && end.isBefore(start)) {
+            throw new IllegalArgumentException("Bitiş tarihi başlangıçtan önce olamaz");
+        }
+    }
+
+    private static List<String> split(String emails) {
+        if (emails == null) {
+            return List.of();
+        }
+        List<String> result = new ArrayList<>();
+        for (String email : emails.split(";")) {
+            if (!email.isBlank()) {
+                result.add(email.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        return result;
+    }
+
+    private record RawRow(int line, List<String> fields) {
+    }
+
+    // Tek içe aktarmanın durumu: kolon sırası, çözülmüş e-postalar ve hata sayaçları
+    private static class Import {
+
+        private final Map<String, Integer> header;
+        private final Map<String, Long> employeeIds = new HashMap<>();
+        private final Set<String> missingEmails = new HashSet<>();
+        private final List<ImportResult.RowError> errors = new ArrayList<>();
+        private long rows;
+        private long errorCount;
+
+        Import(Map<String, Integer> header) {
+            this.header = header;
+        }
+
+        // Boş alanlar null
+        String value(RawRow row, String column) {
+            Integer index = header.get(column);
+            if (index == null || index >= row.fields().size()) {
+                return null;
+            }
+            String value = row.fields().get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        Set<String> emails(RawRow row) {
+            Set<String> emails = new LinkedHashSet<>(split(value(row, COL_ASSIGNEES)));
+            String assignee = value(row, COL_ASSIGNEE);
+            if (assignee != null) {
+                emails.add(assignee.toLowerCase(Locale.ROOT));
+            }
+            return emails;
+        }
+
+        Long employeeId(String email) {
+            Long id = employeeIds.get(email.toLowerCase(Locale.ROOT));
+            if (id == null) {
+                throw new IllegalArgumentException("Çalışan bulunamadı: " + email);
+            }
+            return id;
+        }
+
+        void error(int line, String message) {
+            errorCount++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportResult.RowError(line, message));
+            }
+        }
+    }
+}
@@ -5,11 +5,22 @@ import com.example.demo.model.Employee;
 import com.example.demo.model.Project;
 import com.example.demo.enums.TaskPriority;
 import com.example.demo.repository.TaskRepository;
+import com.example.demo.dto.ChangeEvent;
+import com.example.demo.dto.CursorPage;
+import com.example.demo.util.KeysetCursor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -18,25 +29,80 @@ public class TaskService {
     @Autowired
     private TaskRepository taskRepo;
 
+    @Autowired
+    private EntityJsonStreamer entityJsonStreamer;
+
+    @Autowired
+    private ProgressService progressService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // Tüm görevleri getir
     public List<Task> getAllTasks() {
         return taskRepo.findAll();
     }
 
+    // Tüm görevler, akış halinde (?stream=true)
+    public void writeAllTasks(OutputStream out) throws IOException {
+        entityJsonStreamer.writeJsonArray(out, taskRepo::streamAll, chunk -> chunk.forEach(task -> Hibernate.initialize(task.getAssignedEmployees())));
+    }
+
+    // Keyset sayfalı liste (after: önceki sayfanın nextCursor'u)
+    @Transactional(readOnly = true)
+    public CursorPage<Task> getTasksPage(String after, Integer limit, String sort) {
+        KeysetCursor cursor = KeysetCursor.decode(after, sort);
+        Pageable page = PageRequest.of(0, KeysetCursor.clampLimit(limit));
+        Slice<Task> slice = switch (cursor.getSort()) {
+            case KeysetCursor.SORT_ID_DESC -> taskRepo.findByIdLessThanOrderByIdDesc(cursor.idBefore(), page);
+            case KeysetCursor.SORT_RECENT -> taskRepo.findRecentBefore(cursor.timeBefore(), cursor.idBefore(), page);
+            default -> taskRepo.findByIdGreaterThanOrderByIdAsc(cursor.idAfter(), page);
+        };
+        // Atananlar sayfa sorgusuna join edilmez (LIMIT bozulmasın); batch fetch ile toplu yüklenir
+        slice.forEach(task -> Hibernate.initialize(task.getAssignedEmployees()));
+        return CursorPage.of(slice, cursor.getSort(), Task::getUpdatedAt, Task::getId);
+    }
+
     // ID ile görev getir
     public Optional<Task> getTask(Long id) {
         return taskRepo.findById(id);
     }
 
     // Yeni görev ekle
+    @Transactional
     public Task createTask(Task task) {
-        return taskRepo.save(task);
+        Task saved = taskRepo.save(task);
+        progressService.taskCreated(saved.getId());
+        publish(ChangeEvent.CREATED, saved);
+        return saved;
+    }
+
+    // Toplu görev ekleme (proje şablonu içe aktarma) - görevlerle gelen alt görevler de cascade ile eklenir
+    // Insert'ler JDBC batch'leri halinde gider; ilerleme sayaçları proje başına bir kez yeniden hesaplanır
+    @Transactional
+    public List<Task> createTasks(List<Task> tasks) {
+        tasks.forEach(task -> {
+            if (task.getSubtasks() != null) {
+                task.getSubtasks().forEach(subTask -> subTask.setTask(task));
+            }
+        });
+        List<Task> saved = taskRepo.saveAll(tasks);
+        taskRepo.flush();
+        saved.stream()
+                .map(task -> task.getProject() != null ? task.getProject().getId() : null)
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(progressService::rebuild);
+        saved.forEach(task -> publish(ChangeEvent.CREATED, task));
+        return saved;
     }
 
     // Görev güncelle
     public Task updateTask(Task task) {
         if (task.getId() != null && taskRepo.existsById(task.getId())) {
-            return taskRepo.save(task);
+            Task saved = taskRepo.save(task);
+            publish(ChangeEvent.UPDATED, saved);
+            return saved;
         }
         throw new RuntimeException("Güncellenecek görev bulunamadı: " + task.getId());
     }
@@ -45,12 +111,23 @@ public class TaskService {
     @Transactional
     public void deleteTask(Long id) {
         if (taskRepo.existsById(id)) {
+            Long projectId = taskRepo.findProjectIdById(id);
             taskRepo.deleteById(id);
+            progressService.taskDeleted(id, projectId);
+            eventPublisher.publishEvent(ChangeEvent.of(ChangeEvent.TASK, ChangeEvent.DELETED, id, projectId, id, null));
         } else {
             throw new RuntimeException("Task bulunamadı: " + id);
         }
     }
 
+    // Değişiklik akışına (ChangeFeedService) commit sonrası gönderilir
+    private void publish(String action, Task task) {
+        Long projectId = task.getProject() != null ? task.getProject().getId() : null;
+        eventPublisher.publishEvent(ChangeEvent.of(ChangeEvent.TASK, action, task.getId(), projectId, task.getId(),
+                ChangeEvent.fields("title", task.getTitle(), "priority", task.getPriority(),
+                        "startDate", task.getStartDate(), "endDate", task.getEndDate())));
+    }
+
     // Projeye göre görevler
     public List<Task> getTasksByProject(Project project) {
         return taskRepo.findByProject(project);
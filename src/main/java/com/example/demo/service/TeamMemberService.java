@@ -5,8 +5,14 @@ import com.example.demo.model.Team;
 import com.example.demo.model.Employee;
 import com.example.demo.enums.TeamRole;
 import com.example.demo.repository.TeamMemberRepository;
+import com.example.demo.dto.CursorPage;
+import com.example.demo.util.KeysetCursor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -22,6 +28,19 @@ public class TeamMemberService {
         return teamMemberRepo.findAll();
     }
 
+    // Keyset sayfalı liste (after: önceki sayfanın nextCursor'u)
+    @Transactional(readOnly = true)
+    public CursorPage<TeamMember> getTeamMembersPage(String after, Integer limit, String sort) {
+        KeysetCursor cursor = KeysetCursor.decode(after, sort);
+        Pageable page = PageRequest.of(0, KeysetCursor.clampLimit(limit));
+        Slice<TeamMember> slice = switch (cursor.getSort()) {
+            case KeysetCursor.SORT_ID_DESC -> teamMemberRepo.findByIdLessThanOrderByIdDesc(cursor.idBefore(), page);
+            case KeysetCursor.SORT_RECENT -> teamMemberRepo.findRecentBefore(cursor.timeBefore(), cursor.idBefore(), page);
+            default -> teamMemberRepo.findByIdGreaterThanOrderByIdAsc(cursor.idAfter(), page);
+        };
+        return CursorPage.of(slice, cursor.getSort(), TeamMember::getJoinedAt, TeamMember::getId);
+    }
+
     // ID ile getirme
     public Optional<TeamMember> getTeamMember(Long id) {
         return teamMemberRepo.findById(id);
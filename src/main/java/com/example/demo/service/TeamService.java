@@ -1,15 +1,22 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.TypeaheadItem;
 import com.example.demo.model.Team;
 import com.example.demo.model.Employee;
+import com.example.demo.model.TeamMember;
 import com.example.demo.repository.TeamRepository;
+import com.example.demo.repository.TeamMemberRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 public class TeamService {
@@ -17,6 +24,65 @@ public class TeamService {
     @Autowired
     private TeamRepository teamRepo;
 
+    @Autowired
+    private TeamMemberRepository teamMemberRepo;
+
+    @Autowired
+    private TypeaheadIndex typeaheadIndex;
+
+    // Takımlar + üye detayları (GET /api/teams cevabı)
+    // Takım sayısından bağımsız olarak 2 sorgu: takımlar, üyeler (çalışan ve rol ile birlikte)
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getTeamRoster() {
+        return buildRoster(teamRepo.findAll());
+    }
+
+    // Tek takım + üye detayları (GET /api/teams/{id} cevabı)
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> getTeamRoster(Long id) {
+        return teamRepo.findById(id)
+                .map(team -> buildRoster(List.of(team)).get(0));
+    }
+
+    private List<Map<String, Object>> buildRoster(List<Team> teams) {
+        List<Long> teamIds = teams.stream().map(Team::getId).toList();
+        Map<Long, List<TeamMember>> membersByTeam = teamIds.isEmpty()
+                ? new HashMap<>()
+                : teamMemberRepo.findRosterByTeamIds(teamIds).stream()
+                        .collect(Collectors.groupingBy(member -> member.getTeam().getId()));
+
+        List<Map<String, Object>> roster = new ArrayList<>();
+        for (Team team : teams) {
+            Map<String, Object> teamData = new HashMap<>();
+            teamData.put("id", team.getId());
+            teamData.put("name", team.getName());
+            teamData.put("description", team.getDescription());
+            teamData.put("createdAt", team.getCreatedAt());
+            teamData.put("updatedAt", team.getUpdatedAt());
+
+            List<Map<String, Object>> memberDetails = membersByTeam.getOrDefault(team.getId(), List.of()).stream().map(member -> {
+                Map<String, Object> memberData = new HashMap<>();
+                memberData.put("id", member.getId());
+                memberData.put("firstName", member.getEmployee().getFirstName());
+                memberData.put("lastName", member.getEmployee().getLastName());
+                memberData.put("email", member.getEmployee().getEmail());
+                memberData.put("role", member.getRole());
+                memberData.put("joinedAt", member.getJoinedAt());
+                return memberData;
+            }).toList();
+
+            teamData.put("members", memberDetails);
+            roster.add(teamData);
+        }
+        return roster;
+    }
+
+    // Takım seçici: isme göre en iyi eşleşen ilk limit takım (id, isim)
+    public List<TypeaheadItem> typeahead(String q, int limit) {
+        String query = TypeaheadIndex.normalize(q);
+        return query.isEmpty() ? List.of() : typeaheadIndex.findTeams(query, limit);
+    }
+
     // Tüm takımlar - Transaction içinde lazy loading'i zorla
     @Transactional(readOnly = true)
     public List<Team> getAllTeams() {
@@ -47,7 +113,9 @@ public class TeamService {
     public Team createTeam(Team team) {
         team.setCreatedAt(LocalDateTime.now());
         team.setUpdatedAt(LocalDateTime.now());
-        return teamRepo.save(team);
+        Team savedTeam = teamRepo.save(team);
+        typeaheadIndex.invalidate();
+        return savedTeam;
     }
 
     // Takım güncelle
@@ -56,6 +124,7 @@ public class TeamService {
         if (team.getId() != null && teamRepo.existsById(team.getId())) {
             team.setUpdatedAt(LocalDateTime.now());
             Team savedTeam = teamRepo.save(team);
+            typeaheadIndex.invalidate();
             // Lazy loading'i force et
             savedTeam.getMembers().size();
             savedTeam.getProjects().size();
@@ -68,6 +137,7 @@ public class TeamService {
     @Transactional
     public void deleteTeam(Long id) {
         teamRepo.deleteById(id);
+        typeaheadIndex.invalidate();
     }
 
     // İsme göre arama
@@ -0,0 +1,76 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.TypeaheadItem;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// pg_trgm GIN indeksleri (V4 migration) üzerinden typeahead:
+// - LIKE '%q%' : parça eşleşmesi ("yılm" -> "Ahmet Yılmaz")
+// - q <% metin : kelime benzerliği, yazım hatası toleransı ("ahmte" -> "Ahmet")
+// Sıralama: metnin başında eşleşenler önce, sonra benzerlik.
+public class TrigramTypeaheadIndex implements TypeaheadIndex {
+
+    private static final String EMPLOYEE_TEXT = "lower(e.first_name || ' ' || e.last_name || ' ' || e.email)";
+    private static final String TEAM_TEXT = "lower(t.name)";
+
+    private static final String EMPLOYEE_SQL =
+            "SELECT e.employee_id AS id, e.first_name || ' ' || e.last_name AS name FROM employees e " +
+            "WHERE " + EMPLOYEE_TEXT + " LIKE :contains OR :q <% " + EMPLOYEE_TEXT + " " +
+            "ORDER BY " + EMPLOYEE_TEXT + " LIKE :prefix DESC, word_similarity(:q, " + EMPLOYEE_TEXT + ") DESC, name, id " +
+            "LIMIT :limit";
+
+    private static final String TEAM_SQL =
+            "SELECT t.id, t.name FROM teams t " +
+            "WHERE " + TEAM_TEXT + " LIKE :contains OR :q <% " + TEAM_TEXT + " " +
+            "ORDER BY " + TEAM_TEXT + " LIKE :prefix DESC, word_similarity(:q, " + TEAM_TEXT + ") DESC, name, id " +
+            "LIMIT :limit";
+
+    // Sadece bu transaction için (is_local = true)
+    private static final String SET_THRESHOLD_SQL =
+            "SELECT set_config('pg_trgm.word_similarity_threshold', :threshold, true)";
+
+    private static final RowMapper<TypeaheadItem> ROW_MAPPER =
+            (rs, rowNum) -> new TypeaheadItem(rs.getLong("id"), rs.getString("name"));
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    // pg_trgm varsayılanı 0.6; tek harf hatalı 5 harfli kelime ~0.5 benzerlik verir
+    @Value("${typeahead.similarity-threshold:0.4}")
+    private double similarityThreshold;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TypeaheadItem> findEmployees(String q, int limit) {
+        return query(EMPLOYEE_SQL, q, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TypeaheadItem> findTeams(String q, int limit) {
+        return query(TEAM_SQL, q, limit);
+    }
+
+    private List<TypeaheadItem> query(String sql, String q, int limit) {
+        jdbcTemplate.queryForObject(SET_THRESHOLD_SQL,
+                new MapSqlParameterSource("threshold", String.valueOf(similarityThreshold)), String.class);
+        String escaped = escapeLike(q);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("q", q)
+                .addValue("contains", "%" + escaped + "%")
+                .addValue("prefix", escaped + "%")
+                .addValue("limit", limit);
+        return jdbcTemplate.query(sql, params, ROW_MAPPER);
+    }
+
+    // LIKE özel karakterleri (varsayılan kaçış karakteri \)
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.TypeaheadItem;
+
+import java.util.List;
+import java.util.Locale;
+
+// Çalışan / takım seçicileri için isim araması; en iyi eşleşen ilk limit kayıt döner.
+// q küçük harfe çevrilmiş ve kırpılmış olarak gelir (EmployeeService / TeamService).
+// PostgreSQL'de pg_trgm (TrigramTypeaheadIndex), diğer veritabanlarında bellek içi indeks (InMemoryTypeaheadIndex)
+public interface TypeaheadIndex {
+
+    int MAX_QUERY_LENGTH = 64;
+
+    List<TypeaheadItem> findEmployees(String q, int limit);
+
+    List<TypeaheadItem> findTeams(String q, int limit);
+
+    // Çalışan / takım eklendi, değişti veya silindi
+    default void invalidate() {
+    }
+
+    // Kullanıcı girdisi -> arama metni (boş ise arama yapılmaz)
+    static String normalize(String q) {
+        if (q == null) {
+            return "";
+        }
+        String value = q.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return value.length() > MAX_QUERY_LENGTH ? value.substring(0, MAX_QUERY_LENGTH) : value;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.demo.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// Akışlı RFC 4180 CSV okuyucu: her çağrıda tek kayıt okunur, dosya belleğe alınmaz.
+// Tırnaklı alanlar ayraç, çift tırnak ("") ve satır sonu içerebilir; baştaki UTF-8 BOM atlanır.
+// Reader'ın tamponlu (BufferedReader) verilmesi beklenir.
+public class CsvReader {
+
+    private static final int NONE = -2;
+
+    private final Reader reader;
+    private final char delimiter;
+    private int physicalLine;
+    private int recordLine;
+    private int pushedBack = NONE;
+    private boolean started;
+
+    public CsvReader(Reader reader, char delimiter) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+    }
+
+    // Son okunan kaydın başladığı satır (1'den başlar)
+    public int getLine() {
+        return recordLine;
+    }
+
+    // Sonraki kayıt; dosya sonunda null
+    public List<String> next() throws IOException {
+        int c = read();
+        if (!started) {
+            started = true;
+            if (c == '\uFEFF') {
+                c = read();
+            }
+        }
+        if (c == -1) {
+            return null;
+        }
+        recordLine = ++physicalLine;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Satır " + recordLine + ": kapanmamış tırnak");
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following != '"') {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    physicalLine++;
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        pushedBack = following;
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != NONE) {
+            int c = pushedBack;
+            pushedBack = NONE;
+            return c;
+        }
+        return reader.read();
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.demo.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Liste endpoint'leri için keyset (cursor) sayfalama yardımcısı.
+// Cursor, son gönderilen kaydın sıralama anahtarlarını taşır: "<sort>|<zaman>|<id>" (base64url).
+// Sıralamalar: "id" (artan), "-id" (azalan), "recent" (zaman azalan, eşitlikte id azalan)
+public class KeysetCursor {
+
+    public static final String SORT_ID = "id";
+    public static final String SORT_ID_DESC = "-id";
+    public static final String SORT_RECENT = "recent";
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    // İlk sayfa için üst sınırlar
+    private static final LocalDateTime MAX_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final String sort;
+    private final LocalDateTime time;
+    private final Long id;
+
+    private KeysetCursor(String sort, LocalDateTime time, Long id) {
+        this.sort = sort;
+        this.time = time;
+        this.id = id;
+    }
+
+    // "after" token'ını çöz; token yoksa ilk sayfa cursor'u döner
+    public static KeysetCursor decode(String after, String sort) {
+        String normalizedSort = normalizeSort(sort);
+        if (after == null || after.isBlank()) {
+            return new KeysetCursor(normalizedSort, null, null);
+        }
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(after), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Geçersiz cursor: " + after);
+        }
+        String[] parts = raw.split("\\|", -1);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Geçersiz cursor: " + after);
+        }
+        if (!parts[0].equals(normalizedSort)) {
+            throw new IllegalArgumentException("Cursor bu sıralama ile kullanılamaz: " + normalizedSort);
+        }
+        try {
+            LocalDateTime time = parts[1].isEmpty() ? null : LocalDateTime.parse(parts[1]);
+            return new KeysetCursor(normalizedSort, time, Long.valueOf(parts[2]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Geçersiz cursor: " + after);
+        }
+    }
+
+    // Son kaydın anahtarlarından sonraki sayfanın token'ını üret
+    public static String encode(String sort, LocalDateTime time, Long id) {
+        String raw = normalizeSort(sort) + "|" + (time != null ? time.toString() : "") + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String normalizeSort(String sort) {
+        if (sort == null || sort.isBlank() || SORT_ID.equals(sort)) {
+            return SORT_ID;
+        }
+        if (SORT_ID_DESC.equals(sort) || SORT_RECENT.equals(sort)) {
+            return sort;
+        }
+        throw new IllegalArgumentException("Geçersiz sıralama: " + sort + " (id, -id, recent)");
+    }
+
+    public static int clampLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    // Artan id sıralamasında başlangıç
+    public Long idAfter() {
+        return id != null ? id : 0L;
+    }
+
+    // Azalan sıralamalarda başlangıç
+    public Long idBefore() {
+        return id != null ? id : Long.MAX_VALUE;
+    }
+
+    public LocalDateTime timeBefore() {
+        return time != null ? time : MAX_TIME;
+    }
+}
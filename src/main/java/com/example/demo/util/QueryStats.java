@@ -0,0 +1,79 @@
+package com.example.demo.util;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Bir HTTP isteği boyunca çalışan SQL ifadelerinin sayısı ve toplam süresi.
+// İstek thread'ine bağlıdır: QueryStatsFilter başlatır, datasource proxy'si her ifadeyi kaydeder.
+// Async gövde yazımında istatistik async thread'e taşınır; aynı anda tek thread yazar.
+public class QueryStats {
+
+    // İstek bittiğinde son durum bu request attribute'unda tutulur (testler okur)
+    public static final String REQUEST_ATTRIBUTE = QueryStats.class.getName();
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private int count;
+    private long totalNanos;
+    private final Map<String, Integer> statements = new HashMap<>();
+
+    public static QueryStats start() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    // İstek dışında (zamanlanmış iş, başlangıç) null
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    // İstek thread'indeki istatistiği async thread'e taşır (StreamingResponseBody gövdesi başka
+    // thread'de yazılır); SqlMonitoringConfig'teki TaskDecorator tarafından kullanılır
+    public static Runnable propagate(Runnable task) {
+        QueryStats stats = current();
+        if (stats == null) {
+            return task;
+        }
+        return () -> {
+            CURRENT.set(stats);
+            try {
+                task.run();
+            } finally {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    public void record(String sql, long nanos) {
+        count++;
+        totalNanos += nanos;
+        statements.merge(sql, 1, Integer::sum);
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getTotalMillis() {
+        return totalNanos / 1_000_000;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    // En çok tekrarlanan ifadeler (N+1 adayları)
+    public List<Map.Entry<String, Integer>> topStatements(int limit) {
+        return statements.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .toList();
+    }
+}
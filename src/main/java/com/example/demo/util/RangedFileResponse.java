@@ -0,0 +1,129 @@
+package com.example.demo.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Dosyayı HTTP cevabına yazar:
+// - ETag / Last-Modified ile koşullu istekler (If-None-Match, If-Modified-Since -> 304)
+// - Tek aralıklı Range istekleri (206, 416); çoklu aralıkta dosyanın tamamı gönderilir
+// - Tomcat sendfile destekliyorsa gövde sıfır kopya ile çekirdek tarafından gönderilir,
+//   aksi halde FileChannel.transferTo ile kopyalanır
+public final class RangedFileResponse {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private RangedFileResponse() {
+    }
+
+    // Gövdede gönderilen byte sayısını döner (304/416/HEAD için 0); dosya yoksa -1 (çağıran 404 verir)
+    // etag null ise boyut + değişiklik zamanından zayıf ETag üretilir (içerik adresli olmayan eski dosyalar)
+    public static long write(HttpServletRequest request, HttpServletResponse response, Path file,
+                                String contentType, String contentDisposition, String etag,
+                                String cacheControl) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return -1;
+        }
+        long length = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        if (etag == null) {
+            etag = "W/\"" + length + "-" + lastModified + "\"";
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        // 304 ise ETag/Last-Modified başlıkları burada yazılır, gövde gönderilmez
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return 0;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        HttpRange range = requestedRange(request, etag, lastModified);
+        if (range != null) {
+            try {
+                start = range.getRangeStart(length);
+                end = range.getRangeEnd(length);
+            } catch (IllegalArgumentException e) {
+                start = length;
+            }
+            if (start >= length || start > end) {
+                // Aralık dosya boyutunun dışında
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return 0;
+            }
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+
+        long count = end - start + 1;
+        response.setContentType(contentType);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, contentDisposition);
+        response.setContentLengthLong(Math.max(count, 0));
+        if (count <= 0 || "HEAD".equals(request.getMethod())) {
+            return 0;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return count;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                position += channel.transferTo(position, end + 1 - position, out);
+            }
+        }
+        return count;
+    }
+
+    // Geçerli tek aralık; If-Range uyuşmuyorsa veya aralık yoksa/çoklu ise null (tam dosya)
+    private static HttpRange requestedRange(HttpServletRequest request, String etag, long lastModified) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            return null;
+        }
+        // If-Range: ETag (güçlü karşılaştırma, zayıf ETag hiç eşleşmez) veya tarih olabilir
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null) {
+            if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+                if (etag.startsWith("W/") || !ifRange.equals(etag)) {
+                    return null;
+                }
+            } else {
+                try {
+                    if (lastModified / 1000 > request.getDateHeader(HttpHeaders.IF_RANGE) / 1000) {
+                        return null;
+                    }
+                } catch (IllegalArgumentException e) {
+                    return null;
+                }
+            }
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
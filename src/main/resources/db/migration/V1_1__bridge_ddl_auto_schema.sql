@@ -0,0 +1,75 @@
+-- Flyway öncesi (ddl-auto=update, IDENTITY ID'li) veritabanlarını V1 şemasına tamamlar.
+-- Bu veritabanları baseline (sürüm 1) ile işaretlendiği için V1 hiç çalışmaz; burada eksik kalan
+-- sequence, tablo, kolon ve indeksler eklenir. Her ifade idempotent: V1 ile oluşturulmuş ya da
+-- zaten güncel olan veritabanlarında hiçbir şey değiştirmez.
+-- V2'den önce çalışmalı (V2 task_progress'e indeks ekler). V2+ uygulanmış veritabanlarında da
+-- çalışabilmesi için spring.flyway.out-of-order=true.
+
+-- IDENTITY yerine pooled sequence (IdGeneration); değerleri IdSequenceInitializer açılışta
+-- tablodaki en büyük ID'nin ilerisine alır
+create sequence if not exists attachments_seq start with 1 increment by 50;
+
+create sequence if not exists employees_seq start with 1 increment by 50;
+
+create sequence if not exists projects_seq start with 1 increment by 50;
+
+create sequence if not exists roles_seq start with 1 increment by 50;
+
+create sequence if not exists subtasks_seq start with 1 increment by 50;
+
+create sequence if not exists tasks_seq start with 1 increment by 50;
+
+create sequence if not exists team_members_seq start with 1 increment by 50;
+
+create sequence if not exists teams_seq start with 1 increment by 50;
+
+-- ID'yi artık uygulama verir; IDENTITY varsayılanı kaldırılır (ID kolonu ve değerleri aynen kalır)
+alter table attachments alter column id drop identity if exists;
+
+alter table employees alter column employee_id drop identity if exists;
+
+alter table projects alter column id drop identity if exists;
+
+alter table roles alter column role_id drop identity if exists;
+
+alter table subtasks alter column id drop identity if exists;
+
+alter table tasks alter column id drop identity if exists;
+
+alter table team_members alter column id drop identity if exists;
+
+alter table teams alter column id drop identity if exists;
+
+-- İçerik adresli ek dosyaları: eski ekler content_hash olmadan kalır ve eski yoldan sunulur
+create table if not exists attachment_blobs (
+    created_at timestamp(6) not null,
+    ref_count bigint not null,
+    size_bytes bigint not null,
+    content_hash varchar(64) not null,
+    primary key (content_hash)
+);
+
+alter table attachments add column if not exists file_size bigint;
+
+alter table attachments add column if not exists content_hash varchar(64);
+
+alter table attachments add column if not exists content_type varchar(100);
+
+create index if not exists idx_attachments_content_hash
+   on attachments (content_hash);
+
+-- İlerleme sayaçları boş başlar; ProgressService eksik projeyi ilk değişiklikte baştan hesaplar
+create table if not exists project_progress (
+    done_count bigint not null,
+    project_id bigint not null,
+    total_count bigint not null,
+    primary key (project_id)
+);
+
+create table if not exists task_progress (
+    done_count bigint not null,
+    project_id bigint not null,
+    task_id bigint not null,
+    total_count bigint not null,
+    primary key (task_id)
+);
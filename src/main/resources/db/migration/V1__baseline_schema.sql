@@ -0,0 +1,222 @@
+-- Başlangıç şeması: Hibernate'in (ddl-auto=update) ürettiği tablolar, sequence'lar ve kısıtlar.
+-- Daha önce ddl-auto ile oluşturulmuş veritabanlarında bu dosya çalışmaz
+-- (spring.flyway.baseline-on-migrate=true, baseline sürümü 1), sonraki sürümler uygulanır.
+
+create sequence attachments_seq start with 1 increment by 50;
+
+create sequence employees_seq start with 1 increment by 50;
+
+create sequence projects_seq start with 1 increment by 50;
+
+create sequence roles_seq start with 1 increment by 50;
+
+create sequence subtasks_seq start with 1 increment by 50;
+
+create sequence tasks_seq start with 1 increment by 50;
+
+create sequence team_members_seq start with 1 increment by 50;
+
+create sequence teams_seq start with 1 increment by 50;
+
+create table attachment_blobs (
+    created_at timestamp(6) not null,
+    ref_count bigint not null,
+    size_bytes bigint not null,
+    content_hash varchar(64) not null,
+    primary key (content_hash)
+);
+
+create table attachments (
+    revision_number float(53) not null,
+    file_size bigint,
+    id bigint not null,
+    task_id bigint not null,
+    uploaded_at timestamp(6) not null,
+    uploaded_by bigint not null,
+    content_hash varchar(64),
+    content_type varchar(100),
+    file_url varchar(500) not null,
+    file_name varchar(255) not null,
+    primary key (id),
+    unique (task_id, revision_number)
+);
+
+create table employees (
+    employee_id bigint not null,
+    role_id bigint not null,
+    email varchar(255) not null unique,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    password varchar(255) not null,
+    phone_number varchar(255) not null unique,
+    primary key (employee_id)
+);
+
+create table project_progress (
+    done_count bigint not null,
+    project_id bigint not null,
+    total_count bigint not null,
+    primary key (project_id)
+);
+
+create table projects (
+    progress numeric(5,2),
+    actual_end_date timestamp(6),
+    assigned_manager bigint,
+    created_at timestamp(6),
+    created_by bigint,
+    employee_id bigint,
+    end_date timestamp(6),
+    id bigint not null,
+    start_date timestamp(6),
+    team_id bigint,
+    updated_at timestamp(6),
+    priority varchar(10) not null check (priority in ('LOW','MEDIUM','HIGH','URGENT')),
+    status varchar(20) not null check (status in ('TODO','IN_PROGRESS','DONE')),
+    description TEXT,
+    name varchar(255) not null,
+    primary key (id)
+);
+
+create table roles (
+    role_id bigint not null,
+    role_name varchar(255) not null unique,
+    primary key (role_id)
+);
+
+create table subtasks (
+    assigned_to bigint,
+    end_date timestamp(6),
+    id bigint not null,
+    start_date timestamp(6),
+    task_id bigint not null,
+    updated_at timestamp(6),
+    status varchar(20) not null check (status in ('TODO','IN_PROGRESS','DONE')),
+    name varchar(200) not null,
+    description TEXT,
+    primary key (id)
+);
+
+create table task_assignments (
+    employee_id bigint not null,
+    task_id bigint not null,
+    primary key (employee_id, task_id)
+);
+
+create table task_progress (
+    done_count bigint not null,
+    project_id bigint not null,
+    task_id bigint not null,
+    total_count bigint not null,
+    primary key (task_id)
+);
+
+create table tasks (
+    created_by bigint not null,
+    end_date timestamp(6),
+    id bigint not null,
+    project_id bigint not null,
+    start_date timestamp(6),
+    updated_at timestamp(6),
+    priority varchar(20) check (priority in ('LOW','MEDIUM','HIGH','URGENT')),
+    title varchar(200) not null,
+    description TEXT,
+    primary key (id)
+);
+
+create table team_members (
+    employee_id bigint not null,
+    id bigint not null,
+    joined_at timestamp(6) not null,
+    team_id bigint not null,
+    role varchar(30) not null check (role in ('MEMBER','TEAM_LEAD')),
+    primary key (id),
+    unique (team_id, employee_id)
+);
+
+create table teams (
+    created_at timestamp(6),
+    id bigint not null,
+    updated_at timestamp(6),
+    name varchar(200) not null,
+    description TEXT,
+    primary key (id)
+);
+
+create index idx_attachments_content_hash
+   on attachments (content_hash);
+
+alter table if exists attachments
+   add constraint FKq4u9ne3x0xtpc5d2jdddv1ii7
+   foreign key (task_id)
+   references tasks;
+
+alter table if exists attachments
+   add constraint FKo77y9p334n5ni7g16jrrh3042
+   foreign key (uploaded_by)
+   references employees;
+
+alter table if exists employees
+   add constraint FKah490190ww1q2a4piuv41hk6e
+   foreign key (role_id)
+   references roles;
+
+alter table if exists projects
+   add constraint FK8sovcuoh12mplv06j3q5bcm85
+   foreign key (assigned_manager)
+   references employees;
+
+alter table if exists projects
+   add constraint FK2ev5ido6vuywsl5u5ei2y0d8r
+   foreign key (created_by)
+   references employees;
+
+alter table if exists projects
+   add constraint FK5mmwf236tiuxvn5w4iwpiv0ce
+   foreign key (employee_id)
+   references employees;
+
+alter table if exists projects
+   add constraint FKmqih0928bq6r3gbuh47giq8w
+   foreign key (team_id)
+   references teams;
+
+alter table if exists subtasks
+   add constraint FKgtnrfis90o57k2i5vqv9mqbyx
+   foreign key (assigned_to)
+   references employees;
+
+alter table if exists subtasks
+   add constraint FKsvs126nsj9ohhvwjog5ddp76x
+   foreign key (task_id)
+   references tasks;
+
+alter table if exists task_assignments
+   add constraint FK82f9jbkuqnx8pyyxetbi2ujj1
+   foreign key (employee_id)
+   references employees;
+
+alter table if exists task_assignments
+   add constraint FKk36vhf9tt6t3woselwnkis6v6
+   foreign key (task_id)
+   references tasks;
+
+alter table if exists tasks
+   add constraint FK3cpsk975cksl8ib7mfhmnkrnr
+   foreign key (created_by)
+   references employees;
+
+alter table if exists tasks
+   add constraint FKsfhn82y57i3k9uxww1s007acc
+   foreign key (project_id)
+   references projects;
+
+alter table if exists team_members
+   add constraint FKjdu9hq2eq8ucq5tjhwpunxvt5
+   foreign key (employee_id)
+   references employees;
+
+alter table if exists team_members
+   add constraint FKtgca08el3ofisywcf11f0f76t
+   foreign key (team_id)
+   references teams;
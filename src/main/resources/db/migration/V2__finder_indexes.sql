@@ -0,0 +1,62 @@
+-- Repository finder'larına göre indeksler (PK ve unique kısıtlar dışında indeks yoktu).
+-- IF NOT EXISTS: ddl-auto döneminde elle eklenmiş aynı isimli indeksler atlanır.
+
+-- Alt görevler
+-- SubTaskRepository.findByTaskId / findByTaskIdAndStatus / countByTaskId(AndStatus), subtasks.task_id FK
+create index if not exists idx_subtasks_task_status on subtasks (task_id, status);
+-- SubTaskRepository.findByAssignedToId / findByAssignedToIdAndStatus
+create index if not exists idx_subtasks_assignee_status on subtasks (assigned_to, status);
+-- SubTaskRepository.findRecentBefore (keyset: updated_at DESC, id DESC)
+create index if not exists idx_subtasks_updated_id on subtasks (updated_at desc, id desc);
+-- Dashboard: geciken alt görevler (tamamlananlar indekse girmez)
+create index if not exists idx_subtasks_open_end_date on subtasks (end_date) where status <> 'DONE';
+
+-- Görevler
+-- TaskRepository.findByProject, tasks.project_id FK
+create index if not exists idx_tasks_project on tasks (project_id);
+-- TaskRepository.findByPriority
+create index if not exists idx_tasks_priority on tasks (priority);
+-- TaskRepository.findByCreatedBy
+create index if not exists idx_tasks_created_by on tasks (created_by);
+-- TaskRepository.findRecentBefore
+create index if not exists idx_tasks_updated_id on tasks (updated_at desc, id desc);
+-- Dashboard: geciken / yaklaşan görevler
+create index if not exists idx_tasks_end_date on tasks (end_date) where end_date is not null;
+
+-- Görev atamaları: PK (employee_id, task_id) çalışana göre aramayı karşılar
+-- (TaskRepository.findByAssignedEmployee); görevin atananlarını yüklemek için ters yön
+create index if not exists idx_task_assignments_task on task_assignments (task_id, employee_id);
+
+-- Projeler
+-- ProjectRepository.findByStatus / findByPriority
+create index if not exists idx_projects_status on projects (status);
+create index if not exists idx_projects_priority on projects (priority);
+-- ProjectRepository.findByTeam / findByEmployee / findByAssignedManager, FK'lar
+create index if not exists idx_projects_team on projects (team_id) where team_id is not null;
+create index if not exists idx_projects_employee on projects (employee_id) where employee_id is not null;
+create index if not exists idx_projects_manager on projects (assigned_manager) where assigned_manager is not null;
+create index if not exists idx_projects_created_by on projects (created_by);
+-- ProjectRepository.findRecentBefore
+create index if not exists idx_projects_updated_id on projects (updated_at desc, id desc);
+-- Dashboard: geciken / yaklaşan açık projeler
+create index if not exists idx_projects_open_end_date on projects (end_date) where status <> 'DONE';
+
+-- Ekler
+-- TaskAttachmentRepository.findByTaskIdOrderByUploadedAtDesc (sıralama indeksten gelir)
+create index if not exists idx_attachments_task_uploaded on attachments (task_id, uploaded_at desc);
+-- TaskAttachmentRepository.findByUploadedById
+create index if not exists idx_attachments_uploaded_by on attachments (uploaded_by);
+-- TaskAttachmentRepository.findRecentBefore
+create index if not exists idx_attachments_uploaded_id on attachments (uploaded_at desc, id desc);
+
+-- Takım üyeleri: unique (team_id, employee_id) takıma göre aramayı karşılar
+-- TeamMemberRepository.findByEmployeeId / findTeamIdsByEmployeeId, TeamRepository.findByMembers
+create index if not exists idx_team_members_employee on team_members (employee_id);
+-- TeamMemberRepository.findRecentBefore
+create index if not exists idx_team_members_joined_id on team_members (joined_at desc, id desc);
+
+-- Çalışanlar: employees.role_id FK
+create index if not exists idx_employees_role on employees (role_id);
+
+-- İlerleme sayaçları: ProgressService.rebuild / projectDeleted (project_id ile toplu işlem)
+create index if not exists idx_task_progress_project on task_progress (project_id);
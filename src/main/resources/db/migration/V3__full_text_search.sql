@@ -0,0 +1,28 @@
+-- Tam metin arama (GET /api/search): her tabloda saklanan (STORED) tsvector kolonu + GIN indeks.
+-- Generated kolonlar satır yazılırken PostgreSQL tarafından güncellenir, ayrı tetikleyici/iş gerekmez.
+-- 'simple' sözlüğü: Türkçe/İngilizce karışık metinde kök bulma yapılmaz, önek araması (:*) kullanılır.
+-- Ağırlık: A = başlık/isim, B = açıklama
+
+alter table projects add column if not exists search_vector tsvector generated always as (
+    setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+) stored;
+create index if not exists idx_projects_search on projects using gin (search_vector);
+
+alter table tasks add column if not exists search_vector tsvector generated always as (
+    setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+) stored;
+create index if not exists idx_tasks_search on tasks using gin (search_vector);
+
+alter table subtasks add column if not exists search_vector tsvector generated always as (
+    setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+) stored;
+create index if not exists idx_subtasks_search on subtasks using gin (search_vector);
+
+-- Dosya adı: "rapor_final-v2.pdf" -> rapor, final, v2, pdf
+alter table attachments add column if not exists search_vector tsvector generated always as (
+    setweight(to_tsvector('simple', regexp_replace(file_name, '[._-]+', ' ', 'g')), 'A')
+) stored;
+create index if not exists idx_attachments_search on attachments using gin (search_vector);
@@ -0,0 +1,10 @@
+-- Çalışan / takım seçicileri için typeahead (GET /api/employees/typeahead, /api/teams/typeahead)
+-- pg_trgm GIN indeksleri hem parça (LIKE '%..%') hem de yazım hatası toleranslı (<%) aramayı karşılar.
+-- İfadeler TrigramTypeaheadIndex sorgularındaki ifadelerle birebir aynı olmalı.
+create extension if not exists pg_trgm;
+
+create index if not exists idx_employees_typeahead on employees
+    using gin (lower(first_name || ' ' || last_name || ' ' || email) gin_trgm_ops);
+
+create index if not exists idx_teams_typeahead on teams
+    using gin (lower(name) gin_trgm_ops);
@@ -0,0 +1,16 @@
+-- sort=recent keyset sorguları (updated_at DESC, id DESC) updated_at'i boş satırları hiç döndürmüyordu.
+-- Boş değerler bilinen en yakın zamanla doldurulur (yoksa 1970: listenin sonuna düşer) ve kolon NOT NULL yapılır;
+-- böylece sorgular ve (updated_at desc, id desc) indeksleri NULLS LAST'e gerek kalmadan tüm satırları kapsar.
+-- uploaded_at (attachments) ve joined_at (team_members) zaten NOT NULL.
+
+update projects set updated_at = coalesce(created_at, start_date, timestamp '1970-01-01')
+ where updated_at is null;
+alter table projects alter column updated_at set not null;
+
+update tasks set updated_at = coalesce(start_date, timestamp '1970-01-01')
+ where updated_at is null;
+alter table tasks alter column updated_at set not null;
+
+update subtasks set updated_at = coalesce(end_date, start_date, timestamp '1970-01-01')
+ where updated_at is null;
+alter table subtasks alter column updated_at set not null;
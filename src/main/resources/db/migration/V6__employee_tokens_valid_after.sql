@@ -0,0 +1,5 @@
+-- Çıkışta çalışanın bu andan (UTC) önce verilmiş refresh token'ları geçersiz olur.
+-- /api/refresh kolonu her yenilemede veritabanından okur; böylece çıkış tüm instance'larda geçerlidir
+-- (token deny-list'i instance'a özel). Hiç çıkış yapmamış çalışanlarda boş.
+
+alter table employees add column tokens_valid_after timestamp(6);
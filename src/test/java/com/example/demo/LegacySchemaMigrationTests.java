@@ -0,0 +1,88 @@
+package com.example.demo;
+
+import com.example.demo.enums.SubTaskStatus;
+import com.example.demo.model.SubTask;
+import com.example.demo.model.Task;
+import com.example.demo.service.SubTaskService;
+import com.example.demo.service.TaskService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Flyway öncesi (ddl-auto=update, IDENTITY) oluşturulmuş veritabanı: uygulama açılırken baseline + V1_1
+// eksikleri tamamlamalı, sonraki sürümler uygulanmalı ve Hibernate şemayı doğrulayabilmeli
+@SpringBootTest(properties = "file.upload-dir=target/test-uploads")
+class LegacySchemaMigrationTests {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private SubTaskService subTaskService;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException, SQLException {
+        postgres = EmbeddedPostgres.builder().start();
+        try (Connection connection = postgres.getPostgresDatabase().getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/legacy/ddl_auto_schema.sql"));
+        }
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void legacySchemaIsBaselinedAndBridged() {
+        List<String> versions = jdbcTemplate.queryForList(
+                "SELECT version FROM flyway_schema_history WHERE success ORDER BY installed_rank", String.class);
+        assertEquals(List.of("1", "1.1", "2", "3", "4", "5", "6"), versions);
+
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns " +
+                "WHERE table_schema = 'public' AND is_identity = 'YES'", Integer.class));
+        assertEquals(8, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.sequences WHERE sequence_name LIKE '%\\_seq'", Integer.class));
+    }
+
+    // Sequence'lar mevcut IDENTITY değerlerinin ilerisinden başlar (IdSequenceInitializer)
+    @Test
+    void newRecordsDoNotCollideWithLegacyIds() {
+        Task legacy = taskService.getTask(1L).orElseThrow();
+        Task task = new Task();
+        task.setTitle("Yeni görev");
+        task.setProject(legacy.getProject());
+        task.setCreatedBy(legacy.getCreatedBy());
+        assertTrue(taskService.createTask(task).getId() > 1L);
+
+        SubTask subTask = new SubTask();
+        subTask.setName("Yeni alt görev");
+        subTask.setStatus(SubTaskStatus.TODO);
+        subTask.setTask(legacy);
+        assertTrue(subTaskService.createSubTask(subTask).getId() > 2L);
+    }
+}
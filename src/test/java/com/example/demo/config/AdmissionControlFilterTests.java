@@ -0,0 +1,63 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Eşzamanlı sınır 1: izin tutulurken gelen istek kısa beklemeden sonra 503 alır
+class AdmissionControlFilterTests {
+
+    private AdmissionControlFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new AdmissionControlFilter();
+        ReflectionTestUtils.setField(filter, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "maxConcurrent", 1);
+        ReflectionTestUtils.setField(filter, "maxWaitMs", 10L);
+        ReflectionTestUtils.setField(filter, "retryAfterSeconds", 1);
+        ReflectionTestUtils.setField(filter, "excludedPaths", List.of("/actuator/**"));
+        filter.init();
+    }
+
+    @Test
+    void synchronousRequestReleasesPermitWhenItReturns() throws Exception {
+        assertEquals(200, perform("/api/projects", (request, response) -> { }).getStatus());
+        assertEquals(200, perform("/api/projects", (request, response) -> { }).getStatus());
+    }
+
+    // StreamingResponseBody: istek thread'i döndükten sonra gövde (ve DB bağlantısı) async thread'de sürer
+    @Test
+    void asyncResponseHoldsPermitUntilCompleted() throws Exception {
+        MockHttpServletRequest streaming = request("/api/tasks");
+        filter.doFilter(streaming, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+
+        MockHttpServletResponse rejected = perform("/api/projects", (request, response) -> { });
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+
+        streaming.getAsyncContext().complete();
+        assertEquals(200, perform("/api/projects", (request, response) -> { }).getStatus());
+    }
+
+    private MockHttpServletResponse perform(String path, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(path), response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setAsyncSupported(true);
+        return request;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.demo.controller;
+
+import com.example.demo.config.TokenAuthenticationFilter;
+import com.example.demo.model.Employee;
+import com.example.demo.model.Role;
+import jakarta.persistence.EntityManager;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Giriş / yenileme / çıkış akışı: token'lar HttpOnly cookie'lerle taşınır
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "file.upload-dir=target/test-uploads"
+})
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+class AuthControllerTests {
+
+    private static final String EMAIL = "ayse@ornek.com";
+    private static final String PASSWORD = "Gizli.Sifre1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void seed() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Role role = new Role("USER");
+            entityManager.persist(role);
+            entityManager.persist(new Employee("Ayşe", "Yılmaz", EMAIL, "(555) 000-0000",
+                    new BCryptPasswordEncoder().encode(PASSWORD), role));
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            entityManager.createQuery("DELETE FROM Employee").executeUpdate();
+            entityManager.createQuery("DELETE FROM Role").executeUpdate();
+        });
+    }
+
+    // Rotasyon: her yenileme yeni refresh token verir, kullanılan bir daha kabul edilmez
+    @Test
+    void refreshRotatesRefreshToken() throws Exception {
+        Cookie first = refreshCookie(login());
+
+        Cookie second = refreshCookie(mockMvc.perform(post("/api/refresh").cookie(first))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accessToken").isString())
+                .andExpect(jsonPath("$.refreshToken").isString())
+                .andReturn());
+        assertNotEquals(first.getValue(), second.getValue());
+
+        mockMvc.perform(post("/api/refresh").cookie(first))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/refresh").cookie(second))
+                .andExpect(status().isOk());
+    }
+
+    // Çıkış çalışanın diğer oturumlarını da kapatır; token'ı bu instance'ta iptal edilmemiş olsa bile
+    // (başka instance'taki oturum) refresh çıkış zamanına bakıp reddeder
+    @Test
+    void logoutInvalidatesRefreshTokensOfOtherSessions() throws Exception {
+        MvcResult session = login();
+        Cookie otherRefresh = refreshCookie(login());
+        // Refresh cookie'si sadece /api/refresh'e gider; çıkış access token'la yapılır
+        assertEquals("/api/refresh", otherRefresh.getPath());
+
+        MvcResult logout = mockMvc.perform(post("/api/logout")
+                        .cookie(session.getResponse().getCookie(TokenAuthenticationFilter.ACCESS_COOKIE)))
+                .andExpect(status().isOk())
+                .andReturn();
+        Cookie cleared = refreshCookie(logout);
+        assertEquals("/api/refresh", cleared.getPath());
+        assertEquals(0, cleared.getMaxAge());
+
+        mockMvc.perform(post("/api/refresh").cookie(otherRefresh))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private MvcResult login() throws Exception {
+        return mockMvc.perform(post("/api/login").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + EMAIL + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+
+    private static Cookie refreshCookie(MvcResult result) {
+        return result.getResponse().getCookie(TokenAuthenticationFilter.REFRESH_COOKIE);
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.demo.controller;
+
+import com.example.demo.enums.SubTaskStatus;
+import com.example.demo.model.Employee;
+import com.example.demo.model.Project;
+import com.example.demo.model.Role;
+import com.example.demo.model.SubTask;
+import com.example.demo.model.Task;
+import com.example.demo.service.SubTaskService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+// Değişiklik akışı (SSE): olaylar commit sonrası, sadece abone olunan projeye göre gönderilir
+// İlerleme sayaçları PostgreSQL'e özgü SQL kullandığı için gömülü PostgreSQL + Flyway şeması
+@SpringBootTest(properties = "file.upload-dir=target/test-uploads")
+@AutoConfigureMockMvc
+class ChangeFeedTests {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SubTaskService subTaskService;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (String table : new String[]{"subtasks", "task_progress", "tasks", "project_progress", "projects",
+                    "employees", "roles"}) {
+                entityManager.createNativeQuery("DELETE FROM " + table).executeUpdate();
+            }
+        });
+    }
+
+    @Test
+    void streamsStatusChangesOfSubscribedProjectOnly() throws Exception {
+        SubTask[] subTasks = new TransactionTemplate(transactionManager).execute(status -> {
+            Role role = new Role("USER");
+            entityManager.persist(role);
+            Employee employee = new Employee("Ad", "Soyad", "feed@ornek.com", "(555) 111-0000", "hash", role);
+            entityManager.persist(employee);
+            return new SubTask[]{seedSubTask(employee, "A"), seedSubTask(employee, "B")};
+        });
+        Long projectA = subTasks[0].getTask().getProject().getId();
+
+        MvcResult result = mockMvc.perform(get("/api/changes").param("projectId", projectA.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MockHttpServletResponse response = result.getResponse();
+
+        subTaskService.updateSubTaskStatus(subTasks[1].getId(), SubTaskStatus.DONE);
+        subTaskService.updateSubTaskStatus(subTasks[0].getId(), SubTaskStatus.IN_PROGRESS);
+        // Rollback olan değişiklik gönderilmez
+        assertThrows(RuntimeException.class, () -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            subTaskService.updateSubTaskStatus(subTasks[0].getId(), SubTaskStatus.DONE);
+            throw new RuntimeException("rollback");
+        }));
+        subTaskService.updateSubTaskStatus(subTasks[0].getId(), SubTaskStatus.TODO);
+
+        String body = awaitContent(response, "\"status\":\"TODO\"");
+        assertTrue(body.contains("event:SUBTASK_STATUS_CHANGED"), body);
+        assertTrue(body.contains("\"id\":" + subTasks[0].getId() + ","), body);
+        assertTrue(body.contains("\"status\":\"IN_PROGRESS\""), body);
+        assertFalse(body.contains("\"id\":" + subTasks[1].getId() + ","), body);
+        assertFalse(body.contains("\"status\":\"DONE\""), body);
+    }
+
+    private SubTask seedSubTask(Employee employee, String name) {
+        Project project = new Project();
+        project.setName("Proje " + name);
+        project.setEmployee(employee);
+        project.setCreatedBy(employee);
+        entityManager.persist(project);
+
+        Task task = new Task();
+        task.setTitle("Görev " + name);
+        task.setProject(project);
+        task.setCreatedBy(employee);
+        entityManager.persist(task);
+
+        SubTask subTask = new SubTask();
+        subTask.setName("Alt görev " + name);
+        subTask.setTask(task);
+        entityManager.persist(subTask);
+        return subTask;
+    }
+
+    // Olaylar ayrı bir thread'den gönderilir
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String body = response.getContentAsString();
+        while (!body.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            body = response.getContentAsString();
+        }
+        return body;
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.demo.controller;
+
+import com.example.demo.model.Employee;
+import com.example.demo.model.Project;
+import com.example.demo.model.Role;
+import com.example.demo.model.SubTask;
+import com.example.demo.model.Task;
+import com.example.demo.model.Team;
+import com.example.demo.model.TeamMember;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+
+import static com.example.demo.util.QueryCountMatchers.atLeastQueries;
+import static com.example.demo.util.QueryCountMatchers.atMostQueries;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Liste endpoint'lerinin SQL sayısı kayıt sayısından bağımsız olmalı (N+1 yok)
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        // Flyway betikleri PostgreSQL'e özgü (kısmi indeksler); H2'de şema Hibernate'ten
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "file.upload-dir=target/test-uploads"
+})
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+class EndpointQueryCountTests {
+
+    private static final int RECORDS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void seed() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Role role = new Role("USER");
+            entityManager.persist(role);
+            for (int i = 0; i < RECORDS; i++) {
+                Employee employee = new Employee("Ad" + i, "Soyad" + i, "user" + i + "@ornek.com",
+                        "(555) 000-000" + i, "hash", role);
+                entityManager.persist(employee);
+
+                Team team = new Team();
+                team.setName("Takım " + i);
+                entityManager.persist(team);
+                TeamMember member = new TeamMember();
+                member.setTeam(team);
+                member.setEmployee(employee);
+                entityManager.persist(member);
+
+                Project project = new Project();
+                project.setName("Proje " + i);
+                project.setEmployee(employee);
+                project.setCreatedBy(employee);
+                project.setAssignedManager(employee);
+                entityManager.persist(project);
+
+                Task task = new Task();
+                task.setTitle("Görev " + i);
+                task.setProject(project);
+                task.setCreatedBy(employee);
+                task.setAssignedEmployees(Set.of(employee));
+                entityManager.persist(task);
+
+                SubTask subTask = new SubTask();
+                subTask.setName("Alt görev " + i);
+                subTask.setTask(task);
+                subTask.setAssignedTo(employee);
+                entityManager.persist(subTask);
+            }
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (String table : new String[]{"attachments", "subtasks", "task_assignments", "tasks", "task_progress",
+                    "project_progress", "projects", "team_members", "teams", "employees", "roles"}) {
+                entityManager.createNativeQuery("DELETE FROM " + table).executeUpdate();
+            }
+        });
+    }
+
+    @Test
+    void projectListDoesNotQueryPerProject() throws Exception {
+        mockMvc.perform(get("/api/projects").param("full", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("X-Query-Count"))
+                .andExpect(atMostQueries(2));
+    }
+
+    // Sayfalı liste: varsayılan özet görünüm, full=true ile entity'ler; ikisinde de sayfa başına sabit sorgu
+    @Test
+    void projectPageDoesNotQueryPerProject() throws Exception {
+        mockMvc.perform(get("/api/projects").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(3))
+                .andExpect(jsonPath("$.items[0].employee.email").value("user0@ornek.com"))
+                .andExpect(jsonPath("$.items[0].employee.role").doesNotExist())
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andExpect(atMostQueries(2));
+        mockMvc.perform(get("/api/projects").param("limit", "3").param("full", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].employee.role.roleName").value("USER"))
+                .andExpect(atMostQueries(2));
+    }
+
+    @Test
+    void taskListDoesNotQueryPerTask() throws Exception {
+        mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(atMostQueries(2));
+    }
+
+    @Test
+    void subTaskListDoesNotQueryPerSubTask() throws Exception {
+        mockMvc.perform(get("/api/subtasks"))
+                .andExpect(status().isOk())
+                .andExpect(atMostQueries(2));
+    }
+
+    // stream=true: aynı içerik, liste oluşturulmadan parça parça yazılır (atananlar batch fetch ile)
+    @Test
+    void taskListStreamsWithAssignees() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/tasks").param("stream", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(RECORDS))
+                .andExpect(jsonPath("$[0].title").value("Görev 0"))
+                .andExpect(jsonPath("$[0].assignedEmployees[0].firstName").value("Ad0"))
+                // Şifre hash'i yanıta yazılmaz
+                .andExpect(jsonPath("$[0].assignedEmployees[0].password").doesNotExist())
+                .andExpect(jsonPath("$[0].project.name").value("Proje 0"))
+                // Akış async thread'de sorgulanır; sayım oraya taşınır
+                .andExpect(atLeastQueries(1))
+                .andExpect(atMostQueries(2));
+    }
+
+    @Test
+    void teamListDoesNotQueryPerTeam() throws Exception {
+        mockMvc.perform(get("/api/teams"))
+                .andExpect(status().isOk())
+                .andExpect(atMostQueries(2));
+    }
+
+    // H2'de bellek içi typeahead indeksi kullanılır (TypeaheadConfig); önek eşleşmesi ilk sırada
+    @Test
+    void employeeTypeaheadRanksPrefixMatchFirst() throws Exception {
+        mockMvc.perform(get("/api/employees/typeahead").param("q", "AD3").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].name").value("Ad3 Soyad3"))
+                .andExpect(atMostQueries(2));
+    }
+}
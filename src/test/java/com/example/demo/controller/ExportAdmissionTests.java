@@ -0,0 +1,80 @@
+package com.example.demo.controller;
+
+import com.example.demo.service.ExportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Dışa aktarma gövdesi async thread'de DB bağlantısıyla yazılır: kabul izni akış bitene kadar tutulmalı
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+        "file.upload-dir=target/test-uploads",
+        "app.admission.max-concurrent=1",
+        "app.admission.max-wait-ms=50"
+})
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+class ExportAdmissionTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ExportService exportService;
+
+    @Test
+    void exportHoldsAdmissionPermitUntilStreamCompletes() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            invocation.<OutputStream>getArgument(3).write("id\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(exportService).export(eq("tasks"), eq("csv"), any(), any());
+
+        MvcResult export = mockMvc.perform(get("/api/export/tasks"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        started.await(10, TimeUnit.SECONDS);
+
+        // İstek thread'i döndü ama dışa aktarma sürüyor: tek izin hâlâ onda
+        mockMvc.perform(get("/api/projects"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+
+        release.countDown();
+        mockMvc.perform(asyncDispatch(export))
+                .andExpect(status().isOk())
+                .andExpect(content().string("id\n"));
+        // Container'ın yaptığı gibi async isteği tamamla; izin onComplete'te bırakılır
+        export.getRequest().getAsyncContext().complete();
+
+        mockMvc.perform(get("/api/projects"))
+                .andExpect(status().isOk());
+    }
+}
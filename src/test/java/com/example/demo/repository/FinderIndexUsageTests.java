@@ -0,0 +1,266 @@
+package com.example.demo.repository;
+
+import com.example.demo.config.SqlMonitoringConfig;
+import com.example.demo.config.TypeaheadConfig;
+import com.example.demo.enums.SubTaskStatus;
+import com.example.demo.enums.TaskPriority;
+import com.example.demo.model.Employee;
+import com.example.demo.model.Project;
+import com.example.demo.model.Team;
+import com.example.demo.service.SearchService;
+import com.example.demo.service.TypeaheadIndex;
+import com.example.demo.util.QueryStats;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Flyway şeması (db/migration) üzerinde sık kullanılan finder'ların SQL'i EXPLAIN edilir;
+// planda Seq Scan (ya da koşulsuz tüm indeks taraması) varsa finder'ı karşılayan indeks eksik demektir.
+// enable_seqscan=off: küçük test verisinde planlayıcı tabloyu taramayı seçebilir, bu ayarla
+// sadece gerçekten kullanılabilir indeks olmadığında Seq Scan kalır.
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({SqlMonitoringConfig.class, SearchService.class, TypeaheadConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FinderIndexUsageTests {
+
+    private static EmbeddedPostgres postgres;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private SubTaskRepository subTaskRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskAttachmentRepository attachmentRepository;
+
+    @Autowired
+    private TeamMemberRepository teamMemberRepository;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private TypeaheadIndex typeaheadIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO roles (role_id, role_name) VALUES (1, 'ADMIN'), (2, 'USER')",
+                "INSERT INTO employees (employee_id, role_id, email, first_name, last_name, password, phone_number) " +
+                "SELECT g, 1 + g % 2, 'user' || g || '@ornek.com', 'Ad' || g, 'Soyad' || g, 'hash', 'tel-' || g " +
+                "FROM generate_series(1, 500) g",
+                "INSERT INTO teams (id, name, created_at) SELECT g, 'Takım ' || g, now() FROM generate_series(1, 50) g",
+                "INSERT INTO team_members (id, team_id, employee_id, role, joined_at) " +
+                "SELECT g, 1 + g % 50, g, 'MEMBER', now() FROM generate_series(1, 500) g",
+                "INSERT INTO projects (id, name, status, priority, created_by, employee_id, team_id, end_date, updated_at) " +
+                "SELECT g, 'Proje ' || g, (ARRAY['TODO','IN_PROGRESS','DONE'])[1 + g % 3], " +
+                "(ARRAY['LOW','MEDIUM','HIGH','URGENT'])[1 + g % 4], 1 + g % 500, " +
+                "CASE WHEN g % 2 = 0 THEN 1 + g % 500 END, CASE WHEN g % 2 = 1 THEN 1 + g % 50 END, " +
+                "now() + g * interval '1 hour', now() FROM generate_series(1, 1000) g",
+                "INSERT INTO tasks (id, title, project_id, created_by, priority, end_date, updated_at) " +
+                "SELECT g, 'Görev ' || g, 1 + g % 1000, 1 + g % 500, (ARRAY['LOW','MEDIUM','HIGH','URGENT'])[1 + g % 4], " +
+                "now() + g * interval '1 hour', now() FROM generate_series(1, 10000) g",
+                "INSERT INTO task_assignments (task_id, employee_id) " +
+                "SELECT g, 1 + g % 500 FROM generate_series(1, 10000) g " +
+                "UNION SELECT g, 1 + (g * 7) % 500 FROM generate_series(1, 10000) g",
+                "INSERT INTO subtasks (id, name, task_id, assigned_to, status, end_date, updated_at) " +
+                "SELECT g, 'Alt görev ' || g, 1 + g % 10000, 1 + g % 500, (ARRAY['TODO','IN_PROGRESS','DONE'])[1 + g % 3], " +
+                "now() + g * interval '1 minute', now() FROM generate_series(1, 50000) g",
+                "INSERT INTO attachments (id, task_id, uploaded_by, file_name, file_url, revision_number, uploaded_at) " +
+                "SELECT g, 1 + g % 10000, 1 + g % 500, 'dosya' || g || '.pdf', '/files/dosya' || g || '.pdf', g, " +
+                "now() - g * interval '1 minute' FROM generate_series(1, 20000) g",
+                "ANALYZE");
+    }
+
+    @Test
+    void subTasksByTaskAndStatusUseIndex() {
+        assertUsesIndexes(() -> subTaskRepository.findByTaskIdAndStatus(42L, SubTaskStatus.TODO));
+    }
+
+    @Test
+    void subTasksByTaskUseIndex() {
+        assertUsesIndexes(() -> subTaskRepository.findByTaskId(42L));
+    }
+
+    @Test
+    void subTasksByAssigneeAndStatusUseIndex() {
+        assertUsesIndexes(() -> subTaskRepository.findByAssignedToIdAndStatus(7L, SubTaskStatus.IN_PROGRESS));
+    }
+
+    @Test
+    void tasksByAssignedEmployeeUseIndex() {
+        assertUsesIndexes(() -> taskRepository.findByAssignedEmployee(7L));
+    }
+
+    @Test
+    void tasksByProjectUseIndex() {
+        Project project = new Project();
+        project.setId(3L);
+        assertUsesIndexes(() -> taskRepository.findByProject(project));
+    }
+
+    @Test
+    void tasksByPriorityUseIndex() {
+        assertUsesIndexes(() -> taskRepository.findByPriority(TaskPriority.URGENT));
+    }
+
+    @Test
+    void projectsByStatusUseIndex() {
+        assertUsesIndexes(() -> projectRepository.findByStatus(SubTaskStatus.IN_PROGRESS));
+    }
+
+    @Test
+    void projectsByPriorityUseIndex() {
+        assertUsesIndexes(() -> projectRepository.findByPriority(TaskPriority.HIGH));
+    }
+
+    @Test
+    void projectsByTeamAndEmployeeUseIndex() {
+        Team team = new Team();
+        team.setId(5L);
+        Employee employee = new Employee();
+        employee.setId(8L);
+        assertUsesIndexes(() -> projectRepository.findByTeam(team));
+        assertUsesIndexes(() -> projectRepository.findByEmployee(employee));
+    }
+
+    @Test
+    void attachmentsByTaskNewestFirstUseIndex() {
+        assertUsesIndexes(() -> attachmentRepository.findByTaskIdOrderByUploadedAtDesc(42L));
+    }
+
+    @Test
+    void teamMembershipsByEmployeeUseIndex() {
+        assertUsesIndexes(() -> teamMemberRepository.findTeamIdsByEmployeeId(7L));
+    }
+
+    @Test
+    void fullTextSearchUsesGinIndexes() {
+        assertUsesIndexes(() -> {
+            List<?> items = (List<?>) searchService.search("görev 42", Set.of(), 0, 20).get("items");
+            assertFalse(items.isEmpty(), "Arama sonuç döndürmedi");
+        });
+        assertUsesIndexes(() -> searchService.search("dosya42", Set.of("ATTACHMENT"), 0, 20));
+    }
+
+    @Test
+    void typeaheadUsesTrigramIndexes() {
+        assertUsesIndexes(() -> assertFalse(typeaheadIndex.findEmployees("soyad42", 10).isEmpty()));
+        // Yazım hatası: "takım" yerine "takm"
+        assertUsesIndexes(() -> assertFalse(typeaheadIndex.findTeams("takm 7", 10).isEmpty()));
+    }
+
+    // Finder'ın çalıştırdığı her SQL için genel (parametresiz) plan alınır
+    private void assertUsesIndexes(Runnable finder) {
+        QueryStats stats = QueryStats.start();
+        try {
+            finder.run();
+        } finally {
+            QueryStats.stop();
+        }
+        List<Map.Entry<String, Integer>> statements = stats.topStatements(Integer.MAX_VALUE);
+        assertFalse(statements.isEmpty(), "Finder SQL çalıştırmadı");
+
+        List<String> problems = new ArrayList<>();
+        for (Map.Entry<String, Integer> statement : statements) {
+            JsonNode plan = explain(statement.getKey()).get(0).get("Plan");
+            collectFullScans(plan, problems, statement.getKey());
+        }
+        assertTrue(problems.isEmpty(), () -> String.join("\n", problems));
+    }
+
+    // Seq Scan veya koşulsuz (Index Cond olmadan, Filter ile) tüm indeksi dolaşan tarama
+    private void collectFullScans(JsonNode node, List<String> problems, String sql) {
+        String type = node.path("Node Type").asText();
+        boolean seqScan = type.equals("Seq Scan");
+        boolean filteredFullIndexScan = (type.equals("Index Scan") || type.equals("Index Only Scan"))
+                && !node.has("Index Cond") && node.has("Filter");
+        if (seqScan || filteredFullIndexScan) {
+            problems.add(type + " on " + node.path("Relation Name").asText() + ": " + sql);
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectFullScans(child, problems, sql);
+        }
+    }
+
+    private JsonNode explain(String sql) {
+        // JDBC '?' yer tutucuları -> $1, $2 ... (GENERIC_PLAN parametre değeri istemez)
+        StringBuilder numbered = new StringBuilder();
+        int param = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++param);
+            } else {
+                numbered.append(c);
+            }
+        }
+        // $n parametreli EXPLAIN sadece simple query protokolüyle gönderilebilir (ayrı bağlantı)
+        try (Connection connection = DriverManager.getConnection(
+                postgres.getJdbcUrl("postgres", "postgres") + "&preferQueryMode=simple");
+             Statement statement = connection.createStatement()) {
+            statement.execute("SET enable_seqscan = off");
+            try (ResultSet rs = statement.executeQuery("EXPLAIN (GENERIC_PLAN, FORMAT JSON) " + numbered)) {
+                rs.next();
+                return objectMapper.readTree(rs.getString(1));
+            }
+        } catch (SQLException | JsonProcessingException e) {
+            throw new AssertionError("EXPLAIN başarısız: " + sql, e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AttachmentStorageServiceTests {
+
+    @TempDir
+    Path uploadDir;
+
+    private AttachmentStorageService storageService;
+
+    @BeforeEach
+    void setUp() {
+        storageService = new AttachmentStorageService();
+        ReflectionTestUtils.setField(storageService, "uploadDir", uploadDir.toString());
+        ReflectionTestUtils.setField(storageService, "maxFileSize", DataSize.ofKilobytes(1));
+    }
+
+    @Test
+    void identicalContentIsStoredOnce() throws Exception {
+        byte[] content = "revizyon çizimi".getBytes(StandardCharsets.UTF_8);
+
+        AttachmentStorageService.StoredFile first = storageService.store(new ByteArrayInputStream(content));
+        AttachmentStorageService.StoredFile second = storageService.store(new ByteArrayInputStream(content));
+
+        assertEquals(first.getContentHash(), second.getContentHash());
+        assertFalse(first.isDeduplicated());
+        assertTrue(second.isDeduplicated());
+        assertEquals(content.length, first.getSize());
+        assertArrayEquals(content, Files.readAllBytes(storageService.resolve(first.getContentHash())));
+        assertEquals(1, countFiles());
+        assertEquals(first.getContentHash(),
+                storageService.hashFromUrl("http://localhost:8080/api/attachments/files/" + first.getContentHash() + "/a.pdf"));
+    }
+
+    @Test
+    void oversizedUploadIsRejectedAndCleanedUp() throws Exception {
+        byte[] content = new byte[2048];
+
+        assertThrows(IllegalArgumentException.class, () -> storageService.store(new ByteArrayInputStream(content)));
+        assertEquals(0, countFiles());
+    }
+
+    private long countFiles() throws Exception {
+        try (Stream<Path> files = Files.walk(uploadDir)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.TokenClaims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthTokenServiceTests {
+
+    private static final String SECRET = "test-anahtari-en-az-otuz-iki-byte-uzunlugunda";
+
+    private AuthTokenService tokenService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        tokenService = newService(SECRET);
+    }
+
+    @Test
+    void issuedTokenCarriesOnlyIdsAndIsVerifiedWithoutLookup() {
+        String token = tokenService.issueAccessToken(42L, 3L);
+
+        TokenClaims claims = tokenService.verify(token, AuthTokenService.ACCESS);
+        assertNotNull(claims);
+        assertEquals(42L, claims.getEmployeeId());
+        assertEquals(3L, claims.getRoleId());
+        // Refresh yerine access token kullanılamaz (ve tersi)
+        assertNull(tokenService.verify(token, AuthTokenService.REFRESH));
+        assertNull(tokenService.verify(tokenService.issueRefreshToken(42L, 3L), AuthTokenService.ACCESS));
+    }
+
+    @Test
+    void tamperedExpiredForeignAndRevokedTokensAreRejected() throws Exception {
+        String token = tokenService.issueAccessToken(42L, 3L);
+        String[] parts = token.split("\\.");
+
+        // İmzası başka bir payload'a taşınan token
+        String other = tokenService.issueAccessToken(1L, 1L).split("\\.")[1];
+        assertNull(tokenService.verify(parts[0] + "." + other + "." + parts[2], AuthTokenService.ACCESS));
+        assertNull(tokenService.verify("bozuk", AuthTokenService.ACCESS));
+        // Farklı anahtarla imzalanmış token
+        assertNull(newService(SECRET + "-baska").verify(token, AuthTokenService.ACCESS));
+
+        ReflectionTestUtils.setField(tokenService, "accessTokenTtl", Duration.ofSeconds(-1));
+        assertNull(tokenService.verify(tokenService.issueAccessToken(42L, 3L), AuthTokenService.ACCESS));
+
+        tokenService.revoke(tokenService.verify(token, AuthTokenService.ACCESS));
+        assertNull(tokenService.verify(token, AuthTokenService.ACCESS));
+    }
+
+    // Refresh rotasyonu: bir token ancak bir kez iptal edilip yerine yenisi alınabilir
+    @Test
+    void tokenIsRevokedOnlyOnce() {
+        TokenClaims claims = tokenService.verify(tokenService.issueRefreshToken(42L, 3L), AuthTokenService.REFRESH);
+
+        assertTrue(tokenService.revoke(claims));
+        assertFalse(tokenService.revoke(claims));
+        assertFalse(tokenService.revoke(null));
+    }
+
+    private static AuthTokenService newService(String secret) throws Exception {
+        AuthTokenService service = new AuthTokenService();
+        ReflectionTestUtils.setField(service, "secret", secret);
+        ReflectionTestUtils.setField(service, "accessTokenTtl", Duration.ofMinutes(15));
+        ReflectionTestUtils.setField(service, "refreshTokenTtl", Duration.ofDays(7));
+        service.init();
+        return service;
+    }
+}
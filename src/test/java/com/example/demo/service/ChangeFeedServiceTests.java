@@ -0,0 +1,111 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ChangeEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Aboneye özel gönderim: okumayan bir istemci diğer aboneleri bekletmez, kuyruğu taşınca RESYNC alır
+class ChangeFeedServiceTests {
+
+    private static final int EVENTS = 600;
+    private static final int BATCH = 100;
+
+    private ChangeFeedService changeFeedService;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        changeFeedService = new ChangeFeedService();
+        ReflectionTestUtils.setField(changeFeedService, "meterRegistry", meterRegistry);
+        changeFeedService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        changeFeedService.stop();
+    }
+
+    @Test
+    void blockedSubscriberDoesNotDelayOthersAndIsResynced() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        RecordingEmitter fast = new RecordingEmitter(null);
+        changeFeedService.subscribe(slow, Set.of(), Set.of(), null);
+        changeFeedService.subscribe(fast, Set.of(), Set.of(), null);
+
+        // Parti parti: hızlı abone her partiyi alırken yavaş abone ilk olayda bloklu kalır
+        for (int sent = 0; sent < EVENTS; sent += BATCH) {
+            for (long id = sent + 1; id <= sent + BATCH; id++) {
+                // Proje ve takım dolu: kapsam için veritabanına gidilmez
+                ChangeEvent event = ChangeEvent.of(ChangeEvent.SUBTASK, ChangeEvent.STATUS_CHANGED, id, 1L, 1L, Map.of());
+                event.setTeamId(1L);
+                changeFeedService.onChange(event);
+            }
+            int expected = sent + BATCH;
+            await(() -> fast.events.size() == expected);
+        }
+        assertEquals(0, slow.events.size());
+        assertTrue(fast.events.stream().noneMatch(name -> name.equals("RESYNC")), fast.events::toString);
+
+        release.countDown();
+        await(() -> slow.events.contains("RESYNC"));
+        // Bloklanan ilk olay, RESYNC ve sonrasında gelenler; taşan olaylar gönderilmez
+        assertEquals("SUBTASK_STATUS_CHANGED", slow.events.get(0));
+        assertEquals("RESYNC", slow.events.get(1));
+        assertTrue(slow.events.size() < EVENTS, () -> String.valueOf(slow.events.size()));
+        assertEquals(1.0, meterRegistry.counter("changes.subscribers.overflow").count());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(condition.getAsBoolean(), "Zaman aşımı");
+    }
+
+    // Gönderilen olay adlarını kaydeder; release verilirse ilk gönderimde ona kadar bekler (okumayan istemci)
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final CountDownLatch release;
+        private final List<String> events = new CopyOnWriteArrayList<>();
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (release != null) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .filter(text -> text.contains("event:"))
+                    .map(text -> text.substring(text.indexOf("event:") + 6, text.indexOf('\n', text.indexOf("event:"))))
+                    .forEach(events::add);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.demo.service;
+
+import com.example.demo.enums.SubTaskStatus;
+import com.example.demo.model.Employee;
+import com.example.demo.model.Project;
+import com.example.demo.model.Role;
+import com.example.demo.model.SubTask;
+import com.example.demo.model.Task;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Dashboard görev sayıları alt görevlerden hesaplanır: ilerleme sayaçları (task_progress) henüz
+// oluşmamış projelerde de tamamlanan görev tamamlanmış, süresi geçmiş sayılmaz
+@SpringBootTest(properties = "file.upload-dir=target/test-uploads")
+class DashboardServiceTests {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void taskStatsAreCountedFromSubTasksWithoutProgressCounters() {
+        LocalDateTime now = LocalDateTime.now();
+        Long upcomingId = new TransactionTemplate(transactionManager).execute(status -> {
+            Role role = new Role("USER");
+            entityManager.persist(role);
+            Employee employee = new Employee("Ad", "Soyad", "pano@ornek.com", "(555) 333-0000", "hash", role);
+            entityManager.persist(employee);
+            Project project = new Project();
+            project.setName("Eski proje");
+            project.setEmployee(employee);
+            project.setCreatedBy(employee);
+            entityManager.persist(project);
+
+            // Süresi geçmiş ama tüm alt görevleri bitmiş: tamamlandı
+            Task finished = task(project, "Bitti", now.minusDays(2));
+            subTask(finished, SubTaskStatus.DONE);
+            subTask(finished, SubTaskStatus.DONE);
+            // Süresi geçmiş, açık alt görevi var
+            Task late = task(project, "Gecikti", now.minusDays(1));
+            subTask(late, SubTaskStatus.DONE);
+            subTask(late, SubTaskStatus.TODO);
+            // Alt görevsiz, yaklaşan
+            return task(project, "Yaklaşıyor", now.plusDays(3)).getId();
+        });
+
+        Map<String, Object> stats = dashboardService.getStats(null, 7, 5);
+
+        Map<String, Object> tasks = (Map<String, Object>) stats.get("tasks");
+        assertEquals(3L, tasks.get("total"));
+        assertEquals(1L, tasks.get("completed"));
+        assertEquals(1L, tasks.get("overdue"));
+        assertEquals(1L, tasks.get("dueSoon"));
+        assertEquals(33L, tasks.get("completionRate"));
+        List<Map<String, Object>> upcoming = (List<Map<String, Object>>) stats.get("upcomingTasks");
+        assertEquals(List.of(upcomingId), upcoming.stream().map(task -> task.get("id")).toList());
+    }
+
+    private Task task(Project project, String title, LocalDateTime endDate) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setProject(project);
+        task.setCreatedBy(project.getCreatedBy());
+        task.setEndDate(endDate);
+        entityManager.persist(task);
+        return task;
+    }
+
+    private void subTask(Task task, SubTaskStatus status) {
+        SubTask subTask = new SubTask();
+        subTask.setName(task.getTitle() + " " + status);
+        subTask.setTask(task);
+        subTask.setStatus(status);
+        entityManager.persist(subTask);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ExportFilter;
+import com.example.demo.enums.SubTaskStatus;
+import com.example.demo.model.Employee;
+import com.example.demo.model.Project;
+import com.example.demo.model.Role;
+import com.example.demo.model.SubTask;
+import com.example.demo.model.Task;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Dışa aktarılan görev durumu ve alt görev sayıları alt görevlerden hesaplanır: ilerleme sayaçları
+// (task_progress / project_progress) henüz oluşmamış projelerde de doğru
+@SpringBootTest(properties = "file.upload-dir=target/test-uploads")
+class ExportServiceTests {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void taskStatusAndCountsComeFromSubTasksWithoutProgressCounters() throws IOException {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Role role = new Role("USER");
+            entityManager.persist(role);
+            Employee employee = new Employee("Ad", "Soyad", "aktarim@ornek.com", "(555) 444-0000", "hash", role);
+            entityManager.persist(employee);
+            Project project = new Project();
+            project.setName("Eski proje");
+            project.setEmployee(employee);
+            project.setCreatedBy(employee);
+            entityManager.persist(project);
+
+            Task done = task(project, "Bitti");
+            subTask(done, SubTaskStatus.DONE);
+            subTask(done, SubTaskStatus.DONE);
+            Task started = task(project, "Sürüyor");
+            subTask(started, SubTaskStatus.DONE);
+            subTask(started, SubTaskStatus.TODO);
+            task(project, "Boş");
+        });
+
+        List<JsonNode> tasks = export("tasks", null);
+        assertEquals(List.of("DONE", "IN_PROGRESS", "TODO"), tasks.stream().map(row -> row.get("status").asText()).toList());
+        assertEquals(List.of(2, 2, 0), tasks.stream().map(row -> row.get("subtask_count").asInt()).toList());
+        assertEquals(List.of(2, 1, 0), tasks.stream().map(row -> row.get("subtask_done_count").asInt()).toList());
+
+        List<JsonNode> done = export("tasks", SubTaskStatus.DONE);
+        assertEquals(List.of("Bitti"), done.stream().map(row -> row.get("title").asText()).toList());
+
+        JsonNode project = export("projects", null).get(0);
+        assertEquals(4, project.get("subtask_count").asInt());
+        assertEquals(3, project.get("subtask_done_count").asInt());
+    }
+
+    private List<JsonNode> export(String entity, SubTaskStatus status) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(entity, "ndjson", new ExportFilter(null, null, status, null, null), out);
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isBlank()) {
+                rows.add(objectMapper.readTree(line));
+            }
+        }
+        return rows;
+    }
+
+    private Task task(Project project, String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setProject(project);
+        task.setCreatedBy(project.getCreatedBy());
+        entityManager.persist(task);
+        return task;
+    }
+
+    private void subTask(Task task, SubTaskStatus status) {
+        SubTask subTask = new SubTask();
+        subTask.setName(task.getTitle() + " " + status);
+        subTask.setTask(task);
+        subTask.setStatus(status);
+        entityManager.persist(subTask);
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.demo.service;
+
+import com.example.demo.config.JacksonConfig;
+import com.example.demo.model.Employee;
+import com.example.demo.model.Project;
+import com.example.demo.model.Role;
+import com.example.demo.model.SubTask;
+import com.example.demo.model.Task;
+import com.example.demo.model.TaskAttachment;
+import com.example.demo.model.Team;
+import com.example.demo.model.TeamMember;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Endpoint'lerin döndürdüğü entity'ler transaction dışında JSON'a yazılırken
+// hiçbir SQL çalışmamalı: gereken ilişkiler entity graph ile önceden yüklenmiş olmalı.
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({JacksonConfig.class, TaskService.class, SubTaskService.class, TaskAttachmentService.class, AttachmentStorageService.class,
+        TeamMemberService.class, ProgressService.class, EntityJsonStreamer.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LazyLoadGuardTests {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private SubTaskService subTaskService;
+
+    @Autowired
+    private TaskAttachmentService attachmentService;
+
+    @Autowired
+    private TeamMemberService teamMemberService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long taskId;
+
+    @BeforeEach
+    void seed() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Role role = new Role("USER");
+            entityManager.persist(role);
+            Employee creator = new Employee("Ayşe", "Yılmaz", "ayse@ornek.com", "(555) 000-0001", "hash", role);
+            Employee assignee = new Employee("Mehmet", "Kaya", "mehmet@ornek.com", "(555) 000-0002", "hash", role);
+            entityManager.persist(creator);
+            entityManager.persist(assignee);
+
+            Project project = new Project();
+            project.setName("Proje");
+            project.setEmployee(creator);
+            project.setCreatedBy(creator);
+            entityManager.persist(project);
+
+            Task task = new Task();
+            task.setTitle("Görev");
+            task.setProject(project);
+            task.setCreatedBy(creator);
+            task.setAssignedEmployees(Set.of(creator, assignee));
+            entityManager.persist(task);
+            taskId = task.getId();
+
+            SubTask subTask = new SubTask();
+            subTask.setName("Alt görev");
+            subTask.setTask(task);
+            subTask.setAssignedTo(assignee);
+            entityManager.persist(subTask);
+
+            TaskAttachment attachment = new TaskAttachment();
+            attachment.setFileUrl("http://localhost:8080/api/attachments/files/a.pdf");
+            attachment.setFileName("a.pdf");
+            attachment.setRevisionNumber(1.0);
+            attachment.setTask(task);
+            attachment.setUploadedBy(assignee);
+            entityManager.persist(attachment);
+
+            Team team = new Team();
+            team.setName("Takım");
+            entityManager.persist(team);
+            TeamMember member = new TeamMember();
+            member.setTeam(team);
+            member.setEmployee(assignee);
+            entityManager.persist(member);
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (String table : new String[]{"attachments", "subtasks", "task_assignments", "tasks", "task_progress",
+                    "project_progress", "projects", "team_members", "teams", "employees", "roles"}) {
+                entityManager.createNativeQuery("DELETE FROM " + table).executeUpdate();
+            }
+        });
+    }
+
+    @Test
+    void tasksSerializeWithoutLazyLoads() {
+        String json = serializeWithoutQueries(() -> taskService.getAllTasks());
+        assertTrue(json.contains("\"Mehmet\""), json);
+        assertTrue(json.contains("\"title\":\"Görev\""), json);
+        assertTrue(json.contains("\"name\":\"Proje\""), json);
+    }
+
+    @Test
+    void tasksPageSerializesWithoutLazyLoads() {
+        String json = serializeWithoutQueries(() -> taskService.getTasksPage(null, 10, null));
+        assertTrue(json.contains("\"Mehmet\""), json);
+    }
+
+    @Test
+    void subTasksSerializeWithoutLazyLoads() {
+        Task task = new Task();
+        task.setId(taskId);
+        String json = serializeWithoutQueries(() -> subTaskService.getSubTasksByTask(task));
+        assertTrue(json.contains("\"assignedTo\":{"), json);
+        assertTrue(json.contains("\"Mehmet\""), json);
+    }
+
+    @Test
+    void attachmentsSerializeWithoutLazyLoads() {
+        String json = serializeWithoutQueries(() -> attachmentService.getAttachmentsByTask(taskId));
+        assertTrue(json.contains("\"title\":\"Görev\""), json);
+        assertTrue(json.contains("\"Mehmet\""), json);
+    }
+
+    @Test
+    void teamMembersSerializeWithoutLazyLoads() {
+        String json = serializeWithoutQueries(() -> teamMemberService.getAllTeamMembers());
+        assertTrue(json.contains("\"name\":\"Takım\""), json);
+        assertTrue(json.contains("\"Mehmet\""), json);
+    }
+
+    // Servis çağrısı kendi transaction'ında çalışır; JSON'a yazma aşamasında SQL sayısı 0 olmalı
+    private String serializeWithoutQueries(Supplier<Object> call) {
+        Object result = call.get();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        try {
+            String json = objectMapper.writeValueAsString(result);
+            assertEquals(0, statistics.getPrepareStatementCount(), "JSON yazılırken lazy yükleme yapıldı");
+            return json;
+        } catch (Exception e) {
+            throw new AssertionError("JSON yazılamadı: " + e.getMessage(), e);
+        }
+    }
+}
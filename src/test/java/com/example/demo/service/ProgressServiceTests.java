@@ -0,0 +1,296 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.SubTaskStatusUpdate;
+import com.example.demo.enums.SubTaskStatus;
+import com.example.demo.model.Employee;
+import com.example.demo.model.Project;
+import com.example.demo.model.Role;
+import com.example.demo.model.SubTask;
+import com.example.demo.model.Task;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// İlerleme sayaçları: her artırımlı güncellemeden sonra sayaçlar, baştan hesaplanan değerle aynı olmalı
+// Sayaç SQL'i PostgreSQL'e özgü olduğu için gömülü PostgreSQL + Flyway şeması
+@SpringBootTest(properties = "file.upload-dir=target/test-uploads")
+class ProgressServiceTests {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private SubTaskService subTaskService;
+
+    @Autowired
+    private ProgressService progressService;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (String table : new String[]{"subtasks", "task_progress", "tasks", "project_progress", "projects",
+                    "employees", "roles"}) {
+                entityManager.createNativeQuery("DELETE FROM " + table).executeUpdate();
+            }
+        });
+    }
+
+    @Test
+    void countersFollowCreateStatusChangeDeleteAndMove() {
+        Project[] projects = new TransactionTemplate(transactionManager).execute(status -> {
+            Role role = new Role("USER");
+            entityManager.persist(role);
+            Employee employee = new Employee("Ad", "Soyad", "ilerleme@ornek.com", "(555) 222-0000", "hash", role);
+            entityManager.persist(employee);
+            return new Project[]{seedProject(employee, "1"), seedProject(employee, "2")};
+        });
+        Long p1 = projects[0].getId();
+        Long p2 = projects[1].getId();
+        Task a = taskService.createTask(newTask(projects[0], "A"));
+        Task b = taskService.createTask(newTask(projects[0], "B"));
+        Task c = taskService.createTask(newTask(projects[1], "C"));
+        assertProgress(p1, "0.00");
+
+        SubTask s1 = subTaskService.createSubTask(newSubTask(a, "s1", SubTaskStatus.TODO));
+        SubTask s2 = subTaskService.createSubTask(newSubTask(a, "s2", SubTaskStatus.DONE));
+        SubTask s3 = subTaskService.createSubTask(newSubTask(b, "s3", SubTaskStatus.DONE));
+        // A: 1/2, B: 1/1
+        assertProgress(p1, "66.67");
+
+        subTaskService.updateSubTaskStatus(s1.getId(), SubTaskStatus.DONE);
+        assertProgress(p1, "100.00");
+
+        // B alt görevsiz kalınca tekrar tek (tamamlanmamış) kalem sayılır
+        subTaskService.deleteSubTask(s3.getId());
+        assertProgress(p1, "66.67");
+
+        // Başka projedeki göreve taşıma: A: 1/1, B: 0/1 | C: 1/1
+        SubTask moved = subTaskService.getSubTask(s2.getId()).orElseThrow();
+        moved.setTask(c);
+        subTaskService.updateSubTask(moved);
+        assertProgress(p1, "50.00");
+        assertProgress(p2, "100.00");
+
+        // Aynı proje içinde taşıma + durum değişikliği: A alt görevsiz (0/1), B: 0/1
+        SubTask reparented = subTaskService.getSubTask(s1.getId()).orElseThrow();
+        reparented.setTask(b);
+        reparented.setStatus(SubTaskStatus.IN_PROGRESS);
+        subTaskService.updateSubTask(reparented);
+        assertProgress(p1, "0.00");
+        assertProgress(p2, "100.00");
+    }
+
+    // Sayacı olmayan (eski) proje: ilk değişiklikte baştan hesaplanır, yeni alt görev de sayılır
+    @Test
+    void missingCountersAreRebuiltIncludingTheNewSubTask() {
+        Project project = new TransactionTemplate(transactionManager).execute(status -> {
+            Role role = new Role("USER");
+            entityManager.persist(role);
+            Employee employee = new Employee("Ad", "Soyad", "eski@ornek.com", "(555) 222-0001", "hash", role);
+            entityManager.persist(employee);
+            return seedProject(employee, "eski");
+        });
+        Task task = taskService.createTask(newTask(project, "A"));
+        subTaskService.createSubTask(newSubTask(task, "s1", SubTaskStatus.DONE));
+        jdbcTemplate.update("DELETE FROM task_progress");
+        jdbcTemplate.update("DELETE FROM project_progress");
+
+        subTaskService.createSubTask(newSubTask(task, "s2", SubTaskStatus.TODO));
+        assertProgress(project.getId(), "50.00");
+    }
+
+    // Toplu durum güncellemesi sayacı olmayan projenin iki görevine dokunuyor: proje bir kez baştan
+    // hesaplanır, ikinci görevin farkı üzerine tekrar eklenmez
+    @Test
+    void batchStatusUpdateRebuildsMissingCountersOncePerProject() {
+        Project project = new TransactionTemplate(transactionManager).execute(status -> {
+            Role role = new Role("USER");
+            entityManager.persist(role);
+            Employee employee = new Employee("Ad", "Soyad", "toplu@ornek.com", "(555) 222-0002", "hash", role);
+            entityManager.persist(employee);
+            return seedProject(employee, "toplu");
+        });
+        Task a = taskService.createTask(newTask(project, "A"));
+        Task b = taskService.createTask(newTask(project, "B"));
+        SubTask s1 = subTaskService.createSubTask(newSubTask(a, "s1", SubTaskStatus.TODO));
+        SubTask s2 = subTaskService.createSubTask(newSubTask(a, "s2", SubTaskStatus.TODO));
+        SubTask s3 = subTaskService.createSubTask(newSubTask(b, "s3", SubTaskStatus.TODO));
+        jdbcTemplate.update("DELETE FROM task_progress");
+        jdbcTemplate.update("DELETE FROM project_progress");
+
+        subTaskService.updateSubTaskStatuses(List.of(
+                new SubTaskStatusUpdate(s1.getId(), SubTaskStatus.DONE),
+                new SubTaskStatusUpdate(s3.getId(), SubTaskStatus.DONE)));
+        // A: 1/2, B: 1/1
+        assertProgress(project.getId(), "66.67");
+
+        subTaskService.updateSubTaskStatuses(List.of(
+                new SubTaskStatusUpdate(s2.getId(), SubTaskStatus.DONE),
+                new SubTaskStatusUpdate(s3.getId(), SubTaskStatus.IN_PROGRESS)));
+        assertProgress(project.getId(), "66.67");
+    }
+
+    // Aynı alt görevi değiştiren eşzamanlı iki toplu güncelleme: ikincisi birincinin commit'ini bekler
+    // ve farkı güncel durumdan hesaplar (TODO -> DONE iki kez sayılmaz)
+    @Test
+    void concurrentBatchStatusUpdatesDoNotDoubleCount() throws Exception {
+        Project project = new TransactionTemplate(transactionManager).execute(status -> {
+            Role role = new Role("USER");
+            entityManager.persist(role);
+            Employee employee = new Employee("Ad", "Soyad", "eszamanli@ornek.com", "(555) 222-0003", "hash", role);
+            entityManager.persist(employee);
+            return seedProject(employee, "eşzamanlı");
+        });
+        Task task = taskService.createTask(newTask(project, "A"));
+        SubTask s1 = subTaskService.createSubTask(newSubTask(task, "s1", SubTaskStatus.TODO));
+        subTaskService.createSubTask(newSubTask(task, "s2", SubTaskStatus.TODO));
+        List<SubTaskStatusUpdate> done = List.of(new SubTaskStatusUpdate(s1.getId(), SubTaskStatus.DONE));
+
+        assertNoDoubleCount(() -> subTaskService.updateSubTaskStatuses(done));
+        assertProgress(project.getId(), "50.00");
+    }
+
+    // Tek alt görev durum güncellemesinde aynı yarış
+    @Test
+    void concurrentStatusUpdatesDoNotDoubleCount() throws Exception {
+        Project project = new TransactionTemplate(transactionManager).execute(status -> {
+            Role role = new Role("USER");
+            entityManager.persist(role);
+            Employee employee = new Employee("Ad", "Soyad", "tekli@ornek.com", "(555) 222-0004", "hash", role);
+            entityManager.persist(employee);
+            return seedProject(employee, "tekli");
+        });
+        Task task = taskService.createTask(newTask(project, "A"));
+        SubTask s1 = subTaskService.createSubTask(newSubTask(task, "s1", SubTaskStatus.TODO));
+        subTaskService.createSubTask(newSubTask(task, "s2", SubTaskStatus.TODO));
+
+        assertNoDoubleCount(() -> subTaskService.updateSubTaskStatus(s1.getId(), SubTaskStatus.DONE));
+        assertProgress(project.getId(), "50.00");
+    }
+
+    // update ilk transaction'da çalışır ve commit bekletilir; aynı update ikinci thread'de kilitte beklemeli
+    private void assertNoDoubleCount(Runnable update) throws Exception {
+        CountDownLatch updated = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> new TransactionTemplate(transactionManager)
+                    .executeWithoutResult(status -> {
+                        update.run();
+                        updated.countDown();
+                        await(commit);
+                    }));
+            await(updated);
+            Future<?> second = executor.submit(update);
+            // İkinci istek satır kilidinde bekliyor
+            Thread.sleep(300);
+            assertFalse(second.isDone());
+
+            commit.countDown();
+            first.get(10, TimeUnit.SECONDS);
+            second.get(10, TimeUnit.SECONDS);
+        } finally {
+            commit.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS), "Zaman aşımı");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Artırımlı sayaçlar = baştan hesaplanan sayaçlar; projects.progress beklenen değerde
+    private void assertProgress(Long projectId, String expected) {
+        List<Map<String, Object>> incremental = counters(projectId);
+        progressService.rebuild(projectId);
+        assertEquals(counters(projectId), incremental);
+        assertEquals(new BigDecimal(expected),
+                jdbcTemplate.queryForObject("SELECT progress FROM projects WHERE id = ?", BigDecimal.class, projectId));
+    }
+
+    private List<Map<String, Object>> counters(Long projectId) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT task_id, done_count, total_count FROM task_progress WHERE project_id = ? ORDER BY task_id",
+                projectId);
+        rows.addAll(jdbcTemplate.queryForList(
+                "SELECT project_id, done_count, total_count FROM project_progress WHERE project_id = ?", projectId));
+        return rows;
+    }
+
+    private Project seedProject(Employee employee, String name) {
+        Project project = new Project();
+        project.setName("Proje " + name);
+        project.setEmployee(employee);
+        project.setCreatedBy(employee);
+        entityManager.persist(project);
+        return project;
+    }
+
+    private static Task newTask(Project project, String title) {
+        Task task = new Task();
+        task.setTitle("Görev " + title);
+        task.setProject(project);
+        task.setCreatedBy(project.getCreatedBy());
+        return task;
+    }
+
+    private static SubTask newSubTask(Task task, String name, SubTaskStatus status) {
+        SubTask subTask = new SubTask();
+        subTask.setName(name);
+        subTask.setTask(task);
+        subTask.setStatus(status);
+        return subTask;
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.demo.service;
+
+import com.example.demo.enums.SubTaskStatus;
+import com.example.demo.model.Employee;
+import com.example.demo.model.Project;
+import com.example.demo.model.Role;
+import com.example.demo.model.SubTask;
+import com.example.demo.model.Task;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Proje klonlama görev, atama ve alt görevleri native SQL ile kopyalar: ID'ler Hibernate'in sonradan
+// ayıracaklarıyla çakışmamalı, tarihler kaydırılmalı, ilerleme sayaçları yeni proje için kurulmalı
+@SpringBootTest(properties = "file.upload-dir=target/test-uploads")
+class ProjectServiceTests {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 5, 9, 0);
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void cloneCopiesTasksShiftsDatesAndRebuildsProgress() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long sourceId = tx.execute(status -> {
+            Role role = new Role("USER");
+            entityManager.persist(role);
+            Employee employee = new Employee("Ad", "Soyad", "klon@ornek.com", "(555) 666-0000", "hash", role);
+            entityManager.persist(employee);
+            Project project = new Project();
+            project.setName("Kaynak");
+            project.setStatus(SubTaskStatus.IN_PROGRESS);
+            project.setStartDate(START);
+            project.setEmployee(employee);
+            project.setCreatedBy(employee);
+            entityManager.persist(project);
+
+            Task design = task(project, "Tasarım", Set.of(employee));
+            subTask(design, SubTaskStatus.DONE);
+            subTask(design, SubTaskStatus.DONE);
+            Task build = task(project, "Yapım", Set.of());
+            subTask(build, SubTaskStatus.TODO);
+            return project.getId();
+        });
+
+        Project reset = projectService.cloneProject(sourceId, "Sıfırdan", START.plusDays(7), true);
+        Project copy = projectService.cloneProject(sourceId, null, null, false);
+
+        // Sıfırlanan kopya: durumlar TODO, bitiş kayıtları yok, tarihler bir hafta ileride
+        assertEquals(SubTaskStatus.TODO, reset.getStatus());
+        assertEquals(START.plusDays(7), reset.getStartDate());
+        List<Map<String, Object>> resetSubTasks = jdbcTemplate.queryForList(
+                "SELECT s.status, s.end_date FROM subtasks s JOIN tasks t ON t.id = s.task_id WHERE t.project_id = ?",
+                reset.getId());
+        assertEquals(3, resetSubTasks.size());
+        for (Map<String, Object> row : resetSubTasks) {
+            assertEquals("TODO", row.get("status"));
+            assertNull(row.get("end_date"));
+        }
+        assertEquals(subTaskStarts(sourceId).stream().map(start -> start.plusDays(7)).toList(),
+                subTaskStarts(reset.getId()));
+        assertEquals(List.of(START.plusDays(7).plusDays(10)), jdbcTemplate.queryForList(
+                "SELECT end_date FROM tasks WHERE project_id = ? AND title = 'Tasarım'", LocalDateTime.class, reset.getId()));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM task_assignments a JOIN tasks t ON t.id = a.task_id WHERE t.project_id = ?",
+                Integer.class, reset.getId()));
+
+        // İlerleme sayaçları kopyalanan alt görevlerden kurulur
+        assertEquals(List.of(0L, 3L), progressCounts(reset.getId()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(reset.getProgress()));
+        assertEquals("Kaynak (Kopya)", copy.getName());
+        assertEquals(SubTaskStatus.IN_PROGRESS, copy.getStatus());
+        assertEquals(List.of(2L, 3L), progressCounts(copy.getId()));
+        assertEquals(0, new BigDecimal("66.67").compareTo(copy.getProgress()));
+
+        // Klonun ID'leri Hibernate'in sonraki insert'leriyle çakışmaz
+        List<Long> clonedProjectIds = List.of(reset.getId(), copy.getId());
+        List<Long> clonedTaskIds = jdbcTemplate.queryForList(
+                "SELECT id FROM tasks WHERE project_id IN (?, ?)", Long.class, reset.getId(), copy.getId());
+        List<Long> clonedSubTaskIds = jdbcTemplate.queryForList(
+                "SELECT s.id FROM subtasks s JOIN tasks t ON t.id = s.task_id WHERE t.project_id IN (?, ?)",
+                Long.class, reset.getId(), copy.getId());
+        assertEquals(4, clonedTaskIds.size());
+        assertEquals(6, clonedSubTaskIds.size());
+        SubTask later = tx.execute(status -> {
+            Project source = entityManager.find(Project.class, sourceId);
+            Project project = new Project();
+            project.setName("Sonradan");
+            project.setEmployee(source.getEmployee());
+            project.setCreatedBy(source.getCreatedBy());
+            entityManager.persist(project);
+            Task task = task(project, "Sonradan", Set.of());
+            return subTask(task, SubTaskStatus.TODO);
+        });
+        assertFalse(clonedProjectIds.contains(later.getTask().getProject().getId()));
+        assertFalse(clonedTaskIds.contains(later.getTask().getId()));
+        assertFalse(clonedSubTaskIds.contains(later.getId()));
+    }
+
+    private List<LocalDateTime> subTaskStarts(Long projectId) {
+        return jdbcTemplate.queryForList(
+                "SELECT s.start_date FROM subtasks s JOIN tasks t ON t.id = s.task_id WHERE t.project_id = ? " +
+                "ORDER BY s.start_date", LocalDateTime.class, projectId);
+    }
+
+    private List<Long> progressCounts(Long projectId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT done_count, total_count FROM project_progress WHERE project_id = ?",
+                (rs, i) -> List.of(rs.getLong(1), rs.getLong(2)), projectId);
+    }
+
+    private Task task(Project project, String title, Set<Employee> assignees) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setProject(project);
+        task.setCreatedBy(project.getCreatedBy());
+        task.setAssignedEmployees(assignees);
+        task.setStartDate(START.plusDays(1));
+        task.setEndDate(START.plusDays(10));
+        entityManager.persist(task);
+        return task;
+    }
+
+    private SubTask subTask(Task task, SubTaskStatus status) {
+        SubTask subTask = new SubTask();
+        subTask.setName(task.getTitle() + " " + status);
+        subTask.setTask(task);
+        subTask.setStatus(status);
+        subTask.setEndDate(status == SubTaskStatus.DONE ? START.plusDays(2) : null);
+        entityManager.persist(subTask);
+        return subTask;
+    }
+}
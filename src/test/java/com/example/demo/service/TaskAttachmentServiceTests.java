@@ -0,0 +1,91 @@
+package com.example.demo.service;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+// Kullanılmayan içeriğin dosyası silinirken aynı içerik yeniden yüklenirse: yükleme ya dosyanın gittiğini
+// görüp hata verir ya da dosya silinmez; başarılı yüklemenin dosyası sonradan silinmemeli
+@SpringBootTest(properties = "file.upload-dir=target/test-uploads")
+class TaskAttachmentServiceTests {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private TaskAttachmentService attachmentService;
+
+    @MockitoSpyBean
+    private AttachmentStorageService storageService;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void reuploadDuringFileDeletionNeverKeepsAMissingFile() throws Exception {
+        byte[] content = ("çizim " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+        String hash = attachmentService.storeFile(new ByteArrayInputStream(content)).getContentHash();
+
+        // Temizlik kaydı siler, dosyayı silmek üzereyken bekler
+        CountDownLatch deleting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            deleting.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(storageService).delete(anyString());
+        CompletableFuture<Integer> sweep = CompletableFuture.supplyAsync(
+                () -> attachmentService.sweepUnusedBlobs(LocalDateTime.now().plusMinutes(1), 10));
+        assertTrue(deleting.await(10, TimeUnit.SECONDS));
+
+        // Aynı içerik yeniden yüklenir: dosya henüz diskte (tekilleştirilir), kayıt yeniden oluşur
+        CompletableFuture<AttachmentStorageService.StoredFile> upload = CompletableFuture.supplyAsync(() -> {
+            try {
+                return attachmentService.storeFile(new ByteArrayInputStream(content));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        // Silme bitene kadar yükleme kaydı tamamlayamaz
+        assertThrows(TimeoutException.class, () -> upload.get(300, TimeUnit.MILLISECONDS));
+
+        release.countDown();
+        sweep.get(10, TimeUnit.SECONDS);
+        ExecutionException failed = assertThrows(ExecutionException.class, () -> upload.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, failed.getCause().getCause());
+        assertFalse(Files.exists(storageService.resolve(hash)));
+    }
+}
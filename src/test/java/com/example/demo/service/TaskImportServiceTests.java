@@ -0,0 +1,121 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ChangeEvent;
+import com.example.demo.dto.ImportResult;
+import com.example.demo.model.Employee;
+import com.example.demo.model.Project;
+import com.example.demo.model.Role;
+import com.example.demo.model.SubTask;
+import com.example.demo.model.Task;
+import com.example.demo.model.Team;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// İçe aktarma ID'leri SQL'de pooled sequence bloklarından ayırır: hiç çağrılmamış sequence'ın ilk değeri
+// sıfır/negatif ID vermemeli, sonradan Hibernate'in ayırdığı ID'lerle çakışmamalı. İçe aktarma olayı projenin
+// takımını taşır (takım filtreli abonelikler)
+@SpringBootTest(properties = "file.upload-dir=target/test-uploads")
+@RecordApplicationEvents
+class TaskImportServiceTests {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskImportService taskImportService;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void importAllocatesPositiveIdsOnFreshSequencesAndPublishesTeamScopedEvent() throws IOException {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Project project = tx.execute(status -> {
+            Role role = new Role("USER");
+            entityManager.persist(role);
+            Employee employee = new Employee("Ad", "Soyad", "aktar@ornek.com", "(555) 555-0000", "hash", role);
+            entityManager.persist(employee);
+            Team team = new Team();
+            team.setName("Aktarım");
+            entityManager.persist(team);
+            Project created = new Project();
+            created.setName("İçe aktarılan");
+            created.setTeam(team);
+            created.setCreatedBy(employee);
+            entityManager.persist(created);
+            return created;
+        });
+
+        String csv = "task,subtask,status\nBirinci,A,DONE\nBirinci,B,TODO\nİkinci,C,TODO\n";
+        ImportResult result = taskImportService.importCsv(project.getId(), project.getCreatedBy().getId(),
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(2, result.getImportedTasks());
+        assertEquals(3, result.getImportedSubTasks());
+        // Takım filtresiyle abone olanlar olayı almalı: olay projenin takımını taşır
+        ChangeEvent imported = events.stream(ChangeEvent.class)
+                .filter(event -> ChangeEvent.IMPORTED.equals(event.getAction()))
+                .findFirst().orElseThrow();
+        assertEquals(project.getTeam().getId(), imported.getTeamId());
+
+        List<Long> taskIds = jdbcTemplate.queryForList("SELECT id FROM tasks", Long.class);
+        List<Long> subTaskIds = jdbcTemplate.queryForList("SELECT id FROM subtasks", Long.class);
+        assertTrue(taskIds.stream().allMatch(id -> id > 0), "görev ID'leri: " + taskIds);
+        assertTrue(subTaskIds.stream().allMatch(id -> id > 0), "alt görev ID'leri: " + subTaskIds);
+
+        SubTask later = tx.execute(status -> {
+            Task task = new Task();
+            task.setTitle("Sonradan");
+            task.setProject(entityManager.find(Project.class, project.getId()));
+            task.setCreatedBy(entityManager.find(Employee.class, project.getCreatedBy().getId()));
+            entityManager.persist(task);
+            SubTask subTask = new SubTask();
+            subTask.setName("Sonradan");
+            subTask.setTask(task);
+            entityManager.persist(subTask);
+            return subTask;
+        });
+        assertFalse(taskIds.contains(later.getTask().getId()));
+        assertFalse(subTaskIds.contains(later.getId()));
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.demo.service;
+
+import com.example.demo.config.TypeaheadConfig;
+import com.example.demo.enums.TeamRole;
+import com.example.demo.model.Employee;
+import com.example.demo.model.Role;
+import com.example.demo.model.Team;
+import com.example.demo.model.TeamMember;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@Import({TeamService.class, TypeaheadConfig.class})
+class TeamRosterTests {
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private int employeeSeq = 0;
+
+    @Test
+    void rosterQueryCountDoesNotGrowWithTeams() {
+        Role role = new Role("USER");
+        entityManager.persist(role);
+
+        seedTeams(role, 2, 3);
+        long fewTeams = countStatements();
+
+        seedTeams(role, 20, 3);
+        long manyTeams = countStatements();
+
+        assertEquals(2, fewTeams);
+        assertEquals(fewTeams, manyTeams);
+    }
+
+    @Test
+    void rosterKeepsTeamJsonShape() {
+        Role role = new Role("USER");
+        entityManager.persist(role);
+        seedTeams(role, 1, 2);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Map<String, Object>> roster = teamService.getTeamRoster();
+
+        assertEquals(1, roster.size());
+        Map<String, Object> team = roster.get(0);
+        assertEquals("Team 0", team.get("name"));
+        List<?> members = (List<?>) team.get("members");
+        assertEquals(2, members.size());
+        Map<?, ?> member = (Map<?, ?>) members.get(0);
+        assertEquals(TeamRole.MEMBER, member.get("role"));
+        assertEquals(List.of("email", "firstName", "id", "joinedAt", "lastName", "role"),
+                member.keySet().stream().map(Object::toString).sorted().toList());
+    }
+
+    private void seedTeams(Role role, int teamCount, int membersPerTeam) {
+        for (int i = 0; i < teamCount; i++) {
+            Team team = new Team();
+            team.setName("Team " + i);
+            entityManager.persist(team);
+            for (int j = 0; j < membersPerTeam; j++) {
+                int n = employeeSeq++;
+                Employee employee = new Employee("Ad" + n, "Soyad" + n, "user" + n + "@ornek.com",
+                        "(555) 000-" + String.format("%04d", n), "hash", role);
+                entityManager.persist(employee);
+
+                TeamMember member = new TeamMember();
+                member.setTeam(team);
+                member.setEmployee(employee);
+                entityManager.persist(member);
+            }
+        }
+    }
+
+    // Persistence context temizlenip roster okunur; çalışan SQL sayısı döner
+    private long countStatements() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        teamService.getTeamRoster();
+        return statistics.getPrepareStatementCount();
+    }
+}
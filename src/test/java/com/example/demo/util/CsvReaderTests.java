@@ -0,0 +1,32 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTests {
+
+    @Test
+    void readsQuotedFieldsAndTracksLines() throws Exception {
+        CsvReader csv = new CsvReader(new StringReader(
+                "\uFEFFtask,subtask\r\n\"Kurulum, ilk\",\"Sunucu \"\"hazırla\"\"\"\n\"iki\nsatır\",\nson,x"), ',');
+
+        assertEquals(List.of("task", "subtask"), csv.next());
+        assertEquals(List.of("Kurulum, ilk", "Sunucu \"hazırla\""), csv.next());
+        assertEquals(2, csv.getLine());
+        assertEquals(List.of("iki\nsatır", ""), csv.next());
+        assertEquals(List.of("son", "x"), csv.next());
+        assertEquals(5, csv.getLine());
+        assertNull(csv.next());
+    }
+
+    @Test
+    void unterminatedQuoteFails() {
+        CsvReader csv = new CsvReader(new StringReader("\"açık,alan\n"), ',');
+        assertThrows(IOException.class, csv::next);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorTests {
+
+    @Test
+    void cursorRoundTripsSortTimeAndId() {
+        LocalDateTime time = LocalDateTime.of(2025, 3, 1, 10, 15, 30, 123_456_000);
+
+        KeysetCursor recent = KeysetCursor.decode(KeysetCursor.encode("recent", time, 42L), "recent");
+        assertEquals(KeysetCursor.SORT_RECENT, recent.getSort());
+        assertEquals(time, recent.timeBefore());
+        assertEquals(42L, recent.idBefore());
+
+        KeysetCursor byId = KeysetCursor.decode(KeysetCursor.encode(null, null, 7L), "id");
+        assertEquals(KeysetCursor.SORT_ID, byId.getSort());
+        assertEquals(7L, byId.idAfter());
+
+        // İlk sayfa: sınır değerleri
+        KeysetCursor first = KeysetCursor.decode(null, "-id");
+        assertEquals(Long.MAX_VALUE, first.idBefore());
+        assertEquals(0L, KeysetCursor.decode("", null).idAfter());
+    }
+
+    @Test
+    void cursorOfAnotherSortOrMalformedTokenIsRejected() {
+        String idCursor = KeysetCursor.encode("id", null, 7L);
+
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(idCursor, "recent"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(idCursor, "-id"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("%%%", "id"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(KeysetCursor.encode("id", null, 7L)
+                .substring(0, 3), "id"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(null, "name"));
+    }
+
+    @Test
+    void limitIsClamped() {
+        assertEquals(KeysetCursor.DEFAULT_LIMIT, KeysetCursor.clampLimit(null));
+        assertEquals(KeysetCursor.DEFAULT_LIMIT, KeysetCursor.clampLimit(0));
+        assertEquals(KeysetCursor.DEFAULT_LIMIT, KeysetCursor.clampLimit(-5));
+        assertEquals(20, KeysetCursor.clampLimit(20));
+        assertEquals(KeysetCursor.MAX_LIMIT, KeysetCursor.clampLimit(KeysetCursor.MAX_LIMIT + 1));
+    }
+
+    // recent sıralaması: aynı zamana sahip kayıtlar sayfa sınırına denk gelse de her kayıt bir kez gelir
+    @Test
+    void recentPagesHaveNoGapsOrDuplicatesAcrossEqualTimestamps() {
+        LocalDateTime t1 = LocalDateTime.of(2025, 1, 1, 12, 0);
+        LocalDateTime t2 = t1.plusNanos(1000);
+        List<Row> rows = new ArrayList<>();
+        for (long id = 1; id <= 23; id++) {
+            rows.add(new Row(id, id % 3 == 0 ? t2 : t1));
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String after = null;
+        do {
+            KeysetCursor cursor = KeysetCursor.decode(after, "recent");
+            List<Row> page = recentPage(rows, cursor, 4);
+            page.forEach(row -> seen.add(row.id));
+            Row last = page.isEmpty() ? null : page.get(page.size() - 1);
+            after = page.size() == 4 ? KeysetCursor.encode("recent", last.time, last.id) : null;
+        } while (after != null);
+
+        List<Long> expected = rows.stream().sorted(RECENT).map(row -> row.id).toList();
+        assertEquals(expected, seen);
+    }
+
+    private record Row(long id, LocalDateTime time) {
+    }
+
+    private static final Comparator<Row> RECENT =
+            Comparator.comparing(Row::time).thenComparing(Row::id).reversed();
+
+    // findRecentBefore sorgularıyla aynı koşul: time < :time OR (time = :time AND id < :id)
+    private static List<Row> recentPage(List<Row> rows, KeysetCursor cursor, int limit) {
+        return rows.stream()
+                .filter(row -> row.time.isBefore(cursor.timeBefore())
+                        || (row.time.equals(cursor.timeBefore()) && row.id < cursor.idBefore()))
+                .sorted(RECENT)
+                .limit(limit)
+                .toList();
+    }
+}
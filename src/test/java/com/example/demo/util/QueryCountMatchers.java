@@ -0,0 +1,38 @@
+package com.example.demo.util;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// MockMvc ile endpoint başına SQL sayısı doğrulaması (QueryStatsFilter'ın bıraktığı istatistik okunur):
+// mockMvc.perform(get("/api/tasks")).andExpect(atMostQueries(2));
+public final class QueryCountMatchers {
+
+    private QueryCountMatchers() {
+    }
+
+    public static ResultMatcher atMostQueries(int max) {
+        return result -> {
+            QueryStats stats = (QueryStats) result.getRequest().getAttribute(QueryStats.REQUEST_ATTRIBUTE);
+            assertNotNull(stats, "QueryStatsFilter isteği izlemedi");
+            assertTrue(stats.getCount() <= max, () -> result.getRequest().getRequestURI() + " " + stats.getCount()
+                    + " SQL çalıştırdı (en fazla " + max + "): "
+                    + stats.topStatements(5).stream()
+                    .map(entry -> entry.getValue() + "x " + entry.getKey())
+                    .collect(Collectors.joining("\n", "\n", "")));
+        };
+    }
+
+    // Async (stream=true) yanıtlarda akış sırasında çalışan sorguların da sayıldığını doğrulamak için
+    public static ResultMatcher atLeastQueries(int min) {
+        return result -> {
+            QueryStats stats = (QueryStats) result.getRequest().getAttribute(QueryStats.REQUEST_ATTRIBUTE);
+            assertNotNull(stats, "QueryStatsFilter isteği izlemedi");
+            assertTrue(stats.getCount() >= min, () -> result.getRequest().getRequestURI() + " " + stats.getCount()
+                    + " SQL çalıştırdı (en az " + min + " bekleniyordu)");
+        };
+    }
+}
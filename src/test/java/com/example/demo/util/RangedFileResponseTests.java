@@ -0,0 +1,78 @@
+package com.example.demo.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RangedFileResponseTests {
+
+    private static final String ETAG = "\"abc123\"";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void servesRequestedRange() throws Exception {
+        Path file = write("0123456789");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/files/x");
+        request.addHeader("Range", "bytes=2-5");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertEquals(4, RangedFileResponse.write(request, response, file, "text/plain", "inline", ETAG, "no-cache"));
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 2-5/10", response.getHeader("Content-Range"));
+        assertEquals("2345", response.getContentAsString());
+    }
+
+    @Test
+    void matchingEtagReturnsNotModified() throws Exception {
+        Path file = write("0123456789");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/files/x");
+        request.addHeader("If-None-Match", ETAG);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        RangedFileResponse.write(request, response, file, "text/plain", "inline", ETAG, "no-cache");
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void rangeOutsideFileIsNotSatisfiable() throws Exception {
+        Path file = write("0123456789");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/files/x");
+        request.addHeader("Range", "bytes=20-");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        RangedFileResponse.write(request, response, file, "text/plain", "inline", ETAG, "no-cache");
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */10", response.getHeader("Content-Range"));
+    }
+
+    @Test
+    void staleIfRangeSendsWholeFile() throws Exception {
+        Path file = write("0123456789");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/files/x");
+        request.addHeader("Range", "bytes=2-5");
+        request.addHeader("If-Range", "\"other\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        RangedFileResponse.write(request, response, file, "text/plain", "inline", ETAG, "no-cache");
+
+        assertEquals(200, response.getStatus());
+        assertEquals("0123456789", response.getContentAsString());
+    }
+
+    private Path write(String content) throws Exception {
+        return Files.writeString(dir.resolve("file.txt"), content, StandardCharsets.UTF_8);
+    }
+}
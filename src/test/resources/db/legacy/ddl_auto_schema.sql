@@ -0,0 +1,129 @@
+-- Flyway öncesi şema: baseline sürümünün (ddl-auto=update, IDENTITY ID'ler) PostgreSQL'de
+-- oluşturduğu tablolar. Sequence, attachment_blobs, ilerleme sayaçları ve ek içerik kolonları yok.
+
+create table roles (
+    role_id bigint generated by default as identity,
+    role_name varchar(255) not null unique,
+    primary key (role_id)
+);
+
+create table employees (
+    employee_id bigint generated by default as identity,
+    role_id bigint not null,
+    email varchar(255) not null unique,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    password varchar(255) not null,
+    phone_number varchar(255) not null unique,
+    primary key (employee_id)
+);
+
+create table teams (
+    created_at timestamp(6),
+    id bigint generated by default as identity,
+    updated_at timestamp(6),
+    name varchar(200) not null,
+    description TEXT,
+    primary key (id)
+);
+
+create table team_members (
+    employee_id bigint not null,
+    id bigint generated by default as identity,
+    joined_at timestamp(6) not null,
+    team_id bigint not null,
+    role varchar(30) not null check (role in ('MEMBER','TEAM_LEAD')),
+    primary key (id),
+    unique (team_id, employee_id)
+);
+
+create table projects (
+    progress numeric(5,2),
+    actual_end_date timestamp(6),
+    assigned_manager bigint,
+    created_at timestamp(6),
+    created_by bigint,
+    employee_id bigint,
+    end_date timestamp(6),
+    id bigint generated by default as identity,
+    start_date timestamp(6),
+    team_id bigint,
+    updated_at timestamp(6),
+    priority varchar(10) not null check (priority in ('LOW','MEDIUM','HIGH','URGENT')),
+    status varchar(20) not null check (status in ('TODO','IN_PROGRESS','DONE')),
+    description TEXT,
+    name varchar(255) not null,
+    primary key (id)
+);
+
+create table tasks (
+    created_by bigint not null,
+    end_date timestamp(6),
+    id bigint generated by default as identity,
+    project_id bigint not null,
+    start_date timestamp(6),
+    updated_at timestamp(6),
+    priority varchar(20) check (priority in ('LOW','MEDIUM','HIGH','URGENT')),
+    title varchar(200) not null,
+    description TEXT,
+    primary key (id)
+);
+
+create table task_assignments (
+    task_id bigint not null,
+    employee_id bigint not null,
+    primary key (task_id, employee_id)
+);
+
+create table subtasks (
+    assigned_to bigint,
+    end_date timestamp(6),
+    id bigint generated by default as identity,
+    start_date timestamp(6),
+    task_id bigint not null,
+    updated_at timestamp(6),
+    status varchar(20) not null check (status in ('TODO','IN_PROGRESS','DONE')),
+    name varchar(200) not null,
+    description TEXT,
+    primary key (id)
+);
+
+create table attachments (
+    revision_number float(53) not null,
+    id bigint generated by default as identity,
+    task_id bigint not null,
+    uploaded_at timestamp(6) not null,
+    uploaded_by bigint not null,
+    file_url varchar(500) not null,
+    file_name varchar(255) not null,
+    primary key (id),
+    unique (task_id, revision_number)
+);
+
+alter table employees add foreign key (role_id) references roles;
+alter table team_members add foreign key (employee_id) references employees;
+alter table team_members add foreign key (team_id) references teams;
+alter table projects add foreign key (assigned_manager) references employees;
+alter table projects add foreign key (created_by) references employees;
+alter table projects add foreign key (employee_id) references employees;
+alter table projects add foreign key (team_id) references teams;
+alter table tasks add foreign key (created_by) references employees;
+alter table tasks add foreign key (project_id) references projects;
+alter table task_assignments add foreign key (employee_id) references employees;
+alter table task_assignments add foreign key (task_id) references tasks;
+alter table subtasks add foreign key (assigned_to) references employees;
+alter table subtasks add foreign key (task_id) references tasks;
+alter table attachments add foreign key (task_id) references tasks;
+alter table attachments add foreign key (uploaded_by) references employees;
+
+-- Mevcut kayıtlar (IDENTITY ile numaralanmış)
+insert into roles (role_name) values ('ADMIN');
+insert into employees (role_id, email, first_name, last_name, password, phone_number)
+    values (1, 'eski@ornek.com', 'Eski', 'Kullanici', 'hash', '(555) 999-0000');
+insert into projects (name, priority, status, employee_id, created_by, created_at)
+    values ('Eski proje', 'HIGH', 'TODO', 1, 1, '2024-01-01 10:00');
+insert into tasks (title, project_id, created_by, priority, start_date) values ('Eski görev', 1, 1, 'LOW', '2024-01-02 10:00');
+insert into subtasks (name, status, task_id) values ('Eski alt görev 1', 'DONE', 1);
+insert into subtasks (name, status, task_id) values ('Eski alt görev 2', 'TODO', 1);
+insert into attachments (file_name, file_url, revision_number, task_id, uploaded_at, uploaded_by)
+    values ('eski.txt', 'uploads/eski.txt', 1, 1, '2024-01-03 10:00', 1);